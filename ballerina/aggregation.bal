@@ -0,0 +1,140 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# The aggregate functions which are computed by the datastores.
+public enum AggregateFunction {
+    # The number of records
+    COUNT = "count",
+    # The sum of the values of a field
+    SUM = "sum",
+    # The minimum of the values of a field
+    MIN = "min",
+    # The maximum of the values of a field
+    MAX = "max"
+}
+
+# Computes an aggregate of the records of a stream returned by a resource function of a persist client. The aggregate
+# is computed by the datastore if the iterator of the stream has a `runAggregateQuery` method, which takes the
+# aggregate function and the aggregated field and returns the aggregate, or `()` if there are no values to aggregate.
+# Otherwise, the records of the stream are read and aggregated in the process.
+#
+# The compiler plugin replaces the queries with only a `collect` clause of an aggregate function over the streams of
+# the persist clients, such as `from var o in db->/orders where o.amount > 10d collect count(o)`, with the queries
+# over the stream returned by this function.
+#
+# + 'stream - The stream of the records
+# + 'function - The aggregate function
+# + 'field - The aggregated field, or `()` to count the records
+# + valueType - The type of the aggregate
+# + return - The stream of the aggregate, which has a single value, or no values if there are no values to aggregate
+public isolated function aggregate(stream<record {}, Error?> 'stream, AggregateFunction 'function,
+        string? 'field = (), typedesc<anydata> valueType = <>) returns stream<valueType, Error?> = @java:Method {
+    'class: "io.ballerina.stdlib.persist.Utils"
+} external;
+
+# Iterates the aggregate of a stream of a datastore, which is created by `aggregate`.
+class AggregateIterator {
+
+    private final stream<record {}, Error?> 'stream;
+    private final AggregateFunction 'function;
+    private final string? 'field;
+    private final typedesc<anydata> valueType;
+    private boolean done = false;
+
+    isolated function init(stream<record {}, Error?> 'stream, AggregateFunction 'function, string? 'field,
+            typedesc<anydata> valueType) {
+        self.'stream = 'stream;
+        self.'function = 'function;
+        self.'field = 'field;
+        self.valueType = valueType;
+    }
+
+    public isolated function next() returns record {|anydata value;|}|Error? {
+        if self.done {
+            return;
+        }
+        self.done = true;
+        anydata|error aggregate = hasAggregateQuery(self.'stream)
+            ? runAggregateQuery(self.'stream, self.'function, self.'field)
+            : aggregateRecords(self.'stream, self.'function, self.'field);
+        if aggregate is () {
+            return;
+        }
+        // The datastores may compute the aggregates in wider types, such as the sums of the integers in decimals
+        anydata|error value = aggregate is error ? aggregate : aggregate.cloneWithType(self.valueType);
+        if value is error {
+            return value is Error ? value : error Error(value.message(), value);
+        }
+        return {value};
+    }
+
+    public isolated function close() returns Error? {
+        return self.'stream.close();
+    }
+}
+
+isolated function aggregateRecords(stream<record {}, Error?> 'stream, AggregateFunction 'function, string? 'field)
+        returns anydata|error {
+    int count = 0;
+    anydata aggregate = ();
+    record {|record {} value;|}|error? next = 'stream.next();
+    while next is record {|record {} value;|} {
+        if 'function == COUNT {
+            count += 1;
+        } else if 'field is string {
+            aggregate = check accumulate('function, aggregate, next.value['field]);
+        }
+        next = 'stream.next();
+    }
+    if next is error {
+        return next;
+    }
+    return 'function == COUNT ? count : aggregate;
+}
+
+isolated function accumulate(AggregateFunction 'function, anydata aggregate, anydata value) returns anydata|error {
+    if value is () {
+        return aggregate;
+    }
+    if aggregate is () {
+        return value;
+    }
+    if aggregate is int && value is int {
+        return 'function == SUM ? aggregate + value : 'function == MIN ? int:min(aggregate, value)
+            : int:max(aggregate, value);
+    }
+    if aggregate is float && value is float {
+        return 'function == SUM ? aggregate + value : 'function == MIN ? float:min(aggregate, value)
+            : float:max(aggregate, value);
+    }
+    if aggregate is decimal && value is decimal {
+        return 'function == SUM ? aggregate + value : 'function == MIN ? decimal:min(aggregate, value)
+            : decimal:max(aggregate, value);
+    }
+    return error Error(string `The ${'function} of the values '${aggregate.toString()}' and '${value.toString()}' ` +
+        "cannot be computed");
+}
+
+isolated function hasAggregateQuery(stream<record {}, Error?> 'stream) returns boolean = @java:Method {
+    'class: "io.ballerina.stdlib.persist.Utils"
+} external;
+
+isolated function runAggregateQuery(stream<record {}, Error?> 'stream, AggregateFunction 'function, string? 'field)
+        returns anydata|error = @java:Method {
+    'class: "io.ballerina.stdlib.persist.Utils"
+} external;
@@ -0,0 +1,40 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Defines the configuration of a secondary index on a field of an entity.
+#
+# + names - The names of the indexes the field belongs to. Fields annotated with the same index name form a composite
+#           index in the order they are declared. Defaults to a single index named `idx_<fieldName>`
+public type IndexConfig record {|
+    string[] names?;
+|};
+
+# The annotation used to declare a secondary index on a field of an entity in the persist model definition.
+public annotation IndexConfig Index on record field;
+
+# The annotation used to declare a unique secondary index on a field of an entity in the persist model definition.
+public annotation IndexConfig UniqueIndex on record field;
+
+# Returns the secondary indexes declared on the fields of an entity with `persist:Index` and `persist:UniqueIndex`, such
+# as to create the indexes of a datastore.
+#
+# + entityType - The record type of the entity
+# + return - The indexes, in the order their first fields are declared
+public isolated function getIndexes(typedesc<record {}> entityType) returns readonly & IndexMetadata[] = @java:Method {
+    'class: "io.ballerina.stdlib.persist.Utils"
+} external;
@@ -0,0 +1,117 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Configures the batches of records inserted by the `post` resources of the persist clients.
+#
+# + chunkSize - The maximum number of records inserted by a single multi-row statement
+# + parallelism - The maximum number of chunks inserted at a time outside transactions. Within a transaction, the
+#                 chunks are inserted one after another in the transaction
+public type BatchConfig record {|
+    int chunkSize = 1000;
+    int parallelism = 4;
+|};
+
+# Represents the result of inserting a chunk of a batch.
+#
+# + offset - The position of the first record of the chunk in the records of the batch
+# + length - The number of records of the chunk
+# + keys - The keys of the inserted records in the order of the records, or the error of inserting the chunk
+public type ChunkResult record {|
+    int offset;
+    int length;
+    anydata[]|Error keys;
+|};
+
+# Inserts records by a multi-row statement for each chunk of the records.
+public type InsertChunk isolated function (record {}[] chunk) returns anydata[]|Error;
+
+# Inserts the records of a batch in chunks, each of which is inserted by the given function through a single
+# multi-row statement, such as an `INSERT` statement with multiple rows or `InMemoryTable.insertAll`. The records of a
+# chunk are passed in an array of the element type of the given array.
+#
+# Outside transactions, the chunks are inserted concurrently up to the configured parallelism, and the next chunk is
+# taken only when a chunk is inserted, hence the memory held by the chunks is bounded regardless of the number of
+# records. Within a transaction, the chunks are inserted one after another in the transaction. Once a chunk fails,
+# the chunks which are not yet inserted are skipped.
+#
+# + records - The records of the batch
+# + insertChunk - The function inserting a chunk
+# + config - The configuration of the batch
+# + return - The results of the chunks in the order of the records, or an error if the configuration is invalid
+public isolated function insertInChunks(record {}[] records, InsertChunk insertChunk, BatchConfig config = {})
+        returns ChunkResult[]|Error {
+    check validateConfig(config);
+    ChunkResult[] results = [];
+    insertChunks(records, insertChunk, config, results);
+    return results;
+}
+
+# Inserts the records of an entity, or updates the given fields of the existing records of the same keys, instead of
+# returning a `persist:AlreadyExistsError` for them. The records are upserted in chunks as by `insertInChunks`, each
+# of which is upserted by a single statement through the `runBatchUpsertQuery` method of the persist client of the
+# entity. The method takes the `persist:UpsertPlan` of the records and a chunk of the records, and returns the keys of
+# the records of the chunk.
+#
+# + 'client - The persist client
+# + entity - The name of the entity
+# + records - The records to be upserted
+# + updateFields - The fields updated in the existing records, which are kept as they are if there are no fields
+# + config - The configuration of the batch
+# + return - The keys of the upserted records in the order of the records, or an error if the datastore of the entity
+#            does not support upserts, the fields to update are not the non-key fields of the records, or a chunk
+#            is not upserted
+public isolated function upsert(AbstractPersistClient 'client, string entity, record {}[] records,
+        string[] updateFields = [], BatchConfig config = {}) returns anydata[]|Error {
+    check validateConfig(config);
+    ChunkResult[] results = [];
+    check upsertChunks('client, entity, records, updateFields, config, results);
+    return getInsertedKeys(results);
+}
+
+# Returns the keys of the records inserted in chunks in the order of the records.
+#
+# + results - The results of the chunks
+# + return - The keys of the inserted records, or the error of the first chunk which is not inserted
+public isolated function getInsertedKeys(ChunkResult[] results) returns anydata[]|Error {
+    anydata[] keys = [];
+    foreach ChunkResult result in results {
+        anydata[]|Error chunkKeys = result.keys;
+        if chunkKeys is Error {
+            return chunkKeys;
+        }
+        keys.push(...chunkKeys);
+    }
+    return keys;
+}
+
+isolated function validateConfig(BatchConfig config) returns Error? {
+    if config.chunkSize <= 0 || config.parallelism <= 0 {
+        return error Error(string `Invalid batch configuration: the chunk size '${config.chunkSize}' and the ` +
+            string `parallelism '${config.parallelism}' must be positive.`);
+    }
+}
+
+isolated function insertChunks(record {}[] records, InsertChunk insertChunk, BatchConfig config,
+        ChunkResult[] results) = @java:Method {
+    'class: "io.ballerina.stdlib.persist.batch.BatchUtils"
+} external;
+
+isolated function upsertChunks(AbstractPersistClient 'client, string entity, record {}[] records,
+        string[] updateFields, BatchConfig config, ChunkResult[] results) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.persist.batch.BatchUtils"
+} external;
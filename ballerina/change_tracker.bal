@@ -0,0 +1,123 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Tracks the snapshots of the records read from the datastores, so that only the fields changed by an update are
+# written. An update which is copied from a read record and changes only some of its fields is reduced to those
+# fields, and is not written at all if it does not change any field, which reduces the columns written and the time
+# the rows are locked.
+#
+# The snapshots of the least recently used records are dropped once the number of tracked records reaches the maximum,
+# in which case the updates of those records are written as they are unless a baseline is given.
+public isolated class ChangeTracker {
+
+    # Initializes a tracker.
+    #
+    # + maxTrackedRecords - The maximum number of records whose snapshots are tracked
+    # + return - A `persist:Error` if the maximum number of tracked records is not positive
+    public isolated function init(int maxTrackedRecords = 10000) returns Error? {
+        if maxTrackedRecords <= 0 {
+            return error Error(string `Invalid maximum number of tracked records '${maxTrackedRecords}': the ` +
+                "maximum must be positive.");
+        }
+        initTracker(self, maxTrackedRecords);
+    }
+
+    # Replaces the snapshot of a record with the record read from the datastore, such as by the `get` resource of
+    # the record's key.
+    #
+    # + entity - The name of the entity
+    # + key - The key of the record, which is a record of the key fields for composite keys
+    # + value - The record read from the datastore
+    public isolated function track(string entity, anydata key, record {} value) {
+        trackRecord(self, entity, key, value.cloneReadOnly());
+    }
+
+    # Returns the fields of an update whose values are changed with respect to the given baseline, or to the snapshot
+    # of the record if a baseline is not given. The update is returned as it is if the record has no snapshot.
+    #
+    # + entity - The name of the entity
+    # + key - The key of the record
+    # + update - The update of the record
+    # + baseline - The record from which the update is derived, or `()` to compare with the snapshot of the record
+    # + return - The changed fields of the update, or `()` if the update does not change any field
+    public isolated function getChanges(string entity, anydata key, record {} update, record {}? baseline = ())
+            returns record {}? {
+        string[]? changedFields = getChangedFields(self, entity, key, update, baseline);
+        if changedFields is () {
+            return update;
+        }
+        if changedFields.length() == 0 {
+            return ();
+        }
+        record {} changes = {};
+        foreach string 'field in changedFields {
+            changes['field] = update['field];
+        }
+        return changes;
+    }
+
+    # Writes only the changed fields of an update of a record, and skips the write if the update does not change any
+    # field. The snapshot of the record is updated with the written fields.
+    #
+    # + entity - The name of the entity
+    # + key - The key of the record
+    # + update - The update of the record
+    # + writeUpdate - The function writing the changed fields, such as through the `put` resource of a persist client
+    # + baseline - The record from which the update is derived, or `()` to compare with the snapshot of the record
+    # + return - `true` if the changed fields are written, `false` if the write is skipped, or the error of the write
+    public isolated function put(string entity, anydata key, record {} update, WriteUpdate writeUpdate,
+            record {}? baseline = ()) returns boolean|Error {
+        record {}? changes = self.getChanges(entity, key, update, baseline);
+        if changes is () {
+            return false;
+        }
+        check writeUpdate(entity, key, changes);
+        advanceSnapshot(self, entity, key, changes.cloneReadOnly());
+        return true;
+    }
+
+    # Drops the snapshot of a record, such as when the record is deleted.
+    #
+    # + entity - The name of the entity
+    # + key - The key of the record
+    public isolated function forget(string entity, anydata key) = @java:Method {
+        'class: "io.ballerina.stdlib.persist.tracking.ChangeTrackerUtils"
+    } external;
+}
+
+isolated function initTracker(ChangeTracker tracker, int maxTrackedRecords) = @java:Method {
+    'class: "io.ballerina.stdlib.persist.tracking.ChangeTrackerUtils",
+    name: "init"
+} external;
+
+isolated function trackRecord(ChangeTracker tracker, string entity, anydata key, record {} & readonly value) =
+    @java:Method {
+    'class: "io.ballerina.stdlib.persist.tracking.ChangeTrackerUtils",
+    name: "track"
+} external;
+
+isolated function getChangedFields(ChangeTracker tracker, string entity, anydata key, record {} update,
+        record {}? baseline) returns string[]? = @java:Method {
+    'class: "io.ballerina.stdlib.persist.tracking.ChangeTrackerUtils"
+} external;
+
+isolated function advanceSnapshot(ChangeTracker tracker, string entity, anydata key, record {} & readonly changes) =
+    @java:Method {
+    'class: "io.ballerina.stdlib.persist.tracking.ChangeTrackerUtils",
+    name: "advance"
+} external;
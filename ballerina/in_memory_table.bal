@@ -0,0 +1,366 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Configures the durability of an `InMemoryTable`. The writes are logged to an append-only write-ahead log, which is
+# forced to the disk in groups of concurrent writes, and a snapshot of the table is written periodically after which
+# the log is truncated. A table which is restarted loads the latest snapshot and replays the log written after it.
+#
+# + directory - The directory of the logs and the snapshots, which has a subdirectory for each entity
+# + snapshotInterval - The interval between the snapshots in seconds, or `0` to write the snapshots only through
+#                      `InMemoryTable.checkpoint`
+public type DurabilityConfig record {|
+    string directory;
+    decimal snapshotInterval = 300;
+|};
+
+# The storage modes of the records of an `InMemoryTable`.
+public enum StorageMode {
+    # Records are stored on the heap as they are
+    HEAP,
+    # Records are encoded in a compact binary layout outside the heap, which keeps the garbage collection pauses
+    # independent of the number of records, at the cost of decoding the records when they are read
+    OFF_HEAP
+}
+
+# Represents the storage of an entity in the `inmemory` datastore. Records are indexed by the identity fields of the
+# entity, hence reads, inserts, updates and deletes by key take constant time regardless of the number of records.
+# The table can be accessed by concurrent strands, and stores immutable copies of the records.
+#
+# Ordered indexes can be declared over other fields of the entity, which are used to read the records in the order
+# of the fields, within a range of values and up to a limit without sorting the whole table.
+#
+# Records can be stored outside the heap in the `OFF_HEAP` storage mode, in which case only the fields which are read
+# are decoded. The table can also be made durable across restarts through a `DurabilityConfig`.
+public isolated class InMemoryTable {
+
+    private final string entity;
+    private final readonly & string[] keyFields;
+
+    # Initializes the table of an entity.
+    #
+    # + entity - The name of the entity
+    # + keyFields - The identity fields of the entity in the order of the key
+    # + orderedIndexes - The fields of the ordered indexes of the entity by the name of the index
+    # + storageMode - The storage mode of the records of the entity
+    # + durability - The durability configuration, or `()` to keep the records only in memory
+    # + entityType - The record type of the entity, which the records restored from the durability directory are
+    #                converted to, or `()` to restore the records as open records
+    # + return - A `persist:Error` if the records cannot be restored from the durability directory
+    public isolated function init(string entity, string[] keyFields, map<string[]> orderedIndexes = {},
+            StorageMode storageMode = HEAP, DurabilityConfig? durability = (),
+            typedesc<record {}>? entityType = ()) returns Error? {
+        self.entity = entity;
+        self.keyFields = keyFields.cloneReadOnly();
+        check initTable(self, entity, self.keyFields, orderedIndexes.cloneReadOnly(), storageMode,
+                durability.cloneReadOnly(), entityType);
+    }
+
+    # Retrieves the record of the given key.
+    #
+    # + key - The key of the record, which is a record of the key fields for composite keys
+    # + fields - The fields to be retrieved, or `()` to retrieve all the fields
+    # + return - The record or a `persist:NotFoundError` if a record does not exist for the key
+    public isolated function get(anydata key, string[]? fields = ()) returns record {} & readonly|NotFoundError {
+        if fields !is () {
+            record {}? projected = getFieldsByKey(self, key, fields);
+            if projected is () {
+                return getNotFoundError(self.entity, key);
+            }
+            return projected.cloneReadOnly();
+        }
+        (record {} & readonly)? value = getByKey(self, key);
+        if value is () {
+            return getNotFoundError(self.entity, key);
+        }
+        return value;
+    }
+
+    # Checks whether a record exists for the given key.
+    #
+    # + key - The key of the record
+    # + return - `true` if a record exists for the key
+    public isolated function hasKey(anydata key) returns boolean = @java:Method {
+        'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+        name: "has"
+    } external;
+
+    # Inserts a record.
+    #
+    # + value - The record to be inserted
+    # + return - The key of the inserted record, a `persist:AlreadyExistsError` if a record exists for the key, or
+    #            a `persist:Error` if the write cannot be logged or a value of an indexed field cannot be ordered
+    public isolated function insert(record {} value) returns anydata|Error {
+        record {} & readonly readonlyValue = value.cloneReadOnly();
+        anydata key = check insertRecord(self, readonlyValue);
+        if key is () {
+            return getAlreadyExistsError(self.entity, getKey(readonlyValue, self.keyFields));
+        }
+        return key;
+    }
+
+    # Inserts records as a single multi-row write, whose log entries are forced to the disk once if the table is
+    # durable. The records are inserted in the given order up to the first record whose key exists, and the records
+    # inserted before it are retained.
+    #
+    # + values - The records to be inserted
+    # + return - The keys of the inserted records, a `persist:AlreadyExistsError` if a record exists for the key of
+    #            one of the records, or a `persist:Error` if the writes cannot be logged, or if a value of an
+    #            indexed field cannot be ordered in which case none of the records are inserted
+    public isolated function insertAll(record {}[] values) returns anydata[]|Error {
+        (record {} & readonly)[] readonlyValues = values.cloneReadOnly();
+        anydata[] keys = check insertRecords(self, readonlyValues);
+        if keys.length() < readonlyValues.length() {
+            return getAlreadyExistsError(self.entity, getKey(readonlyValues[keys.length()], self.keyFields));
+        }
+        return keys;
+    }
+
+    # Inserts records, or updates the given fields of the existing records of the same keys, which are found by a
+    # look-up of the key index of the table. The records are written in the given order, and the records written
+    # before a failed write are retained.
+    #
+    # + values - The records to be upserted
+    # + updateFields - The fields updated in the existing records, which are kept as they are if there are no fields
+    # + return - The keys of the upserted records, or a `persist:Error` if a write cannot be logged
+    public isolated function upsertAll(record {}[] values, string[] updateFields = []) returns anydata[]|Error {
+        anydata[] keys = [];
+        foreach record {} value in values {
+            anydata key = getKey(value, self.keyFields);
+            if !self.hasKey(key) {
+                // The record may be inserted by another strand after the look-up, in which case it is updated
+                anydata|Error inserted = self.insert(value);
+                if inserted !is AlreadyExistsError {
+                    keys.push(check inserted);
+                    continue;
+                }
+            }
+            if updateFields.length() > 0 {
+                record {} updates = {};
+                foreach string 'field in updateFields {
+                    updates['field] = value['field];
+                }
+                _ = check self.update(key, updates);
+            }
+            keys.push(key);
+        }
+        return keys;
+    }
+
+    # Updates the given fields of the record of the given key.
+    #
+    # + key - The key of the record
+    # + value - The fields to be updated
+    # + return - The updated record, a `persist:NotFoundError` if a record does not exist for the key, or a
+    #            `persist:Error` if the write cannot be logged or a value of an indexed field cannot be ordered
+    public isolated function update(anydata key, record {} value) returns record {} & readonly|Error {
+        record {} & readonly updates = value.cloneReadOnly();
+        while true {
+            (record {} & readonly)? existing = getByKey(self, key);
+            if existing is () {
+                return getNotFoundError(self.entity, key);
+            }
+            record {} & readonly updated = {...existing, ...updates};
+            if check replaceRecord(self, key, existing, updated) {
+                return updated;
+            }
+        }
+    }
+
+    # Deletes the record of the given key.
+    #
+    # + key - The key of the record
+    # + return - The deleted record, a `persist:NotFoundError` if a record does not exist for the key, or a
+    #            `persist:Error` if the write cannot be logged
+    public isolated function delete(anydata key) returns record {} & readonly|Error {
+        (record {} & readonly)? value = check removeRecord(self, key);
+        if value is () {
+            return getNotFoundError(self.entity, key);
+        }
+        return value;
+    }
+
+    # Returns the number of records in the table.
+    #
+    # + return - The number of records
+    public isolated function length() returns int = @java:Method {
+        'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils"
+    } external;
+
+    # Returns the records in the order of an ordered index. The bounds may hold the values of only the leading fields
+    # of the index, and `()` values are ordered after all the other values in both directions.
+    #
+    # + index - The name of the ordered index
+    # + descending - Whether the records are returned in the descending order
+    # + 'limit - The maximum number of records to return
+    # + lowerBound - The inclusive lower bound of the values of the indexed fields
+    # + upperBound - The inclusive upper bound of the values of the indexed fields
+    # + return - The records or a `persist:Error` if the table does not have an ordered index of the name
+    public isolated function scan(string index, boolean descending = false, int? 'limit = (),
+            anydata[]? lowerBound = (), anydata[]? upperBound = ()) returns (record {} & readonly)[]|Error {
+        anydata[] values = check scanIndex(self, index, lowerBound, upperBound, descending, 'limit);
+        return from anydata value in values
+            select <record {} & readonly>value;
+    }
+
+    # Returns a stream of the records in a snapshot of the table. Reading the stream does not block the concurrent
+    # inserts, updates and deletes, which are not visible to the stream. The snapshot is released once the stream is
+    # consumed or closed, or once the records within the limit are read.
+    #
+    # + 'limit - The maximum number of records to return, or `()` to return all the records
+    # + return - The stream of the records of the table
+    public isolated function toStream(int? 'limit = ()) returns stream<record {} & readonly, Error?> {
+        SnapshotIterator iterator = new (self, 'limit);
+        return new (iterator);
+    }
+
+    # Returns the records in a snapshot of the table.
+    #
+    # + return - The records of the table
+    public isolated function toArray() returns (record {} & readonly)[] {
+        return from anydata value in getValues(self)
+            select <record {} & readonly>value;
+    }
+
+    # Writes a snapshot of a durable table, and truncates the write-ahead log up to the snapshot. The concurrent writes
+    # are not blocked while the snapshot is written.
+    #
+    # + return - A `persist:Error` if the table is not durable or the snapshot cannot be written
+    public isolated function checkpoint() returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils"
+    } external;
+
+    # Closes the write-ahead log of a durable table, after which the table cannot be written.
+    #
+    # + return - A `persist:Error` if the pending writes cannot be logged or a periodic snapshot has failed
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils"
+    } external;
+}
+
+# Joins the records of a related entity to the given records in the `inmemory` datastore. The related records are
+# hashed by their foreign key once, hence the join takes linear time in the number of records.
+#
+# + parents - The records of the entity
+# + related - The records of the related entity
+# + relation - The name of the relation field of the entity
+# + referenceFields - The fields of the entity referred by the foreign key
+# + foreignKeyFields - The foreign key fields of the related entity, in the order of the referenced fields
+# + many - Whether the relation is a one-to-many relation, in which case the relation field is an array
+# + relationFields - The fields of the related records to be included, or an empty array to include all the fields
+# + return - Copies of the records of the entity with the relation field
+public isolated function joinRelation(record {}[] parents, record {}[] related, string relation,
+        string[] referenceFields, string[] foreignKeyFields, boolean many = false, string[] relationFields = [])
+        returns record {}[] = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils"
+} external;
+
+# Iterates the records in a snapshot of an `InMemoryTable`.
+isolated class SnapshotIterator {
+
+    isolated function init(InMemoryTable 'table, int? 'limit) {
+        openSnapshot(self, 'table, 'limit);
+    }
+
+    public isolated function next() returns record {|record {} & readonly value;|}|Error? {
+        (record {} & readonly)? value = nextInSnapshot(self);
+        if value is () {
+            return;
+        }
+        return {value};
+    }
+
+    public isolated function close() returns Error? {
+        closeSnapshot(self);
+    }
+
+    # Computes an aggregate of the records remaining in the snapshot, which is called by `aggregate`.
+    #
+    # + 'function - The aggregate function
+    # + 'field - The aggregated field, or `()` to count the records
+    # + return - The aggregate, `()` if there are no values to aggregate, or an error
+    public isolated function runAggregateQuery(AggregateFunction 'function, string? 'field) returns anydata|Error =
+    @java:Method {
+        'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+        name: "aggregateSnapshot"
+    } external;
+}
+
+isolated function initTable(InMemoryTable 'table, string entity, readonly & string[] keyFields,
+        readonly & map<string[]> orderedIndexes, StorageMode storageMode, DurabilityConfig? & readonly durability,
+        typedesc<record {}>? entityType) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+    name: "init"
+} external;
+
+isolated function getByKey(InMemoryTable 'table, anydata key) returns (record {} & readonly)? = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+    name: "get"
+} external;
+
+isolated function getFieldsByKey(InMemoryTable 'table, anydata key, string[] fields)
+        returns record {}? = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+    name: "getFields"
+} external;
+
+isolated function insertRecord(InMemoryTable 'table, record {} & readonly value)
+        returns anydata|Error = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+    name: "insert"
+} external;
+
+isolated function insertRecords(InMemoryTable 'table, (record {} & readonly)[] values)
+        returns anydata[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+    name: "insertAll"
+} external;
+
+isolated function replaceRecord(InMemoryTable 'table, anydata key, record {} & readonly expected,
+        record {} & readonly value) returns boolean|Error = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+    name: "replace"
+} external;
+
+isolated function removeRecord(InMemoryTable 'table, anydata key)
+        returns (record {} & readonly)?|Error = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+    name: "remove"
+} external;
+
+isolated function getValues(InMemoryTable 'table) returns anydata[] = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+    name: "values"
+} external;
+
+isolated function scanIndex(InMemoryTable 'table, string index, anydata[]? lowerBound, anydata[]? upperBound,
+        boolean descending, int? 'limit) returns anydata[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils",
+    name: "scan"
+} external;
+
+isolated function openSnapshot(SnapshotIterator iterator, InMemoryTable 'table, int? 'limit) = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils"
+} external;
+
+isolated function nextInSnapshot(SnapshotIterator iterator) returns (record {} & readonly)? = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils"
+} external;
+
+isolated function closeSnapshot(SnapshotIterator iterator) = @java:Method {
+    'class: "io.ballerina.stdlib.persist.inmemory.InMemoryTableUtils"
+} external;
@@ -0,0 +1,85 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type AggregatedEmployee record {|
+    readonly string id;
+    int age;
+    int? level;
+|};
+
+// The queries below have the form of the queries rewritten by the compiler plugin, which are computed by the
+// `runAggregateQuery` method of the snapshot iterator of the table
+@test:Config {}
+function testAggregatesOfInMemoryTable() returns error? {
+    InMemoryTable employees = check new ("AggregatedEmployee", ["id"]);
+    _ = check employees.insert({id: "emp-1", age: 30, level: 2});
+    _ = check employees.insert({id: "emp-2", age: 45, level: ()});
+    _ = check employees.insert({id: "emp-3", age: 25, level: 5});
+
+    int count = check from var e in aggregate(employees.toStream(), COUNT, (), int)
+        collect sum(e);
+    test:assertEquals(count, 3);
+
+    int totalAge = check from int e in aggregate(employees.toStream(), SUM, "age", int)
+        let int age = e
+        collect sum(age);
+    test:assertEquals(totalAge, 100);
+
+    int? maxLevel = check from var e in aggregate(employees.toStream(), MAX, "level", int)
+        let int level = e
+        collect max(level);
+    test:assertEquals(maxLevel, 5);
+
+    int? minAge = check from var e in aggregate(employees.toStream(), MIN, "age", int)
+        let int age = e
+        collect min(age);
+    test:assertEquals(minAge, 25);
+
+    // The aggregates computed by the table match the aggregates of the records read in the process
+    int expectedTotalAge = check from var e in employees.toStream()
+        collect sum(<int>e["age"]);
+    test:assertEquals(totalAge, expectedTotalAge);
+}
+
+@test:Config {}
+function testAggregatesOfEmptyInMemoryTable() returns error? {
+    InMemoryTable employees = check new ("AggregatedEmployee", ["id"]);
+
+    int count = check from var e in aggregate(employees.toStream(), COUNT, (), int)
+        collect sum(e);
+    test:assertEquals(count, 0);
+
+    int? maxLevel = check from var e in aggregate(employees.toStream(), MAX, "level", int)
+        let int level = e
+        collect max(level);
+    test:assertEquals(maxLevel, ());
+}
+
+@test:Config {}
+function testAggregatesOfStreamWithoutAggregateQuery() returns error? {
+    AggregatedEmployee[] records = [
+        {id: "emp-1", age: 30, level: 2},
+        {id: "emp-2", age: 45, level: ()}
+    ];
+    stream<record {}, Error?> employees = records.toStream();
+
+    int totalAge = check from int e in aggregate(employees, SUM, "age", int)
+        let int age = e
+        collect sum(age);
+    test:assertEquals(totalAge, 75);
+}
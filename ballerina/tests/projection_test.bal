@@ -0,0 +1,92 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+final string[] & readonly projectedFields = ["id", "name", "owner.id", "owner.name", "employees[].id"];
+
+@test:Config {}
+function testFilterRecordOfOneToOneRelation() {
+    record {} building = {
+        id: "b-1",
+        name: "Main",
+        city: "Colombo",
+        owner: {id: "o-1", name: "Alice", email: "alice@example.com"}
+    };
+
+    record {} projected = filterRecord(building, projectedFields);
+    test:assertEquals(projected, {id: "b-1", name: "Main", owner: {id: "o-1", name: "Alice"}});
+    test:assertEquals(projected, legacyFilterRecord(building, projectedFields));
+}
+
+@test:Config {}
+function testFilterRecordOfOneToManyRelation() {
+    record {} department = {
+        id: "d-1",
+        name: "Engineering",
+        employees: [{id: "e-1", name: "Bob"}, {id: "e-2", name: "Carol"}]
+    };
+
+    // The fields of the one-to-many relations are retrieved by separate queries, hence are not projected
+    record {} projected = filterRecord(department, projectedFields);
+    test:assertEquals(projected, {id: "d-1", name: "Engineering"});
+    test:assertEquals(projected, legacyFilterRecord(department, projectedFields));
+}
+
+@test:Config {}
+function testFilterRecordOfMissingRelation() {
+    record {} building = {id: "b-2", name: "Annex", owner: ()};
+
+    record {} projected = filterRecord(building, projectedFields);
+    test:assertEquals(projected, legacyFilterRecord(building, projectedFields));
+    test:assertFalse(projected.hasKey("owner"));
+}
+
+// The projection in Ballerina, which was replaced by the native `filterRecord`
+isolated function legacyFilterRecord(record {} 'object, string[] fields) returns record {} {
+    record {} retrieved = {};
+
+    foreach string 'field in fields {
+
+        // ignore many relations
+        if 'field.includes("[]") {
+            continue;
+        }
+
+        // if field is part of a relation
+        if 'field.includes(".") {
+
+            int splitIndex = <int>'field.indexOf(".");
+            string relation = 'field.substring(0, splitIndex);
+            string innerField = 'field.substring(splitIndex + 1, 'field.length());
+
+            if 'object[relation] is record {} {
+                anydata val = (<record {}>'object[relation])[innerField];
+
+                if !(retrieved[relation] is record {}) {
+                    retrieved[relation] = {};
+                }
+
+                record {} innerRecord = <record {}>'retrieved[relation];
+                innerRecord[innerField] = val;
+            }
+        } else {
+            retrieved['field] = 'object['field];
+        }
+
+    }
+    return retrieved;
+}
@@ -0,0 +1,42 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# Represents the upserts of the records of an entity, which are inserted, or update the given fields of the existing
+# records of the same keys. The datastores map a plan to a single statement for each chunk of the records, such as
+# `INSERT ... ON CONFLICT DO UPDATE`, `INSERT ... ON DUPLICATE KEY UPDATE` or `MERGE`.
+#
+# + entity - The name of the entity
+# + keyFields - The key fields of the entity, on which the records conflict
+# + insertFields - The fields of the records in the order of the record type
+# + updateFields - The fields updated in the existing records. The existing records are kept as they are if there are
+#                  no fields to update
+public type UpsertPlan record {|
+    string entity;
+    string[] keyFields;
+    string[] insertFields;
+    string[] updateFields;
+|};
+
+# Represents a secondary index of an entity, which is declared with `persist:Index` or `persist:UniqueIndex`.
+#
+# + name - The name of the index
+# + fields - The fields of the index in the order they are declared
+# + unique - Whether the index is unique
+public type IndexMetadata record {|
+    string name;
+    string[] fields;
+    boolean unique;
+|};
@@ -0,0 +1,176 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Configures a `WriteBehindBuffer`.
+#
+# + maxBufferedRecords - The maximum number of records whose updates are buffered. An update of another record is
+#                        buffered only after the buffer is flushed, which bounds the memory held by the buffer
+# + flushSize - The number of buffered records at which the buffer is flushed in the background
+# + maxWriteAttempts - The number of times the update of a record is written before it is dropped, such as when the
+#                      record is deleted or the update violates a constraint of the datastore
+# + flushInterval - The interval between the periodic flushes in seconds, or `0` to flush the buffer only by size,
+#                   through `WriteBehindBuffer.flush` or when it is closed
+public type WriteBehindConfig record {|
+    int maxBufferedRecords = 10000;
+    int flushSize = 1000;
+    int maxWriteAttempts = 3;
+    decimal flushInterval = 1;
+|};
+
+# Writes the coalesced update of a record of an entity, such as through the `put` resource of a persist client.
+public type WriteUpdate isolated function (string entity, anydata key, map<anydata> update) returns Error?;
+
+# Represents the metrics of a `WriteBehindBuffer`. The durations are in seconds.
+#
+# + bufferedRecords - The number of records whose updates are buffered
+# + bufferedUpdates - The number of updates buffered
+# + coalescedUpdates - The number of updates coalesced with the buffered updates of the records
+# + flushes - The number of flushes of all the records
+# + writtenUpdates - The number of coalesced updates written
+# + failedUpdates - The number of attempts to write a coalesced update which failed
+# + droppedUpdates - The number of coalesced updates dropped after failing `WriteBehindConfig.maxWriteAttempts` times
+# + lastFlushDuration - The duration of the last flush
+# + maxFlushDuration - The maximum duration of a flush
+# + meanFlushDuration - The mean duration of the flushes
+# + maxWriteDelay - The maximum time from buffering an update of a record to writing it
+public type WriteBehindMetrics record {|
+    int bufferedRecords;
+    int bufferedUpdates;
+    int coalescedUpdates;
+    int flushes;
+    int writtenUpdates;
+    int failedUpdates;
+    int droppedUpdates;
+    decimal lastFlushDuration;
+    decimal maxFlushDuration;
+    decimal meanFlushDuration;
+    decimal maxWriteDelay;
+|};
+
+# Buffers the updates of the records of the persist clients, and writes them behind the callers. The successive
+# updates of a record are coalesced into a single update with the latest value of each updated field, hence the
+# records updated many times between the flushes, such as counters and statuses, are written once per flush.
+#
+# The buffered updates of a record are visible through `WriteBehindBuffer.apply` until they are written. Within a
+# transaction, the updates are not buffered: the buffered update of the record is written first, and the update is
+# written in the transaction, so that the updates of the record are written in order and are committed by the
+# transaction. The updates which fail to be written are kept in the buffer and written by the next flush, until they
+# fail `WriteBehindConfig.maxWriteAttempts` times and are dropped. The first error of the flushes in the background is
+# returned by the next `WriteBehindBuffer.flush` or `WriteBehindBuffer.close`.
+public isolated class WriteBehindBuffer {
+
+    private final WriteUpdate writeUpdate;
+
+    # Initializes a buffer.
+    #
+    # + writeUpdate - The function writing the coalesced update of a record
+    # + config - The configuration of the buffer
+    # + return - A `persist:Error` if the configuration is invalid
+    public isolated function init(WriteUpdate writeUpdate, WriteBehindConfig config = {}) returns Error? {
+        if config.maxBufferedRecords <= 0 || config.flushSize <= 0 || config.maxWriteAttempts <= 0
+                || config.flushInterval < 0d {
+            return error Error(string `Invalid write-behind configuration: the maximum number of buffered records ` +
+                string `'${config.maxBufferedRecords}', the flush size '${config.flushSize}' and the maximum number ` +
+                string `of write attempts '${config.maxWriteAttempts}' must be positive, and the flush interval ` +
+                string `'${config.flushInterval}' must not be negative.`);
+        }
+        self.writeUpdate = writeUpdate;
+        initBuffer(self, writeUpdate, config.cloneReadOnly());
+    }
+
+    # Buffers an update of a record, which is coalesced with the buffered update of the record if there is one.
+    #
+    # + entity - The name of the entity
+    # + key - The key of the record, which is a record of the key fields for composite keys
+    # + update - The updated fields of the record
+    # + return - A `persist:Error` if the buffer is full and cannot be flushed, or the update cannot be written
+    #            within a transaction
+    public isolated function put(string entity, anydata key, record {} update) returns Error? {
+        if transactional {
+            check flushRecord(self, entity, key);
+            return self.writeUpdate(entity, key, update);
+        }
+        return bufferUpdate(self, entity, key, update.cloneReadOnly());
+    }
+
+    # Applies the buffered update of a record to the record read from the datastore, such as by the `get` resource
+    # of the record's key. Only the fields of the record read are updated.
+    #
+    # + entity - The name of the entity
+    # + key - The key of the record
+    # + value - The record read from the datastore
+    # + return - The record with the buffered update, or the given record if the record has no buffered update
+    public isolated function apply(string entity, anydata key, record {} value) returns record {} {
+        map<anydata>? update = getBufferedUpdate(self, entity, key);
+        if update is () {
+            return value;
+        }
+        record {} updated = {...value};
+        foreach [string, anydata] ['field, fieldValue] in update.entries() {
+            if updated.hasKey('field) {
+                updated['field] = fieldValue;
+            }
+        }
+        return updated;
+    }
+
+    # Writes the buffered updates of all the records.
+    #
+    # + return - The first error of the flushes in the background since the previous flush, or else the first error of
+    #            writing the updates, whose records are kept in the buffer until they fail the maximum number of
+    #            attempts
+    public isolated function flush() returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.persist.writebehind.WriteBehindUtils"
+    } external;
+
+    # Returns the metrics of the buffer.
+    #
+    # + return - The metrics
+    public isolated function metrics() returns WriteBehindMetrics = @java:Method {
+        'class: "io.ballerina.stdlib.persist.writebehind.WriteBehindUtils",
+        name: "getMetrics"
+    } external;
+
+    # Stops the periodic flushes and writes the buffered updates.
+    #
+    # + return - The first error of the flushes in the background since the previous flush, or else the first error of
+    #            writing the updates
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.persist.writebehind.WriteBehindUtils"
+    } external;
+}
+
+isolated function initBuffer(WriteBehindBuffer buffer, WriteUpdate writeUpdate, WriteBehindConfig & readonly config)
+        = @java:Method {
+    'class: "io.ballerina.stdlib.persist.writebehind.WriteBehindUtils",
+    name: "init"
+} external;
+
+isolated function bufferUpdate(WriteBehindBuffer buffer, string entity, anydata key, record {} & readonly update)
+        returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.persist.writebehind.WriteBehindUtils"
+} external;
+
+isolated function getBufferedUpdate(WriteBehindBuffer buffer, string entity, anydata key) returns map<anydata>? =
+    @java:Method {
+    'class: "io.ballerina.stdlib.persist.writebehind.WriteBehindUtils"
+} external;
+
+isolated function flushRecord(WriteBehindBuffer buffer, string entity, anydata key) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.persist.writebehind.WriteBehindUtils"
+} external;
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.compiler;
+
+import io.ballerina.projects.DiagnosticResult;
+import io.ballerina.projects.Document;
+import io.ballerina.projects.DocumentId;
+import io.ballerina.projects.Module;
+import io.ballerina.projects.directory.BuildProject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static io.ballerina.stdlib.persist.compiler.TestUtils.getEnvironmentBuilder;
+
+/**
+ * Code modifier related test cases.
+ */
+public class CodeModifierTest {
+
+    private static final Path RESOURCE_PATH = Paths.get("src", "test", "resources");
+
+    @Test
+    public void testQueryPushdown() throws IOException {
+        BuildProject project = BuildProject.load(getEnvironmentBuilder(),
+                RESOURCE_PATH.resolve("project_15").toAbsolutePath());
+        DiagnosticResult diagnosticResult = project.currentPackage().runCodeGenAndModifyPlugins();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+
+        Module module = project.currentPackage().getDefaultModule();
+        String modifiedSource = null;
+        for (DocumentId documentId : module.documentIds()) {
+            Document document = module.document(documentId);
+            if (document.name().equals("main.bal")) {
+                modifiedSource = document.textDocument().toString();
+            }
+        }
+        String expectedSource = Files.readString(RESOURCE_PATH.resolve("codemodifier").resolve("query-pushdown.bal"));
+        Assert.assertEquals(modifiedSource, expectedSource);
+        Assert.assertEquals(project.currentPackage().getCompilation().diagnosticResult().errorCount(), 0);
+    }
+}
@@ -58,6 +58,12 @@ import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_422;
 import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_501;
 import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_502;
 import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_503;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_601;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_602;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_603;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_604;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_605;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_606;
 import static io.ballerina.stdlib.persist.compiler.TestUtils.getEnvironmentBuilder;
 
 /**
@@ -452,6 +458,87 @@ public class CompilerPluginTest {
         );
     }
 
+    @Test
+    public void validateIndexes() {
+        List<Diagnostic> diagnostics = getErrorDiagnostics("project_2", "index.bal", 3);
+        testDiagnostic(
+                diagnostics,
+                new String[]{
+                        PERSIST_605.getCode(),
+                        PERSIST_604.getCode(),
+                        PERSIST_603.getCode()
+                },
+                new String[]{
+                        "index 'emp_no_idx' has the same fields as the identity fields of the entity",
+                        "index 'last_name_idx' is redundant as its fields are a prefix of the fields of " +
+                                "index 'name_idx'",
+                        "index 'location_idx' has the same fields as index 'city_idx'"
+                },
+                new String[]{
+                        "(3:4,3:42)",
+                        "(7:4,7:57)",
+                        "(11:4,11:56)"
+                }
+        );
+    }
+
+    @Test
+    public void validateIndexUniqueness() {
+        List<Diagnostic> diagnostics = getErrorDiagnostics("project_2", "index-uniqueness.bal", 2);
+        testDiagnostic(
+                diagnostics,
+                new String[]{
+                        PERSIST_606.getCode(),
+                        PERSIST_606.getCode()
+                },
+                new String[]{
+                        "index 'name_idx' is declared as both a unique and a non-unique index",
+                        "index 'hire_date_idx' is declared as both a unique and a non-unique index"
+                },
+                new String[]{
+                        "(6:4,6:40)",
+                        "(9:4,9:51)"
+                }
+        );
+    }
+
+    @Test
+    public void validateIndexFieldTypes() {
+        List<Diagnostic> diagnostics = getErrorDiagnostics("project_2", "index-field-types.bal", 2);
+        testDiagnostic(
+                diagnostics,
+                new String[]{
+                        PERSIST_601.getCode(),
+                        PERSIST_602.getCode()
+                },
+                new String[]{
+                        "'mysql' datastore does not support an index on 'byte[]'-typed field",
+                        "an index cannot be declared on a relation field"
+                },
+                new String[]{
+                        "(4:4,4:18)",
+                        "(6:4,6:18)"
+                }
+        );
+    }
+
+    @Test
+    public void validateIndexesForRedis() {
+        List<Diagnostic> diagnostics = getErrorDiagnostics("project_10", "index.bal", 1);
+        testDiagnostic(
+                diagnostics,
+                new String[]{
+                        PERSIST_601.getCode()
+                },
+                new String[]{
+                        "'redis' datastore does not support an index on 'string'-typed field"
+                },
+                new String[]{
+                        "(4:4,4:18)"
+                }
+        );
+    }
+
     @Test
     public void validateSelfReferencedEntity() {
         List<Diagnostic> diagnostics = getErrorDiagnostics("project_2", "self-referenced-entity.bal", 1);
@@ -0,0 +1,139 @@
+import ballerina/jballerina.java;
+import ballerina/persist;
+
+public type Employee record {|
+    readonly int id;
+    string name;
+    int age;
+    decimal? salary;
+    boolean active;
+    int level;
+    int rank;
+    int yearsOfService;
+|};
+
+public type Department record {|
+    readonly int id;
+    string name;
+    string description;
+    byte[]? logo;
+|};
+
+public type ParameterizedQuery distinct object {
+    *object:RawTemplate;
+    public string[] & readonly strings;
+    public anydata[] insertions;
+};
+
+public isolated client class Client {
+    *persist:AbstractPersistClient;
+
+    isolated resource function get employees(ParameterizedQuery whereClause = ``,
+            ParameterizedQuery orderByClause = ``, ParameterizedQuery limitClause = ``)
+            returns stream<Employee, persist:Error?> {
+        Employee[] employees = [];
+        return employees.toStream();
+    }
+
+    isolated resource function get departments(typedesc<Department|record {}> targetType = Department)
+            returns stream<targetType, persist:Error?> = @java:Method {
+        'class: "io.ballerina.stdlib.persist.compiler.Client"
+    } external;
+}
+
+public function getSeniorEmployees(Client db, int minAge, int count) returns Employee[]|error {
+    return from var e in db->/employees(whereClause = `age > ${minAge} AND active = ${true}`, orderByClause = `age DESC, id ASC`, limitClause = `${count}`)
+        select e;
+}
+
+public function getUnpaidEmployees(Client db) returns Employee[]|error {
+    return from var e in db->/employees(whereClause = `salary IS NULL`)
+        where e.name.startsWith("A")
+        limit 10
+        select e;
+}
+
+public function getEmployeesByPay(Client db, decimal salary, int minAge) returns Employee[]|error {
+    return from var e in db->/employees(whereClause = `(salary <> ${salary} OR salary IS NULL) OR (age >= ${minAge} AND NOT (active <> ${false}))`)
+        order by e.salary
+        select e;
+}
+
+public function getEmployeesByName(Client db, string name) returns Employee[]|error {
+    return from var e in db->/employees
+        where e.name == name
+        limit 5
+        select e;
+}
+
+public function getEmployeesByLevel(Client db, int level) returns Employee[]|error {
+    return from var e in db->/employees(whereClause = `age > ${-10}`)
+        where e.level > level
+        select e;
+}
+
+public function getEmployeesByRank(Client db, int rank, int years) returns Employee[]|error {
+    return from var e in db->/employees
+        where e.rank < rank && e.yearsOfService > years
+        select e;
+}
+
+public function getDepartmentNames(Client db) returns record {|int id; string name;|}[]|error {
+    return from var d in db->/departments(targetType = DepartmentProjection)
+        select {id: d.id, name: d.name};
+}
+
+public function getDescriptions(Client db) returns string[]|error {
+    return from DepartmentProjection1 d in db->/departments(targetType = DepartmentProjection1)
+        where d.name != ""
+        select d.description;
+}
+
+public function getDepartments(Client db) returns Department[]|error {
+    return from var d in db->/departments
+        select d;
+}
+
+public function countSeniorEmployees(Client db, int minAge) returns int|error {
+    return from var e in persist:aggregate(db->/employees(whereClause = `age > ${minAge}`), persist:COUNT, (), int)
+        collect sum(e);
+}
+
+public function getTotalAge(Client db, boolean active) returns int|error {
+    return from int e in persist:aggregate(db->/employees(whereClause = `active = ${active}`), persist:SUM, "age", int)
+        let int age = e
+        collect sum(age);
+}
+
+public function getMaxLevel(Client db) returns int?|error {
+    return from var e in persist:aggregate(db->/employees, persist:MAX, "level", int)
+        let int level = e
+        collect max(level);
+}
+
+public function countDepartments(Client db) returns int|error {
+    return from var d in persist:aggregate(db->/departments, persist:COUNT, (), int)
+        collect sum(d);
+}
+
+public function countNamedDepartments(Client db) returns int|error {
+    return from var d in db->/departments
+        where d.name != ""
+        collect count(d);
+}
+
+public function countNamedEmployees(Client db) returns int|error {
+    return from var e in db->/employees
+        where e.name.startsWith("A")
+        collect count(e);
+}
+
+type DepartmentProjection record {|
+    readonly int id;
+    string name;
+|};
+
+type DepartmentProjection1 record {|
+    string name;
+    string description;
+|};
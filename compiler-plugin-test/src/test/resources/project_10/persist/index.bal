@@ -0,0 +1,7 @@
+import ballerina/persist;
+
+public type Employee record {|
+    readonly string empNo;
+    @persist:Index
+    string firstName;
+|};
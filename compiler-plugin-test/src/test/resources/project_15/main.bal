@@ -0,0 +1,135 @@
+import ballerina/jballerina.java;
+import ballerina/persist;
+
+public type Employee record {|
+    readonly int id;
+    string name;
+    int age;
+    decimal? salary;
+    boolean active;
+    int level;
+    int rank;
+    int yearsOfService;
+|};
+
+public type Department record {|
+    readonly int id;
+    string name;
+    string description;
+    byte[]? logo;
+|};
+
+public type ParameterizedQuery distinct object {
+    *object:RawTemplate;
+    public string[] & readonly strings;
+    public anydata[] insertions;
+};
+
+public isolated client class Client {
+    *persist:AbstractPersistClient;
+
+    isolated resource function get employees(ParameterizedQuery whereClause = ``,
+            ParameterizedQuery orderByClause = ``, ParameterizedQuery limitClause = ``)
+            returns stream<Employee, persist:Error?> {
+        Employee[] employees = [];
+        return employees.toStream();
+    }
+
+    isolated resource function get departments(typedesc<Department|record {}> targetType = Department)
+            returns stream<targetType, persist:Error?> = @java:Method {
+        'class: "io.ballerina.stdlib.persist.compiler.Client"
+    } external;
+}
+
+public function getSeniorEmployees(Client db, int minAge, int count) returns Employee[]|error {
+    return from var e in db->/employees
+        where e.age > minAge && e.active == true
+        order by e.age descending, e.id
+        limit count
+        select e;
+}
+
+public function getUnpaidEmployees(Client db) returns Employee[]|error {
+    return from var e in db->/employees
+        where e.name.startsWith("A") && e.salary == ()
+        limit 10
+        select e;
+}
+
+public function getEmployeesByPay(Client db, decimal salary, int minAge) returns Employee[]|error {
+    return from var e in db->/employees()
+        where e.salary != salary || (e.age >= minAge && !(e.active != false))
+        order by e.salary
+        select e;
+}
+
+public function getEmployeesByName(Client db, string name) returns Employee[]|error {
+    return from var e in db->/employees
+        where e.name == name
+        limit 5
+        select e;
+}
+
+public function getEmployeesByLevel(Client db, int level) returns Employee[]|error {
+    return from var e in db->/employees
+        where e.level > level && -10 < e.age
+        select e;
+}
+
+public function getEmployeesByRank(Client db, int rank, int years) returns Employee[]|error {
+    return from var e in db->/employees
+        where e.rank < rank && e.yearsOfService > years
+        select e;
+}
+
+public function getDepartmentNames(Client db) returns record {|int id; string name;|}[]|error {
+    return from var d in db->/departments
+        select {id: d.id, name: d.name};
+}
+
+public function getDescriptions(Client db) returns string[]|error {
+    return from Department d in db->/departments
+        where d.name != ""
+        select d.description;
+}
+
+public function getDepartments(Client db) returns Department[]|error {
+    return from var d in db->/departments
+        select d;
+}
+
+public function countSeniorEmployees(Client db, int minAge) returns int|error {
+    return from var e in db->/employees
+        where e.age > minAge
+        collect count(e);
+}
+
+public function getTotalAge(Client db, boolean active) returns int|error {
+    return from Employee e in db->/employees()
+        where e.active == active
+        let int age = e.age
+        collect sum(age);
+}
+
+public function getMaxLevel(Client db) returns int?|error {
+    return from var e in db->/employees
+        let int level = e.level
+        collect max(level);
+}
+
+public function countDepartments(Client db) returns int|error {
+    return from var d in db->/departments
+        collect count(d);
+}
+
+public function countNamedDepartments(Client db) returns int|error {
+    return from var d in db->/departments
+        where d.name != ""
+        collect count(d);
+}
+
+public function countNamedEmployees(Client db) returns int|error {
+    return from var e in db->/employees
+        where e.name.startsWith("A")
+        collect count(e);
+}
@@ -0,0 +1,14 @@
+import ballerina/persist as _;
+import ballerinax/persist.sql;
+
+public type Employee record {|
+    readonly int id;
+    string name;
+    int age;
+    decimal? salary;
+    boolean active;
+    @sql:Name {value: "grade"}
+    int level;
+    int rank;
+    int yearsOfService;
+|};
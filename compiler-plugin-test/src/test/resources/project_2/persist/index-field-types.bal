@@ -0,0 +1,15 @@
+import ballerina/persist;
+
+public type Employee record {|
+    readonly string empNo;
+    @persist:Index
+    byte[] photo;
+    @persist:Index
+    Department department;
+|};
+
+public type Department record {|
+    readonly string deptNo;
+    string deptName;
+    Employee[] employees;
+|};
@@ -0,0 +1,12 @@
+import ballerina/persist;
+
+public type Employee record {|
+    readonly string empNo;
+    @persist:UniqueIndex {names: ["name_idx"]}
+    string lastName;
+    @persist:Index {names: ["name_idx"]}
+    string firstName;
+    @persist:Index {names: ["hire_date_idx"]}
+    @persist:UniqueIndex {names: ["hire_date_idx"]}
+    int hireYear;
+|};
@@ -0,0 +1,16 @@
+import ballerina/persist;
+
+public type Employee record {|
+    @persist:Index {names: ["emp_no_idx"]}
+    readonly string empNo;
+    @persist:Index
+    string firstName;
+    @persist:Index {names: ["name_idx", "last_name_idx"]}
+    string lastName;
+    @persist:Index {names: ["name_idx"]}
+    string email;
+    @persist:Index {names: ["city_idx", "location_idx"]}
+    string city;
+    @persist:UniqueIndex {names: ["hire_date_idx"]}
+    int hireYear;
+|};
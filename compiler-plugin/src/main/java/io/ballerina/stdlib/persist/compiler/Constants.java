@@ -34,7 +34,12 @@ public final class Constants {
     public static final String ARRAY = "[]";
     public static final String LS = System.lineSeparator();
     public static final String SQL_RELATION_MAPPING_ANNOTATION_NAME = "sql:Relation";
+    public static final String SQL_NAME_MAPPING_ANNOTATION_NAME = "sql:Name";
     public static final String ANNOTATION_KEYS_FIELD = "keys";
+    public static final String PERSIST_INDEX_ANNOTATION_NAME = "persist:Index";
+    public static final String PERSIST_UNIQUE_INDEX_ANNOTATION_NAME = "persist:UniqueIndex";
+    public static final String ANNOTATION_NAMES_FIELD = "names";
+    public static final String DEFAULT_INDEX_NAME_PREFIX = "idx_";
 
     private Constants() {
     }
@@ -87,6 +92,25 @@ public final class Constants {
         }
     }
 
+    /**
+     * Constants related to the clients generated for the persist model.
+     */
+    public static final class PersistClient {
+
+        public static final String BALLERINA_ORG = "ballerina";
+        public static final String PERSIST_MODULE = "persist";
+        public static final String ABSTRACT_PERSIST_CLIENT = "AbstractPersistClient";
+        public static final String GET_ACCESSOR = "get";
+        public static final String TARGET_TYPE = "targetType";
+        public static final String WHERE_CLAUSE = "whereClause";
+        public static final String ORDER_BY_CLAUSE = "orderByClause";
+        public static final String LIMIT_CLAUSE = "limitClause";
+        public static final String AGGREGATE_FUNCTION = "aggregate";
+
+        private PersistClient() {
+        }
+    }
+
 
 
 }
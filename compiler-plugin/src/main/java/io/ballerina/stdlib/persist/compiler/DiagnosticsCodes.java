@@ -74,6 +74,14 @@ public enum DiagnosticsCodes {
     PERSIST_502("PERSIST_502", "an identity field cannot be nillable", ERROR),
     PERSIST_503("PERSIST_503", "only ''int'', ''string'', ''float'', ''boolean'', ''decimal'' " +
             "types are supported as identity fields, found ''{0}''", ERROR),
+
+    PERSIST_601("PERSIST_601", "''{0}'' datastore does not support an index on ''{1}''-typed field", ERROR),
+    PERSIST_602("PERSIST_602", "an index cannot be declared on a relation field", ERROR),
+    PERSIST_603("PERSIST_603", "index ''{0}'' has the same fields as index ''{1}''", ERROR),
+    PERSIST_604("PERSIST_604", "index ''{0}'' is redundant as its fields are a prefix of the fields of " +
+            "index ''{1}''", ERROR),
+    PERSIST_605("PERSIST_605", "index ''{0}'' has the same fields as the identity fields of the entity", ERROR),
+    PERSIST_606("PERSIST_606", "index ''{0}'' is declared as both a unique and a non-unique index", ERROR),
     ;
 
     private final String code;
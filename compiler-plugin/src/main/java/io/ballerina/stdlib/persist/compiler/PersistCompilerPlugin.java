@@ -44,6 +44,7 @@ public class PersistCompilerPlugin extends CompilerPlugin {
     @Override
     public void init(CompilerPluginContext compilerPluginContext) {
         compilerPluginContext.addCodeAnalyzer(new PersistCodeAnalyzer());
+        compilerPluginContext.addCodeModifier(new PersistCodeModifier());
         getCodeActions().forEach(compilerPluginContext::addCodeAction);
     }
 
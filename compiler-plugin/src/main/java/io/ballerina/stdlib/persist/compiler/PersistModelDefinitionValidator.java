@@ -43,6 +43,7 @@ import io.ballerina.projects.plugins.SyntaxNodeAnalysisContext;
 import io.ballerina.stdlib.persist.compiler.model.Entity;
 import io.ballerina.stdlib.persist.compiler.model.GroupedRelationField;
 import io.ballerina.stdlib.persist.compiler.model.IdentityField;
+import io.ballerina.stdlib.persist.compiler.model.Index;
 import io.ballerina.stdlib.persist.compiler.model.RelationField;
 import io.ballerina.stdlib.persist.compiler.model.RelationType;
 import io.ballerina.stdlib.persist.compiler.model.SimpleTypeField;
@@ -98,6 +99,12 @@ import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_422;
 import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_501;
 import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_502;
 import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_503;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_601;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_602;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_603;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_604;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_605;
+import static io.ballerina.stdlib.persist.compiler.DiagnosticsCodes.PERSIST_606;
 import static io.ballerina.stdlib.persist.compiler.model.RelationType.MANY_TO_MANY;
 import static io.ballerina.stdlib.persist.compiler.model.RelationType.ONE_TO_MANY;
 import static io.ballerina.stdlib.persist.compiler.model.RelationType.ONE_TO_ONE;
@@ -210,6 +217,7 @@ public class PersistModelDefinitionValidator implements AnalysisTask<SyntaxNodeA
             validateEntityRecordProperties(entity);
             validateEntityFields(entity, datastore);
             validateIdentityFields(entity);
+            validateIndexes(entity);
             validateEntityRelations(entity);
 
             if (this.deferredRelationKeyEntities.containsKey(entityName)) {
@@ -323,7 +331,9 @@ public class PersistModelDefinitionValidator implements AnalysisTask<SyntaxNodeA
             boolean isValidType = false;
             boolean isSimpleType = false;
             int nullableStartOffset = 0;
+            boolean isRelationField = false;
             String fieldType;
+            String indexType;
             if (processedTypeNode instanceof OptionalTypeDescriptorNode) {
                 isOptionalType = true;
                 OptionalTypeDescriptorNode optionalTypeNode = (OptionalTypeDescriptorNode) processedTypeNode;
@@ -344,6 +354,7 @@ public class PersistModelDefinitionValidator implements AnalysisTask<SyntaxNodeA
             if (processedTypeNode instanceof BuiltinSimpleNameReferenceNode) {
                 String type = ((BuiltinSimpleNameReferenceNode) processedTypeNode).name().text();
                 fieldType = type;
+                indexType = type;
                 List<DiagnosticProperty<?>> properties = List.of(
                         new BNumericProperty(arrayStartOffset),
                         new BNumericProperty(arrayLength),
@@ -357,6 +368,7 @@ public class PersistModelDefinitionValidator implements AnalysisTask<SyntaxNodeA
                 String modulePrefix = stripEscapeCharacter(qualifiedName.modulePrefix().text());
                 String identifier = stripEscapeCharacter(qualifiedName.identifier().text());
                 fieldType = modulePrefix + ":" + identifier;
+                indexType = fieldType;
                 List<DiagnosticProperty<?>> properties = List.of(
                         new BNumericProperty(arrayStartOffset),
                         new BNumericProperty(arrayLength),
@@ -371,15 +383,18 @@ public class PersistModelDefinitionValidator implements AnalysisTask<SyntaxNodeA
                 fieldType = typeName;
                 if (this.entityNames.contains(typeName)) {
                     isValidType = true;
+                    isRelationField = true;
                     entity.setContainsRelations(true);
                     entity.addRelationField(new RelationField(fieldName, typeName,
                             typeNode.location().textRange().endOffset(), isOptionalType, nullableStartOffset,
                             isArrayType, arrayStartOffset, arrayLength, recordFieldNode.location(),
                             entity.getEntityName(), annotations));
+                    indexType = typeName;
                 } else {
                     if (this.enumTypes.contains(typeName)) {
                         typeName = Constants.BallerinaTypes.ENUM;
                     }
+                    indexType = typeName;
 
                     // Revisit once https://github.com/ballerina-platform/ballerina-lang/issues/39441 is resolved
                     List<DiagnosticProperty<?>> properties = List.of(
@@ -393,6 +408,7 @@ public class PersistModelDefinitionValidator implements AnalysisTask<SyntaxNodeA
             } else {
                 String typeName = getTypeName(processedTypeNode);
                 fieldType = typeName;
+                indexType = typeName;
                 if (!isArrayType && !ValidatorsByDatastore.isValidSimpleType(typeName, datastore)) {
                     entity.reportDiagnostic(PERSIST_305.getCode(), MessageFormat.format(PERSIST_305.getMessage(),
                                     typeName), PERSIST_305.getSeverity(), typeNode.location());
@@ -415,7 +431,77 @@ public class PersistModelDefinitionValidator implements AnalysisTask<SyntaxNodeA
                 entity.addNonRelationField(new SimpleTypeField(fieldName, fieldType, isValidType,
                         isOptionalType, isArrayType, fieldNode.location(), typeNode.location(), annotations));
             }
+            validateIndexAnnotations(entity, fieldName, annotations, indexType, isArrayType, isRelationField,
+                    datastore);
+        }
+    }
 
+    private void validateIndexAnnotations(Entity entity, String fieldName, List<AnnotationNode> annotations,
+                                          String indexType, boolean isArrayType, boolean isRelationField,
+                                          String datastore) {
+        for (AnnotationNode annotation : annotations) {
+            String annotationName = annotation.annotReference().toSourceCode().trim();
+            boolean unique = annotationName.equals(Constants.PERSIST_UNIQUE_INDEX_ANNOTATION_NAME);
+            if (!unique && !annotationName.equals(Constants.PERSIST_INDEX_ANNOTATION_NAME)) {
+                continue;
+            }
+            if (isRelationField) {
+                entity.reportDiagnostic(PERSIST_602.getCode(), PERSIST_602.getMessage(), PERSIST_602.getSeverity(),
+                        annotation.location());
+                continue;
+            }
+            if (!ValidatorsByDatastore.isValidIndexType(indexType, isArrayType, datastore)) {
+                String type = isArrayType ? indexType + SyntaxKind.OPEN_BRACKET_TOKEN.stringValue() +
+                        SyntaxKind.CLOSE_BRACKET_TOKEN.stringValue() : indexType;
+                entity.reportDiagnostic(PERSIST_601.getCode(), MessageFormat.format(PERSIST_601.getMessage(),
+                        datastore, type), PERSIST_601.getSeverity(), annotation.location());
+                continue;
+            }
+            List<String> indexNames = readStringArrayValueFromAnnotation(List.of(annotation), annotationName,
+                    Constants.ANNOTATION_NAMES_FIELD).stream().filter(name -> !name.isEmpty()).toList();
+            if (indexNames.isEmpty()) {
+                indexNames = List.of(Constants.DEFAULT_INDEX_NAME_PREFIX + fieldName);
+            }
+            for (String indexName : indexNames) {
+                if (!entity.addIndexField(indexName, fieldName, unique, annotation.location())) {
+                    entity.reportDiagnostic(PERSIST_606.getCode(), MessageFormat.format(PERSIST_606.getMessage(),
+                            indexName), PERSIST_606.getSeverity(), annotation.location());
+                }
+            }
+        }
+    }
+
+    private void validateIndexes(Entity entity) {
+        List<Index> indexes = entity.getIndexes();
+        List<String> identityFieldNames = entity.getIdentityFieldNames();
+        for (int i = 0; i < indexes.size(); i++) {
+            Index index = indexes.get(i);
+            List<String> indexFields = index.getFields();
+            if (indexFields.equals(identityFieldNames)) {
+                entity.reportDiagnostic(PERSIST_605.getCode(), MessageFormat.format(PERSIST_605.getMessage(),
+                        index.getName()), PERSIST_605.getSeverity(), index.getLocation());
+                continue;
+            }
+            for (int j = 0; j < indexes.size(); j++) {
+                if (i == j) {
+                    continue;
+                }
+                Index other = indexes.get(j);
+                List<String> otherFields = other.getFields();
+                if (j < i && indexFields.equals(otherFields)) {
+                    // Only the index declared later is reported
+                    entity.reportDiagnostic(PERSIST_603.getCode(), MessageFormat.format(PERSIST_603.getMessage(),
+                            index.getName(), other.getName()), PERSIST_603.getSeverity(), index.getLocation());
+                    break;
+                }
+                // A unique index enforces a constraint of its own, hence it is not redundant
+                if (!index.isUnique() && otherFields.size() > indexFields.size()
+                        && otherFields.subList(0, indexFields.size()).equals(indexFields)) {
+                    entity.reportDiagnostic(PERSIST_604.getCode(), MessageFormat.format(PERSIST_604.getMessage(),
+                            index.getName(), other.getName()), PERSIST_604.getSeverity(), index.getLocation());
+                    break;
+                }
+            }
         }
     }
 
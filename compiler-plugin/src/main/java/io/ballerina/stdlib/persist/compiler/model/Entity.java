@@ -30,6 +30,7 @@ import io.ballerina.tools.diagnostics.DiagnosticSeverity;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -44,6 +45,7 @@ public class Entity {
     private final List<SimpleTypeField> nonRelationFields = new ArrayList<>();
     private final HashMap<String, RelationField> relationFields = new HashMap<>();
     private final HashMap<String, GroupedRelationField> groupedRelationFields = new HashMap<>();
+    private final LinkedHashMap<String, Index> indexes = new LinkedHashMap<>();
     private final List<Diagnostic> diagnosticList = new ArrayList<>();
     private boolean containsRelations = false;
     private final List<AnnotationNode> annotations;
@@ -125,6 +127,19 @@ public class Entity {
         }
     }
 
+    public List<Index> getIndexes() {
+        return new ArrayList<>(indexes.values());
+    }
+
+    // Returns false if the index is declared as unique by one of its fields and as non-unique by another
+    public boolean addIndexField(String indexName, String fieldName, boolean unique, NodeLocation location) {
+        Index index = this.indexes.computeIfAbsent(indexName, name -> new Index(name, unique, location));
+        if (!index.getFields().contains(fieldName)) {
+            index.addField(fieldName);
+        }
+        return index.isUnique() == unique;
+    }
+
     public List<Diagnostic> getDiagnostics() {
         return this.diagnosticList;
     }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.persist.compiler.model;
+
+import io.ballerina.compiler.syntax.tree.NodeLocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Model Class for a secondary index declared with `persist:Index` or `persist:UniqueIndex`. Fields annotated with
+ * the same index name form a composite index in the order they are declared.
+ */
+public class Index {
+    private final String name;
+    private final List<String> fields = new ArrayList<>();
+    private final NodeLocation location;
+    private final boolean unique;
+
+    public Index(String name, boolean unique, NodeLocation location) {
+        this.name = name;
+        this.unique = unique;
+        this.location = location;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    public void addField(String field) {
+        this.fields.add(field);
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    public NodeLocation getLocation() {
+        return location;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.persist.compiler.modifier;
+
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.api.symbols.Symbol;
+import io.ballerina.compiler.api.symbols.TypeDescKind;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.syntax.tree.CollectClauseNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.FieldAccessExpressionNode;
+import io.ballerina.compiler.syntax.tree.FunctionArgumentNode;
+import io.ballerina.compiler.syntax.tree.FunctionCallExpressionNode;
+import io.ballerina.compiler.syntax.tree.IntermediateClauseNode;
+import io.ballerina.compiler.syntax.tree.LetClauseNode;
+import io.ballerina.compiler.syntax.tree.LetVariableDeclarationNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NodeList;
+import io.ballerina.compiler.syntax.tree.PositionalArgumentNode;
+import io.ballerina.compiler.syntax.tree.QueryExpressionNode;
+import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.BALLERINA_ORG;
+import static io.ballerina.stdlib.persist.compiler.utils.Utils.stripEscapeCharacter;
+
+/**
+ * Plans the computation of the aggregate of a query over the stream of a resource of a persist client by the
+ * datastore. The queries of the forms below, whose `where` clauses have all been pushed down, are changed into the
+ * queries over the stream returned by `persist:aggregate`, which has the aggregate computed by the datastore as its
+ * single value, or the aggregate computed by reading the records if the datastore does not compute the aggregates.
+ * <pre>
+ * from var o in db->/orders where ... collect count(o)
+ * from var o in db->/orders where ... let decimal amount = o.amount collect sum(amount)
+ * </pre>
+ * The aggregate functions of the lang library are applied to the single value, so that the queries have the same
+ * types and the same results for the streams with no records.
+ *
+ * @since 1.7.1
+ */
+class QueryAggregation {
+
+    private static final String LANG_MODULE_PREFIX = "lang.";
+    private static final String COUNT_FUNCTION = "count";
+    private static final String SUM_FUNCTION = "sum";
+    private static final Set<String> FIELD_AGGREGATE_FUNCTIONS = Set.of(SUM_FUNCTION, "min", "max");
+    private static final Set<TypeDescKind> NUMERIC_TYPES =
+            Set.of(TypeDescKind.INT, TypeDescKind.FLOAT, TypeDescKind.DECIMAL);
+
+    private final SemanticModel semanticModel;
+
+    QueryAggregation(SemanticModel semanticModel) {
+        this.semanticModel = semanticModel;
+    }
+
+    /**
+     * Returns the aggregation of a query.
+     *
+     * @param query        the query expression
+     * @param variableName the name of the variable of the `from` clause
+     * @return the aggregation, or `null` if the query is not of an aggregate computed by the datastores
+     */
+    Aggregation aggregate(QueryExpressionNode query, String variableName) {
+        if (query.queryConstructType().isPresent() || query.resultClause().kind() != SyntaxKind.COLLECT_CLAUSE) {
+            return null;
+        }
+        ExpressionNode result = ((CollectClauseNode) query.resultClause()).expression();
+        String function = getAggregateFunction(result);
+        if (function == null) {
+            return null;
+        }
+        String argument = ((SimpleNameReferenceNode) ((PositionalArgumentNode) ((FunctionCallExpressionNode) result)
+                .arguments().get(0)).expression()).name().text();
+
+        NodeList<IntermediateClauseNode> clauses = query.queryPipeline().intermediateClauses();
+        int conditions = 0;
+        while (conditions < clauses.size() && clauses.get(conditions).kind() == SyntaxKind.WHERE_CLAUSE) {
+            conditions++;
+        }
+        if (conditions == clauses.size()) {
+            // The count is summed, as it is the single value of the stream
+            if (!function.equals(COUNT_FUNCTION) || !argument.equals(variableName)) {
+                return null;
+            }
+            return new Aggregation(COUNT_FUNCTION.toUpperCase(Locale.ROOT), null, TypeDescKind.INT.getName(), result,
+                    SUM_FUNCTION + "(" + variableName + ")");
+        }
+        if (conditions != clauses.size() - 1 || clauses.get(conditions).kind() != SyntaxKind.LET_CLAUSE ||
+                !FIELD_AGGREGATE_FUNCTIONS.contains(function)) {
+            return null;
+        }
+        LetClauseNode letClause = (LetClauseNode) clauses.get(conditions);
+        if (letClause.letVarDeclarations().size() != 1) {
+            return null;
+        }
+        LetVariableDeclarationNode declaration = letClause.letVarDeclarations().get(0);
+        if (declaration.typedBindingPattern().bindingPattern().kind() != SyntaxKind.CAPTURE_BINDING_PATTERN ||
+                !declaration.typedBindingPattern().bindingPattern().toSourceCode().strip().equals(argument)) {
+            return null;
+        }
+        String field = getField(declaration.expression(), variableName);
+        Optional<TypeSymbol> fieldType = semanticModel.typeOf(declaration.expression());
+        if (field == null || fieldType.isEmpty() || !NUMERIC_TYPES.contains(fieldType.get().typeKind())) {
+            return null;
+        }
+        // The value of the stream is the aggregate of the field
+        return new Aggregation(function.toUpperCase(Locale.ROOT), field, fieldType.get().typeKind().getName(),
+                declaration.expression(), variableName);
+    }
+
+    // Returns the name of an aggregate function of the lang library called with a single variable
+    private String getAggregateFunction(ExpressionNode expression) {
+        if (expression.kind() != SyntaxKind.FUNCTION_CALL) {
+            return null;
+        }
+        FunctionCallExpressionNode functionCall = (FunctionCallExpressionNode) expression;
+        if (functionCall.functionName().kind() != SyntaxKind.SIMPLE_NAME_REFERENCE ||
+                functionCall.arguments().size() != 1) {
+            return null;
+        }
+        String function = ((SimpleNameReferenceNode) functionCall.functionName()).name().text();
+        FunctionArgumentNode argument = functionCall.arguments().get(0);
+        if (!function.equals(COUNT_FUNCTION) && !FIELD_AGGREGATE_FUNCTIONS.contains(function) ||
+                argument.kind() != SyntaxKind.POSITIONAL_ARG ||
+                ((PositionalArgumentNode) argument).expression().kind() != SyntaxKind.SIMPLE_NAME_REFERENCE) {
+            return null;
+        }
+        Optional<Symbol> symbol = semanticModel.symbol(functionCall);
+        if (symbol.isEmpty() || symbol.get().getModule().isEmpty() ||
+                !symbol.get().getModule().get().id().orgName().equals(BALLERINA_ORG) ||
+                !symbol.get().getModule().get().id().moduleName().startsWith(LANG_MODULE_PREFIX)) {
+            return null;
+        }
+        return function;
+    }
+
+    private static String getField(ExpressionNode expression, String variableName) {
+        if (expression.kind() != SyntaxKind.FIELD_ACCESS) {
+            return null;
+        }
+        FieldAccessExpressionNode fieldAccess = (FieldAccessExpressionNode) expression;
+        if (fieldAccess.expression().kind() != SyntaxKind.SIMPLE_NAME_REFERENCE ||
+                !((SimpleNameReferenceNode) fieldAccess.expression()).name().text().equals(variableName) ||
+                fieldAccess.fieldName().kind() != SyntaxKind.SIMPLE_NAME_REFERENCE) {
+            return null;
+        }
+        return stripEscapeCharacter(((SimpleNameReferenceNode) fieldAccess.fieldName()).name().text());
+    }
+
+    /**
+     * The aggregate of a query computed by the datastores.
+     *
+     * @param function    the name of the member of the `persist:AggregateFunction` enum
+     * @param field       the aggregated field, or `null` if the records are counted
+     * @param valueType   the type of the aggregate
+     * @param node        the node of the query replaced to refer to the aggregate
+     * @param replacement the source replacing the node
+     */
+    record Aggregation(String function, String field, String valueType, Node node, String replacement) {
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.persist.compiler.modifier;
+
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.api.symbols.ArrayTypeSymbol;
+import io.ballerina.compiler.api.symbols.ModuleSymbol;
+import io.ballerina.compiler.api.symbols.Qualifier;
+import io.ballerina.compiler.api.symbols.RecordFieldSymbol;
+import io.ballerina.compiler.api.symbols.RecordTypeSymbol;
+import io.ballerina.compiler.api.symbols.Symbol;
+import io.ballerina.compiler.api.symbols.TypeDescKind;
+import io.ballerina.compiler.api.symbols.TypeReferenceTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
+import io.ballerina.compiler.api.symbols.VariableSymbol;
+import io.ballerina.compiler.syntax.tree.CaptureBindingPatternNode;
+import io.ballerina.compiler.syntax.tree.FieldAccessExpressionNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NodeVisitor;
+import io.ballerina.compiler.syntax.tree.QueryExpressionNode;
+import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
+import io.ballerina.compiler.syntax.tree.SyntaxInfo;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static io.ballerina.stdlib.persist.compiler.utils.Utils.stripEscapeCharacter;
+
+/**
+ * Narrows the target type of a query over the stream of a resource of a persist client to the fields used by the
+ * query, so that the clients read only the columns of those fields. The fields are declared in a closed record type
+ * generated in the module of the query, which is a subtype of the target types accepted by the resource functions.
+ * <p>
+ * The target type is narrowed only when the variable of the `from` clause is used solely to access the fields of
+ * the entity which have the primitive types or the types defined in the module, as the other types cannot be
+ * referred to without the imports of the document.
+ *
+ * @since 1.7.1
+ */
+class QueryProjection {
+
+    private static final String PROJECTION_TYPE_SUFFIX = "Projection";
+
+    private final SemanticModel semanticModel;
+    private final Set<String> typeNames = new HashSet<>();
+
+    QueryProjection(SemanticModel semanticModel) {
+        this.semanticModel = semanticModel;
+        for (Symbol symbol : semanticModel.moduleSymbols()) {
+            symbol.getName().ifPresent(typeNames::add);
+        }
+    }
+
+    /**
+     * Returns the projection of a query.
+     *
+     * @param query    the query expression
+     * @param variable the variable of the `from` clause
+     * @return the projection, or `null` if the query uses the whole records or all the fields of the entity
+     */
+    Projection project(QueryExpressionNode query, CaptureBindingPatternNode variable) {
+        Optional<Symbol> symbol = semanticModel.symbol(variable);
+        if (symbol.isEmpty() || !(symbol.get() instanceof VariableSymbol)) {
+            return null;
+        }
+        TypeSymbol type = ((VariableSymbol) symbol.get()).typeDescriptor();
+        if (type.typeKind() != TypeDescKind.TYPE_REFERENCE ||
+                ((TypeReferenceTypeSymbol) type).typeDescriptor().typeKind() != TypeDescKind.RECORD) {
+            return null;
+        }
+        Optional<ModuleSymbol> module = type.getModule();
+        Optional<String> entity = type.getName();
+        if (module.isEmpty() || entity.isEmpty()) {
+            return null;
+        }
+
+        // The clauses following the `from` clause are the scope of the variable
+        FieldCollector collector = new FieldCollector(variable.variableName().text());
+        query.queryPipeline().intermediateClauses().forEach(clause -> clause.accept(collector));
+        for (Node child : query.children()) {
+            if (child != query.queryPipeline()) {
+                child.accept(collector);
+            }
+        }
+        Map<String, RecordFieldSymbol> fields =
+                ((RecordTypeSymbol) ((TypeReferenceTypeSymbol) type).typeDescriptor()).fieldDescriptors();
+        if (collector.usesRecord || !fields.keySet().containsAll(collector.fields) ||
+                collector.fields.size() == fields.size()) {
+            return null;
+        }
+
+        StringBuilder typeDefinition = new StringBuilder();
+        String typeName = getTypeName(entity.get());
+        typeDefinition.append(System.lineSeparator()).append("type ").append(typeName).append(" record {|")
+                .append(System.lineSeparator());
+        // The fields are declared in the order of the entity, which is the order of the columns read by the clients
+        for (Map.Entry<String, RecordFieldSymbol> field : fields.entrySet()) {
+            if (!collector.fields.contains(field.getKey())) {
+                continue;
+            }
+            String fieldType = getTypeSource(field.getValue().typeDescriptor(), module.get());
+            if (fieldType == null) {
+                return null;
+            }
+            typeDefinition.append("    ");
+            if (field.getValue().qualifiers().contains(Qualifier.READONLY)) {
+                typeDefinition.append("readonly ");
+            }
+            typeDefinition.append(fieldType).append(" ")
+                    .append(SyntaxInfo.isKeyword(field.getKey()) ? "'" + field.getKey() : field.getKey());
+            if (field.getValue().isOptional()) {
+                typeDefinition.append("?");
+            }
+            typeDefinition.append(";").append(System.lineSeparator());
+        }
+        typeDefinition.append("|};").append(System.lineSeparator());
+        typeNames.add(typeName);
+        return new Projection(typeName, typeDefinition.toString());
+    }
+
+    private String getTypeName(String entity) {
+        String typeName = entity + PROJECTION_TYPE_SUFFIX;
+        for (int i = 1; typeNames.contains(typeName); i++) {
+            typeName = entity + PROJECTION_TYPE_SUFFIX + i;
+        }
+        return typeName;
+    }
+
+    private static String getTypeSource(TypeSymbol type, ModuleSymbol module) {
+        switch (type.typeKind()) {
+            case INT:
+            case FLOAT:
+            case DECIMAL:
+            case BOOLEAN:
+            case STRING:
+            case BYTE:
+                return type.typeKind().getName();
+            case ARRAY: {
+                String memberType = getTypeSource(((ArrayTypeSymbol) type).memberTypeDescriptor(), module);
+                return memberType == null ? null : memberType + "[]";
+            }
+            case UNION: {
+                List<TypeSymbol> memberTypes = ((UnionTypeSymbol) type).memberTypeDescriptors();
+                if (memberTypes.size() != 2) {
+                    return null;
+                }
+                int nilIndex = memberTypes.get(0).typeKind() == TypeDescKind.NIL ? 0 : 1;
+                if (memberTypes.get(nilIndex).typeKind() != TypeDescKind.NIL) {
+                    return null;
+                }
+                String memberType = getTypeSource(memberTypes.get(1 - nilIndex), module);
+                return memberType == null ? null : memberType + "?";
+            }
+            case TYPE_REFERENCE: {
+                // The related entities are not projected, as they are read through the relation fields
+                TypeSymbol referredType = ((TypeReferenceTypeSymbol) type).typeDescriptor();
+                if (referredType.typeKind() == TypeDescKind.RECORD || type.getModule().isEmpty() ||
+                        !type.getModule().get().id().equals(module.id())) {
+                    return null;
+                }
+                return type.getName().orElse(null);
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The target type of a query.
+     *
+     * @param typeName       the name of the generated record type
+     * @param typeDefinition the source of the definition of the record type
+     */
+    record Projection(String typeName, String typeDefinition) {
+    }
+
+    // Collects the fields accessed on the variable, and whether the variable is used in any other way
+    private static class FieldCollector extends NodeVisitor {
+
+        private final String variableName;
+        private final Set<String> fields = new HashSet<>();
+        private boolean usesRecord = false;
+
+        FieldCollector(String variableName) {
+            this.variableName = variableName;
+        }
+
+        @Override
+        public void visit(FieldAccessExpressionNode fieldAccessExpressionNode) {
+            if (fieldAccessExpressionNode.expression().kind() == SyntaxKind.SIMPLE_NAME_REFERENCE &&
+                    ((SimpleNameReferenceNode) fieldAccessExpressionNode.expression()).name().text()
+                            .equals(variableName) &&
+                    fieldAccessExpressionNode.fieldName().kind() == SyntaxKind.SIMPLE_NAME_REFERENCE) {
+                fields.add(stripEscapeCharacter(
+                        ((SimpleNameReferenceNode) fieldAccessExpressionNode.fieldName()).name().text()));
+                return;
+            }
+            visitSyntaxNode(fieldAccessExpressionNode);
+        }
+
+        @Override
+        public void visit(SimpleNameReferenceNode simpleNameReferenceNode) {
+            usesRecord |= simpleNameReferenceNode.name().text().equals(variableName);
+        }
+
+        @Override
+        public void visit(CaptureBindingPatternNode captureBindingPatternNode) {
+            // A variable of the same name in a nested query may refer to other records
+            usesRecord |= captureBindingPatternNode.variableName().text().equals(variableName);
+        }
+    }
+}
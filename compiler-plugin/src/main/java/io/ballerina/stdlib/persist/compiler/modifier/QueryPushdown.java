@@ -0,0 +1,458 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.persist.compiler.modifier;
+
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.api.symbols.ArrayTypeSymbol;
+import io.ballerina.compiler.api.symbols.IntersectionTypeSymbol;
+import io.ballerina.compiler.api.symbols.MethodSymbol;
+import io.ballerina.compiler.api.symbols.ObjectTypeSymbol;
+import io.ballerina.compiler.api.symbols.ParameterSymbol;
+import io.ballerina.compiler.api.symbols.RecordFieldSymbol;
+import io.ballerina.compiler.api.symbols.RecordTypeSymbol;
+import io.ballerina.compiler.api.symbols.Symbol;
+import io.ballerina.compiler.api.symbols.TypeDescKind;
+import io.ballerina.compiler.api.symbols.TypeReferenceTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
+import io.ballerina.compiler.api.symbols.VariableSymbol;
+import io.ballerina.compiler.syntax.tree.BinaryExpressionNode;
+import io.ballerina.compiler.syntax.tree.CaptureBindingPatternNode;
+import io.ballerina.compiler.syntax.tree.ClientResourceAccessActionNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.FromClauseNode;
+import io.ballerina.compiler.syntax.tree.FunctionArgumentNode;
+import io.ballerina.compiler.syntax.tree.IntermediateClauseNode;
+import io.ballerina.compiler.syntax.tree.LimitClauseNode;
+import io.ballerina.compiler.syntax.tree.NamedArgumentNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.OrderByClauseNode;
+import io.ballerina.compiler.syntax.tree.OrderKeyNode;
+import io.ballerina.compiler.syntax.tree.ParenthesizedArgList;
+import io.ballerina.compiler.syntax.tree.QueryExpressionNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.TypeDescriptorNode;
+import io.ballerina.compiler.syntax.tree.WhereClauseNode;
+import io.ballerina.stdlib.persist.compiler.modifier.QueryAggregation.Aggregation;
+import io.ballerina.stdlib.persist.compiler.modifier.QueryProjection.Projection;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.ABSTRACT_PERSIST_CLIENT;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.AGGREGATE_FUNCTION;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.BALLERINA_ORG;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.GET_ACCESSOR;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.LIMIT_CLAUSE;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.ORDER_BY_CLAUSE;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.PERSIST_MODULE;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.TARGET_TYPE;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.WHERE_CLAUSE;
+import static io.ballerina.stdlib.persist.compiler.utils.Utils.stripEscapeCharacter;
+
+/**
+ * Plans the pushdown of the `where`, `order by` and `limit` clauses of a query over the stream of a resource of a
+ * persist client into the `whereClause`, `orderByClause` and `limitClause` parameters of the resource function. Only
+ * the leading clauses of the query are pushed down, and the conditions of a `where` clause are pushed down one
+ * conjunct at a time, so that the conjuncts which cannot be translated are still evaluated by the query. A `limit`
+ * clause is pushed down only when all the preceding clauses have been pushed down. The target type of the resource
+ * function is narrowed to the fields used by the query through a {@link QueryProjection}, and the aggregates of the
+ * queries are computed by the datastores through a {@link QueryAggregation}. The aggregates are also computed over
+ * the resources without the clause parameters, for the queries without conditions.
+ * <p>
+ * The clauses which are pushed down are removed together with their lines, so that the modified queries have no blank
+ * lines. The other edits keep the lines of the source.
+ *
+ * @since 1.7.1
+ */
+class QueryPushdown {
+
+    private final SemanticModel semanticModel;
+    private final String source;
+    private final Set<String> mappedFields;
+    private final QueryProjection queryProjection;
+    private final QueryAggregation queryAggregation;
+    private final String persistPrefix;
+    private final List<String> typeDefinitions = new ArrayList<>();
+    private boolean usesPersistModule = false;
+
+    QueryPushdown(SemanticModel semanticModel, String source, Set<String> mappedFields,
+                  QueryProjection queryProjection, String persistPrefix) {
+        this.semanticModel = semanticModel;
+        this.source = source;
+        this.mappedFields = mappedFields;
+        this.queryProjection = queryProjection;
+        this.queryAggregation = new QueryAggregation(semanticModel);
+        this.persistPrefix = persistPrefix;
+    }
+
+    /**
+     * Returns the edits pushing down the clauses of a query.
+     *
+     * @param query the query expression
+     * @return the edits, which are empty if none of the clauses can be pushed down
+     */
+    List<TextEdit> plan(QueryExpressionNode query) {
+        FromClauseNode fromClause = query.queryPipeline().fromClause();
+        if (fromClause.expression().kind() != SyntaxKind.CLIENT_RESOURCE_ACCESS_ACTION ||
+                fromClause.typedBindingPattern().bindingPattern().kind() != SyntaxKind.CAPTURE_BINDING_PATTERN) {
+            return List.of();
+        }
+        ClientResourceAccessActionNode resourceAccess = (ClientResourceAccessActionNode) fromClause.expression();
+        CaptureBindingPatternNode variable =
+                (CaptureBindingPatternNode) fromClause.typedBindingPattern().bindingPattern();
+        List<String> parameters = getUnassignedParameters(resourceAccess);
+        if (parameters == null) {
+            return List.of();
+        }
+
+        List<TextEdit> edits = new ArrayList<>();
+        List<String> arguments = new ArrayList<>();
+        String variableName = variable.variableName().text();
+        boolean relations = hasRelations(variable);
+        // The aggregate is computed from the stream, hence the conditions are evaluated by the datastore or there are
+        // none, such as for the resources without the clause parameters
+        boolean conditionsPushedDown = !hasConditions(query);
+        if (parameters.containsAll(List.of(WHERE_CLAUSE, ORDER_BY_CLAUSE, LIMIT_CLAUSE)) && !relations) {
+            conditionsPushedDown = pushDownClauses(query, variableName, edits, arguments);
+        }
+        Aggregation aggregation = null;
+        if (conditionsPushedDown && !relations) {
+            aggregation = queryAggregation.aggregate(query, variableName);
+        }
+        TypeDescriptorNode variableType = fromClause.typedBindingPattern().typeDescriptor();
+        if (parameters.contains(TARGET_TYPE)) {
+            Projection projection = queryProjection.project(query, variable);
+            if (projection != null) {
+                arguments.add(TARGET_TYPE + " = " + projection.typeName());
+                if (aggregation == null && variableType.kind() != SyntaxKind.VAR_TYPE_DESC) {
+                    edits.add(replace(variableType, projection.typeName()));
+                }
+                typeDefinitions.add(projection.typeDefinition());
+            }
+        }
+        String aggregateArguments = "";
+        if (aggregation != null) {
+            // The query iterates the aggregate computed from the stream of the resource
+            edits.add(TextEdit.from(TextRange.from(resourceAccess.textRange().startOffset(), 0),
+                    persistPrefix + ":" + AGGREGATE_FUNCTION + "("));
+            aggregateArguments = ", " + persistPrefix + ":" + aggregation.function() + ", " +
+                    (aggregation.field() == null ? "()" : "\"" + aggregation.field() + "\"") + ", " +
+                    aggregation.valueType() + ")";
+            edits.add(replace(aggregation.node(), aggregation.replacement()));
+            if (variableType.kind() != SyntaxKind.VAR_TYPE_DESC) {
+                edits.add(replace(variableType, aggregation.valueType()));
+            }
+            usesPersistModule = true;
+        } else if (arguments.isEmpty()) {
+            return List.of();
+        }
+        edits.addAll(addArguments(resourceAccess, String.join(", ", arguments), aggregateArguments));
+        edits.sort(Comparator.comparingInt(edit -> edit.range().startOffset()));
+        return edits;
+    }
+
+    /**
+     * Returns the definitions of the target types of the planned queries, which are added to the end of the document.
+     *
+     * @return the sources of the type definitions
+     */
+    List<String> getTypeDefinitions() {
+        return typeDefinitions;
+    }
+
+    /**
+     * Returns whether the planned queries refer to the `ballerina/persist` module through its prefix in the document.
+     *
+     * @return `true` if the module is referred to
+     */
+    boolean usesPersistModule() {
+        return usesPersistModule;
+    }
+
+    // Returns whether all the `where` clauses preceding the other clauses have been pushed down
+    private boolean pushDownClauses(QueryExpressionNode query, String variableName, List<TextEdit> edits,
+                                    List<String> arguments) {
+        SqlTranslator translator = new SqlTranslator(semanticModel, source, variableName, mappedFields);
+        List<String> conditions = new ArrayList<>();
+        List<String> orderKeys = null;
+        String limit = null;
+        boolean evaluatedByQuery = false;
+        boolean conditionsPushedDown = true;
+        for (IntermediateClauseNode clause : query.queryPipeline().intermediateClauses()) {
+            if (clause.kind() == SyntaxKind.WHERE_CLAUSE) {
+                WhereClauseNode whereClause = (WhereClauseNode) clause;
+                List<ExpressionNode> remainingConjuncts = new ArrayList<>();
+                List<ExpressionNode> conjuncts = new ArrayList<>();
+                addConjuncts(whereClause.expression(), conjuncts);
+                for (ExpressionNode conjunct : conjuncts) {
+                    String condition = translator.translateCondition(conjunct);
+                    if (condition == null) {
+                        remainingConjuncts.add(conjunct);
+                    } else {
+                        conditions.add(condition);
+                    }
+                }
+                if (remainingConjuncts.isEmpty()) {
+                    edits.add(remove(whereClause));
+                } else if (remainingConjuncts.size() < conjuncts.size()) {
+                    List<String> remainingSources = new ArrayList<>();
+                    remainingConjuncts.forEach(conjunct -> remainingSources.add(getSource(conjunct)));
+                    edits.add(replace(whereClause.expression(), String.join(" && ", remainingSources)));
+                }
+                evaluatedByQuery |= !remainingConjuncts.isEmpty();
+                conditionsPushedDown &= remainingConjuncts.isEmpty();
+            } else if (clause.kind() == SyntaxKind.ORDER_BY_CLAUSE) {
+                // The conditions commute with the ordering, but only the first ordering can be pushed down
+                if (orderKeys != null) {
+                    break;
+                }
+                orderKeys = translateOrderKeys((OrderByClauseNode) clause, translator);
+                if (orderKeys == null) {
+                    orderKeys = List.of();
+                    evaluatedByQuery = true;
+                } else {
+                    edits.add(remove(clause));
+                }
+            } else if (clause.kind() == SyntaxKind.LIMIT_CLAUSE) {
+                if (!evaluatedByQuery) {
+                    limit = translator.translateLimit(((LimitClauseNode) clause).expression());
+                    if (limit != null) {
+                        edits.add(remove(clause));
+                    }
+                }
+                break;
+            } else {
+                break;
+            }
+        }
+
+        if (conditions.size() > 1) {
+            // The disjunctions are enclosed as `OR` has a lower precedence than `AND`
+            conditions.replaceAll(condition -> condition.contains(" OR ") ? "(" + condition + ")" : condition);
+        }
+        if (!conditions.isEmpty()) {
+            arguments.add(WHERE_CLAUSE + " = `" + String.join(" AND ", conditions) + "`");
+        }
+        if (orderKeys != null && !orderKeys.isEmpty()) {
+            arguments.add(ORDER_BY_CLAUSE + " = `" + String.join(", ", orderKeys) + "`");
+        }
+        if (limit != null) {
+            arguments.add(LIMIT_CLAUSE + " = `" + limit + "`");
+        }
+        return conditionsPushedDown;
+    }
+
+    // Returns the parameters of a `get` resource function of a persist client which are not given by the arguments
+    private List<String> getUnassignedParameters(ClientResourceAccessActionNode resourceAccess) {
+        if (resourceAccess.methodName().isPresent() &&
+                !resourceAccess.methodName().get().name().text().equals(GET_ACCESSOR)) {
+            return null;
+        }
+        if (!isPersistClient(semanticModel.typeOf(resourceAccess.expression()))) {
+            return null;
+        }
+        Optional<Symbol> symbol = semanticModel.symbol(resourceAccess);
+        if (symbol.isEmpty() || !(symbol.get() instanceof MethodSymbol)) {
+            return null;
+        }
+        Optional<List<ParameterSymbol>> parameters = ((MethodSymbol) symbol.get()).typeDescriptor().params();
+        if (parameters.isEmpty()) {
+            return null;
+        }
+        List<String> parameterNames = new ArrayList<>();
+        parameters.get().forEach(parameter -> parameterNames.add(parameter.getName().orElse("")));
+        if (resourceAccess.arguments().isEmpty()) {
+            return parameterNames;
+        }
+
+        int positionalArguments = 0;
+        List<String> namedArguments = new ArrayList<>();
+        for (FunctionArgumentNode argument : resourceAccess.arguments().get().arguments()) {
+            if (argument.kind() == SyntaxKind.POSITIONAL_ARG) {
+                positionalArguments++;
+            } else if (argument.kind() == SyntaxKind.NAMED_ARG) {
+                namedArguments.add(stripEscapeCharacter(
+                        ((NamedArgumentNode) argument).argumentName().name().text()));
+            } else {
+                return null;
+            }
+        }
+        List<String> unassignedParameters =
+                new ArrayList<>(parameterNames.subList(Math.min(positionalArguments, parameterNames.size()),
+                        parameterNames.size()));
+        unassignedParameters.removeAll(namedArguments);
+        return unassignedParameters;
+    }
+
+    private static boolean isPersistClient(Optional<TypeSymbol> type) {
+        if (type.isEmpty()) {
+            return false;
+        }
+        TypeSymbol clientType = type.get();
+        while (clientType.typeKind() == TypeDescKind.TYPE_REFERENCE) {
+            clientType = ((TypeReferenceTypeSymbol) clientType).typeDescriptor();
+        }
+        if (!(clientType instanceof ObjectTypeSymbol)) {
+            return false;
+        }
+        for (TypeSymbol inclusion : ((ObjectTypeSymbol) clientType).typeInclusions()) {
+            if (inclusion.getModule().isPresent() &&
+                    inclusion.getModule().get().id().orgName().equals(BALLERINA_ORG) &&
+                    inclusion.getModule().get().id().moduleName().equals(PERSIST_MODULE) &&
+                    inclusion.getName().orElse("").equals(ABSTRACT_PERSIST_CLIENT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The related records are joined by the clients, in which case the column names may be ambiguous
+    private static boolean hasConditions(QueryExpressionNode query) {
+        for (IntermediateClauseNode clause : query.queryPipeline().intermediateClauses()) {
+            if (clause.kind() == SyntaxKind.WHERE_CLAUSE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasRelations(CaptureBindingPatternNode variable) {
+        Optional<Symbol> symbol = semanticModel.symbol(variable);
+        if (symbol.isEmpty() || !(symbol.get() instanceof VariableSymbol)) {
+            return true;
+        }
+        TypeSymbol recordType = getReferredType(((VariableSymbol) symbol.get()).typeDescriptor());
+        if (recordType.typeKind() != TypeDescKind.RECORD) {
+            return true;
+        }
+        for (RecordFieldSymbol field : ((RecordTypeSymbol) recordType).fieldDescriptors().values()) {
+            if (isRecord(field.typeDescriptor())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRecord(TypeSymbol type) {
+        TypeSymbol referredType = getReferredType(type);
+        switch (referredType.typeKind()) {
+            case RECORD:
+                return true;
+            case ARRAY:
+                return isRecord(((ArrayTypeSymbol) referredType).memberTypeDescriptor());
+            case UNION:
+                return ((UnionTypeSymbol) referredType).memberTypeDescriptors().stream()
+                        .anyMatch(QueryPushdown::isRecord);
+            default:
+                return false;
+        }
+    }
+
+    private static TypeSymbol getReferredType(TypeSymbol type) {
+        if (type.typeKind() == TypeDescKind.TYPE_REFERENCE) {
+            return getReferredType(((TypeReferenceTypeSymbol) type).typeDescriptor());
+        } else if (type.typeKind() == TypeDescKind.INTERSECTION) {
+            return getReferredType(((IntersectionTypeSymbol) type).effectiveTypeDescriptor());
+        }
+        return type;
+    }
+
+    private static void addConjuncts(ExpressionNode expression, List<ExpressionNode> conjuncts) {
+        if (expression.kind() == SyntaxKind.BINARY_EXPRESSION &&
+                ((BinaryExpressionNode) expression).operator().kind() == SyntaxKind.LOGICAL_AND_TOKEN) {
+            addConjuncts(((BinaryExpressionNode) expression).lhsExpr(), conjuncts);
+            addConjuncts(((BinaryExpressionNode) expression).rhsExpr(), conjuncts);
+            return;
+        }
+        conjuncts.add(expression);
+    }
+
+    private static List<String> translateOrderKeys(OrderByClauseNode orderByClause, SqlTranslator translator) {
+        List<String> orderKeys = new ArrayList<>();
+        for (OrderKeyNode orderKey : orderByClause.orderKey()) {
+            String sqlOrderKey = translator.translateOrderKey(orderKey);
+            if (sqlOrderKey == null) {
+                return null;
+            }
+            orderKeys.add(sqlOrderKey);
+        }
+        return orderKeys;
+    }
+
+    // The arguments of the resource function are followed by the suffix, which closes an enclosing function call
+    private static List<TextEdit> addArguments(ClientResourceAccessActionNode resourceAccess, String arguments,
+                                               String suffix) {
+        int endOffset = resourceAccess.textRange().endOffset();
+        Optional<ParenthesizedArgList> argumentList = resourceAccess.arguments();
+        if (arguments.isEmpty()) {
+            return List.of(TextEdit.from(TextRange.from(endOffset, 0), suffix));
+        }
+        if (argumentList.isEmpty()) {
+            return List.of(TextEdit.from(TextRange.from(endOffset, 0), "(" + arguments + ")" + suffix));
+        }
+        String separator = argumentList.get().arguments().isEmpty() ? "" : ", ";
+        TextEdit argumentsEdit = TextEdit.from(
+                TextRange.from(argumentList.get().closeParenToken().textRange().startOffset(), 0),
+                separator + arguments);
+        return suffix.isEmpty() ? List.of(argumentsEdit) :
+                List.of(argumentsEdit, TextEdit.from(TextRange.from(endOffset, 0), suffix));
+    }
+
+    // The replaced text is followed by the line breaks of the original text, so that the lines of the source are kept
+    private static TextEdit replace(Node node, String text) {
+        int lineBreaks = node.lineRange().endLine().line() - node.lineRange().startLine().line() -
+                (int) text.chars().filter(character -> character == '\n').count();
+        return TextEdit.from(node.textRange(), text + "\n".repeat(Math.max(lineBreaks, 0)));
+    }
+
+    // The clause is removed with the whitespace following it, and with its indentation and line break if it is on a
+    // line of its own
+    private TextEdit remove(Node clause) {
+        int startOffset = clause.textRange().startOffset();
+        int endOffset = clause.textRange().endOffset();
+        while (endOffset < source.length() && isBlank(source.charAt(endOffset))) {
+            endOffset++;
+        }
+        int lineStartOffset = startOffset;
+        while (lineStartOffset > 0 && isBlank(source.charAt(lineStartOffset - 1))) {
+            lineStartOffset--;
+        }
+        boolean startsLine = lineStartOffset == 0 || source.charAt(lineStartOffset - 1) == '\n';
+        if (startsLine && source.startsWith("\r\n", endOffset)) {
+            return TextEdit.from(TextRange.from(lineStartOffset, endOffset + 2 - lineStartOffset), "");
+        }
+        if (startsLine && source.startsWith("\n", endOffset)) {
+            return TextEdit.from(TextRange.from(lineStartOffset, endOffset + 1 - lineStartOffset), "");
+        }
+        return TextEdit.from(TextRange.from(startOffset, endOffset - startOffset), "");
+    }
+
+    private static boolean isBlank(char character) {
+        return character == ' ' || character == '\t';
+    }
+
+    private String getSource(Node node) {
+        return source.substring(node.textRange().startOffset(), node.textRange().endOffset());
+    }
+}
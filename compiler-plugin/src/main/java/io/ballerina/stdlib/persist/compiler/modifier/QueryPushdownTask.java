@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.persist.compiler.modifier;
+
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.syntax.tree.AnnotationNode;
+import io.ballerina.compiler.syntax.tree.ImportDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NodeVisitor;
+import io.ballerina.compiler.syntax.tree.QueryExpressionNode;
+import io.ballerina.compiler.syntax.tree.RecordFieldNode;
+import io.ballerina.compiler.syntax.tree.RecordTypeDescriptorNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.compiler.syntax.tree.TypeDefinitionNode;
+import io.ballerina.projects.Document;
+import io.ballerina.projects.DocumentId;
+import io.ballerina.projects.Module;
+import io.ballerina.projects.ModuleId;
+import io.ballerina.projects.Package;
+import io.ballerina.projects.ProjectKind;
+import io.ballerina.projects.plugins.ModifierTask;
+import io.ballerina.projects.plugins.SourceModifierContext;
+import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static io.ballerina.stdlib.persist.compiler.Constants.PERSIST_DIRECTORY;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.BALLERINA_ORG;
+import static io.ballerina.stdlib.persist.compiler.Constants.PersistClient.PERSIST_MODULE;
+import static io.ballerina.stdlib.persist.compiler.Constants.SQL_NAME_MAPPING_ANNOTATION_NAME;
+import static io.ballerina.stdlib.persist.compiler.utils.Utils.stripEscapeCharacter;
+
+/**
+ * Pushes down the `where`, `order by` and `limit` clauses of the queries over the streams of the persist clients
+ * into the queries sent to the database, so that only the matching records are read instead of the whole table, and
+ * narrows the target types of the queries to the fields used by them. The aggregates of the queries with only a
+ * `collect` clause are computed by the datastores. The clauses which cannot be translated are kept in the queries.
+ * The fields mapped to columns of other names in the persist models are not translated, as the column names are not
+ * known to the compiler plugin.
+ *
+ * @since 1.7.1
+ */
+public class QueryPushdownTask implements ModifierTask<SourceModifierContext> {
+
+    @Override
+    public void modify(SourceModifierContext context) {
+        if (context.compilation().diagnosticResult().errorCount() > 0) {
+            return;
+        }
+        Package currentPackage = context.currentPackage();
+        if (currentPackage.project().kind() != ProjectKind.BUILD_PROJECT) {
+            return;
+        }
+        Set<String> mappedFields = getMappedFields(currentPackage.project().sourceRoot().resolve(PERSIST_DIRECTORY));
+        if (mappedFields == null) {
+            return;
+        }
+        for (ModuleId moduleId : currentPackage.moduleIds()) {
+            Module module = currentPackage.module(moduleId);
+            SemanticModel semanticModel = context.compilation().getSemanticModel(moduleId);
+            QueryProjection queryProjection = new QueryProjection(semanticModel);
+            for (DocumentId documentId : module.documentIds()) {
+                Document document = module.document(documentId);
+                TextDocument textDocument = document.textDocument();
+                ModulePartNode modulePart = document.syntaxTree().rootNode();
+                PersistImport persistImport = getPersistImport(modulePart);
+                QueryPushdown pushdown = new QueryPushdown(semanticModel, textDocument.toString(), mappedFields,
+                        queryProjection, persistImport.prefix());
+                List<TextEdit> edits = getEdits(document.syntaxTree(), textDocument.toString(), pushdown);
+                if (pushdown.usesPersistModule() && persistImport.edit() != null) {
+                    edits.add(0, persistImport.edit());
+                }
+                if (!edits.isEmpty()) {
+                    context.modifySourceFile(textDocument.apply(TextDocumentChange.from(
+                            edits.toArray(new TextEdit[0]))), documentId);
+                }
+            }
+        }
+    }
+
+    private static List<TextEdit> getEdits(SyntaxTree syntaxTree, String source, QueryPushdown pushdown) {
+        QueryCollector collector = new QueryCollector();
+        syntaxTree.rootNode().accept(collector);
+        List<TextEdit> edits = new ArrayList<>();
+        List<TextRange> modifiedQueries = new ArrayList<>();
+        for (QueryExpressionNode query : collector.queries) {
+            // The nested queries of a modified query are not modified, as their source may have been replaced
+            TextRange range = query.textRange();
+            if (modifiedQueries.stream().anyMatch(modified -> modified.startOffset() <= range.startOffset() &&
+                    range.endOffset() <= modified.endOffset())) {
+                continue;
+            }
+            List<TextEdit> queryEdits = pushdown.plan(query);
+            if (!queryEdits.isEmpty()) {
+                edits.addAll(queryEdits);
+                modifiedQueries.add(range);
+            }
+        }
+        // The target types are defined after the last line, so that the lines of the source are kept
+        if (!pushdown.getTypeDefinitions().isEmpty()) {
+            edits.add(TextEdit.from(TextRange.from(source.length(), 0),
+                    String.join("", pushdown.getTypeDefinitions())));
+        }
+        return edits;
+    }
+
+    // The module is imported on the line of the first member or the last import, keeping the lines of the source
+    private static PersistImport getPersistImport(ModulePartNode modulePart) {
+        for (ImportDeclarationNode importDeclaration : modulePart.imports()) {
+            List<String> moduleName = new ArrayList<>();
+            importDeclaration.moduleName().forEach(name -> moduleName.add(name.text()));
+            String prefix = importDeclaration.prefix().isPresent() ?
+                    importDeclaration.prefix().get().prefix().text() : moduleName.get(moduleName.size() - 1);
+            if (importDeclaration.orgName().isPresent() &&
+                    importDeclaration.orgName().get().orgName().text().equals(BALLERINA_ORG) &&
+                    String.join(".", moduleName).equals(PERSIST_MODULE)) {
+                if (importDeclaration.prefix().isEmpty() ||
+                        importDeclaration.prefix().get().prefix().kind() != SyntaxKind.UNDERSCORE_KEYWORD) {
+                    return new PersistImport(stripEscapeCharacter(prefix), null);
+                }
+                // The module imported only for its compiler plugin is given a prefix
+                prefix = getUnusedPrefix(modulePart);
+                return new PersistImport(prefix, TextEdit.from(
+                        importDeclaration.prefix().get().prefix().textRange(), prefix));
+            }
+        }
+        String prefix = getUnusedPrefix(modulePart);
+        String importDeclaration = "import " + BALLERINA_ORG + "/" + PERSIST_MODULE +
+                (prefix.equals(PERSIST_MODULE) ? "" : " as " + prefix) + ";";
+        if (modulePart.imports().isEmpty()) {
+            return new PersistImport(prefix, TextEdit.from(TextRange.from(modulePart.textRange().startOffset(), 0),
+                    importDeclaration + " "));
+        }
+        int endOffset = modulePart.imports().get(modulePart.imports().size() - 1).textRange().endOffset();
+        return new PersistImport(prefix, TextEdit.from(TextRange.from(endOffset, 0), " " + importDeclaration));
+    }
+
+    private static String getUnusedPrefix(ModulePartNode modulePart) {
+        Set<String> prefixes = new HashSet<>();
+        for (ImportDeclarationNode importDeclaration : modulePart.imports()) {
+            prefixes.add(stripEscapeCharacter(importDeclaration.prefix().isPresent() ?
+                    importDeclaration.prefix().get().prefix().text() :
+                    importDeclaration.moduleName().get(importDeclaration.moduleName().size() - 1).text()));
+        }
+        String prefix = PERSIST_MODULE;
+        for (int i = 1; prefixes.contains(prefix); i++) {
+            prefix = PERSIST_MODULE + i;
+        }
+        return prefix;
+    }
+
+    // Returns `null` if the persist models cannot be read, in which case the queries are not modified
+    private static Set<String> getMappedFields(Path persistDirectory) {
+        Set<String> mappedFields = new HashSet<>();
+        if (!Files.isDirectory(persistDirectory)) {
+            return mappedFields;
+        }
+        List<Path> modelFiles;
+        try (Stream<Path> files = Files.walk(persistDirectory, 2)) {
+            modelFiles = files.filter(file -> file.toString().endsWith(".bal")).toList();
+        } catch (IOException e) {
+            return null;
+        }
+        for (Path modelFile : modelFiles) {
+            ModulePartNode model;
+            try {
+                model = SyntaxTree.from(TextDocuments.from(Files.readString(modelFile))).rootNode();
+            } catch (IOException e) {
+                return null;
+            }
+            for (ModuleMemberDeclarationNode member : model.members()) {
+                if (member.kind() != SyntaxKind.TYPE_DEFINITION ||
+                        ((TypeDefinitionNode) member).typeDescriptor().kind() != SyntaxKind.RECORD_TYPE_DESC) {
+                    continue;
+                }
+                for (Node field : ((RecordTypeDescriptorNode) ((TypeDefinitionNode) member).typeDescriptor())
+                        .fields()) {
+                    if (field.kind() == SyntaxKind.RECORD_FIELD && hasNameMapping((RecordFieldNode) field)) {
+                        mappedFields.add(stripEscapeCharacter(((RecordFieldNode) field).fieldName().text()));
+                    }
+                }
+            }
+        }
+        return mappedFields;
+    }
+
+    private static boolean hasNameMapping(RecordFieldNode field) {
+        if (field.metadata().isEmpty()) {
+            return false;
+        }
+        for (AnnotationNode annotation : field.metadata().get().annotations()) {
+            if (annotation.annotReference().toSourceCode().strip().equals(SQL_NAME_MAPPING_ANNOTATION_NAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The prefix of the `ballerina/persist` module in a document.
+     *
+     * @param prefix the prefix
+     * @param edit   the edit importing the module with the prefix, or `null` if the module is imported with it
+     */
+    private record PersistImport(String prefix, TextEdit edit) {
+    }
+
+    // The queries are collected in the order of the source, hence the enclosing queries precede the nested queries
+    private static class QueryCollector extends NodeVisitor {
+
+        private final List<QueryExpressionNode> queries = new ArrayList<>();
+
+        @Override
+        public void visit(QueryExpressionNode queryExpressionNode) {
+            queries.add(queryExpressionNode);
+            visitSyntaxNode(queryExpressionNode);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.compiler.modifier;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The reserved words of the SQL standard and of the databases supported by the persist SQL clients, which are MySQL,
+ * PostgreSQL, SQL Server and H2. The columns named by reserved words are not translated, as they must be quoted, and
+ * the quotes differ between the databases.
+ *
+ * @since 1.7.1
+ */
+final class SqlReservedWords {
+
+    private static final Set<String> WORDS = Set.of((
+            "_rowid abs absolute access accessible acos action add admin after aggregate alias all allocate alter " +
+            "analyse analyze and any are array array_agg array_max_cardinality as asc asensitive asin assertion " +
+            "asymmetric at atan atomic authorization avg backup before begin begin_frame begin_partition between " +
+            "bigint binary bit bit_length blob boolean both breadth break browse bulk by call called cardinality " +
+            "cascade cascaded case cast catalog ceil ceiling change char char_length character character_length " +
+            "check checkpoint class classifier clob close clustered coalesce collate collation collect column " +
+            "columns commit completion compute condition connect connection constraint constraints constructor " +
+            "contains containstable continue convert copy corr corresponding cos cosh count covar_pop covar_samp " +
+            "create cross cube cume_dist current current_catalog current_date current_default_transform_group " +
+            "current_path current_role current_row current_schema current_time current_timestamp " +
+            "current_transform_group_for_type current_user cursor cycle data database databases date day day_hour " +
+            "day_microsecond day_minute day_second dbcc deallocate dec decfloat decimal declare default deferrable " +
+            "deferred define delayed delete dense_rank deny depth deref desc describe descriptor destroy destructor " +
+            "deterministic diagnostics dictionary disconnect disk distinct distinctrow distributed div do domain " +
+            "double drop dual dump dynamic each element else elseif empty enclosed end end_frame end_partition " +
+            "equals errlvl escape escaped every except exception exec execute exists exit exp explain external " +
+            "extract false fetch file fillfactor filter first first_value float float4 float8 floor for force " +
+            "foreign found frame_row free freetext freetexttable freeze from full fulltext function fusion general " +
+            "generated get glob global go goto grant group grouping groups handler having hold holdlock host hour " +
+            "hour_microsecond hour_minute hour_second identity identity_insert identitycol if ignore ilike immediate " +
+            "in index indicator infile initial initialize initially inner inout input insensitive insert int int1 " +
+            "int2 int3 int4 int8 integer intersect intersection intersects interval into is isnull isolation iterate " +
+            "join json_array json_arrayagg json_exists json_object json_objectagg json_query json_table " +
+            "json_table_primitive json_value key keys kill lag language large last last_value lateral lead leading " +
+            "leave left less level like like_regex limit linear lineno lines listagg ln load local localtime " +
+            "localtimestamp locator lock log log10 long longblob longtext loop low_priority lower map master_bind " +
+            "master_ssl_verify_server_cert match match_number match_recognize matches max maxvalue measures " +
+            "mediumblob mediumint mediumtext member merge method middleint min minus minute minute_microsecond " +
+            "minute_second mod modifies modify module month multiset names national natural nchar nclob new next no " +
+            "no_write_to_binlog nocheck nonclustered none normalize not notnull nth_value ntile null nullif numeric " +
+            "object occurrences_regex octet_length of off offset offsets old omit on one only open opendatasource " +
+            "openquery openrowset openxml operation optimize optimizer_costs option optionally or order ordinality " +
+            "out outer outfile output over overlaps overlay pad parameter parameters partial partition pattern per " +
+            "percent percent_rank percentile_cont percentile_disc period pivot placing plan portion position " +
+            "position_regex postfix power precedes preceding precision prefix preorder prepare preserve primary " +
+            "print prior privileges proc procedure ptf public purge qualify raiserror range rank read reads readtext " +
+            "real reconfigure recursive ref references referencing regexp regr_avgx regr_avgy regr_count " +
+            "regr_intercept regr_r2 regr_slope regr_sxx regr_sxy regr_syy relative release rename repeat replace " +
+            "replication require resignal restore restrict result return returning returns revert revoke right rlike " +
+            "role rollback rollup routine row row_number rowcount rowguidcol rownum rows rule running save savepoint " +
+            "schema schemas scope scroll search second second_microsecond section securityaudit seek select " +
+            "semantickeyphrasetable semanticsimilaritydetailstable semanticsimilaritytable sensitive separator " +
+            "sequence session session_user set sets setuser show shutdown signal similar sin sinh size skip smallint " +
+            "some space spatial specific specifictype sql sql_big_result sql_calc_found_rows sql_small_result " +
+            "sqlcode sqlerror sqlexception sqlstate sqlwarning sqrt ssl start starting state statement static " +
+            "statistics stddev_pop stddev_samp stored straight_join structure submultiset subset substring " +
+            "substring_regex succeeds sum symmetric system system_time system_user table tablesample tan tanh " +
+            "temporary terminate terminated textsize than then time timestamp timezone_hour timezone_minute tinyblob " +
+            "tinyint tinytext to top trailing tran transaction translate translate_regex translation treat trigger " +
+            "trim trim_array true truncate try_convert tsequal uescape under undo union unique unknown unlock unnest " +
+            "unpivot unsigned until update updatetext upper usage use user using utc_date utc_time utc_timestamp " +
+            "value value_of values var_pop var_samp varbinary varchar varcharacter variable variadic varying verbose " +
+            "versioning view virtual waitfor when whenever where while width_bucket window with within without work " +
+            "write writetext xor year year_month zerofill zone").split(" "));
+
+    private SqlReservedWords() {
+    }
+
+    static boolean isReserved(String name) {
+        return WORDS.contains(name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.persist.compiler.modifier;
+
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.api.symbols.IntersectionTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeReferenceTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
+import io.ballerina.compiler.syntax.tree.BinaryExpressionNode;
+import io.ballerina.compiler.syntax.tree.BracedExpressionNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.FieldAccessExpressionNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.OrderKeyNode;
+import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.UnaryExpressionNode;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static io.ballerina.stdlib.persist.compiler.utils.Utils.stripEscapeCharacter;
+
+/**
+ * Translates the conditions and the order keys of a query over a persist stream into the SQL fragments of the
+ * `whereClause` and `orderByClause` parameters of the generated SQL clients. Only the comparisons of the numeric and
+ * boolean fields of the entity are translated, as the comparisons of strings depend on the collation of the database.
+ * The values compared with the fields are passed as parameters of the query, and the translation keeps the semantics
+ * of `()` in Ballerina, where a comparison with `()` is `false` rather than unknown. The columns are not quoted, as the
+ * quotes differ between the databases, hence only the fields named in lower case by words which are not reserved in
+ * SQL are translated.
+ *
+ * @since 1.7.1
+ */
+class SqlTranslator {
+
+    // The names of other cases are folded to upper case or to lower case by some of the databases unless quoted
+    private static final Pattern COLUMN_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final Map<SyntaxKind, String> SQL_OPERATORS = Map.of(
+            SyntaxKind.DOUBLE_EQUAL_TOKEN, "=",
+            SyntaxKind.NOT_EQUAL_TOKEN, "<>",
+            SyntaxKind.LT_TOKEN, "<",
+            SyntaxKind.LT_EQUAL_TOKEN, "<=",
+            SyntaxKind.GT_TOKEN, ">",
+            SyntaxKind.GT_EQUAL_TOKEN, ">=");
+    private static final Map<SyntaxKind, SyntaxKind> FLIPPED_OPERATORS = Map.of(
+            SyntaxKind.DOUBLE_EQUAL_TOKEN, SyntaxKind.DOUBLE_EQUAL_TOKEN,
+            SyntaxKind.NOT_EQUAL_TOKEN, SyntaxKind.NOT_EQUAL_TOKEN,
+            SyntaxKind.LT_TOKEN, SyntaxKind.GT_TOKEN,
+            SyntaxKind.LT_EQUAL_TOKEN, SyntaxKind.GT_EQUAL_TOKEN,
+            SyntaxKind.GT_TOKEN, SyntaxKind.LT_TOKEN,
+            SyntaxKind.GT_EQUAL_TOKEN, SyntaxKind.LT_EQUAL_TOKEN);
+
+    private final SemanticModel semanticModel;
+    private final String source;
+    private final String variableName;
+    private final Set<String> mappedFields;
+
+    /**
+     * Creates a translator for a query.
+     *
+     * @param semanticModel the semantic model of the module of the query
+     * @param source        the source code of the document of the query
+     * @param variableName  the name of the variable bound to the records in the `from` clause
+     * @param mappedFields  the fields mapped to columns of other names, which are not translated
+     */
+    SqlTranslator(SemanticModel semanticModel, String source, String variableName, Set<String> mappedFields) {
+        this.semanticModel = semanticModel;
+        this.source = source;
+        this.variableName = variableName;
+        this.mappedFields = mappedFields;
+    }
+
+    /**
+     * Translates a condition of a `where` clause.
+     *
+     * @param expression the condition
+     * @return the SQL condition, or `null` if the condition cannot be evaluated by the database
+     */
+    String translateCondition(ExpressionNode expression) {
+        Condition condition = translate(expression);
+        return condition == null ? null : condition.sql();
+    }
+
+    /**
+     * Translates a key of an `order by` clause. Only the fields which are not nilable are translated, as the
+     * databases do not order `NULL` values as Ballerina orders `()`.
+     *
+     * @param orderKey the order key
+     * @return the SQL order key, or `null` if the records cannot be ordered by the database
+     */
+    String translateOrderKey(OrderKeyNode orderKey) {
+        String column = getColumn(orderKey.expression());
+        if (column == null) {
+            return null;
+        }
+        ValueType type = getType(orderKey.expression());
+        if (type.kind() == ValueKind.OTHER || type.nilable()) {
+            return null;
+        }
+        boolean descending = orderKey.orderDirection().isPresent() &&
+                orderKey.orderDirection().get().kind() == SyntaxKind.DESCENDING_KEYWORD;
+        return column + (descending ? " DESC" : " ASC");
+    }
+
+    /**
+     * Translates the expression of a `limit` clause.
+     *
+     * @param expression the expression of the `limit` clause
+     * @return the SQL parameter of the limit, or `null` if the expression depends on the records
+     */
+    String translateLimit(ExpressionNode expression) {
+        if (!isValue(expression)) {
+            return null;
+        }
+        ValueType type = getType(expression);
+        if (type.kind() != ValueKind.NUMERIC || type.nilable()) {
+            return null;
+        }
+        return toParameter(expression);
+    }
+
+    private Condition translate(ExpressionNode expression) {
+        switch (expression.kind()) {
+            case BRACED_EXPRESSION: {
+                Condition condition = translate(((BracedExpressionNode) expression).expression());
+                return condition == null ? null : new Condition("(" + condition.sql() + ")", condition.unknown());
+            }
+            case UNARY_EXPRESSION: {
+                UnaryExpressionNode unaryExpression = (UnaryExpressionNode) expression;
+                if (unaryExpression.unaryOperator().kind() != SyntaxKind.EXCLAMATION_MARK_TOKEN) {
+                    return null;
+                }
+                // The negation of an unknown comparison is unknown in SQL, whereas it is `true` in Ballerina
+                Condition condition = translate(unaryExpression.expression());
+                if (condition == null || condition.unknown()) {
+                    return null;
+                }
+                return new Condition("NOT " + condition.sql(), false);
+            }
+            case BINARY_EXPRESSION:
+                return translate((BinaryExpressionNode) expression);
+            default:
+                return null;
+        }
+    }
+
+    private Condition translate(BinaryExpressionNode expression) {
+        SyntaxKind operator = expression.operator().kind();
+        if (operator == SyntaxKind.LOGICAL_AND_TOKEN || operator == SyntaxKind.LOGICAL_OR_TOKEN) {
+            Condition lhs = translate(expression.lhsExpr());
+            Condition rhs = translate(expression.rhsExpr());
+            if (lhs == null || rhs == null) {
+                return null;
+            }
+            String sqlOperator = operator == SyntaxKind.LOGICAL_AND_TOKEN ? " AND " : " OR ";
+            return new Condition(lhs.sql() + sqlOperator + rhs.sql(), lhs.unknown() || rhs.unknown());
+        }
+        if (!SQL_OPERATORS.containsKey(operator)) {
+            return null;
+        }
+        String lhsColumn = getColumn(expression.lhsExpr());
+        String rhsColumn = getColumn(expression.rhsExpr());
+        if (lhsColumn != null && rhsColumn != null) {
+            return compareColumns(lhsColumn, getType(expression.lhsExpr()), operator, rhsColumn,
+                    getType(expression.rhsExpr()));
+        } else if (lhsColumn != null) {
+            return compareColumn(lhsColumn, getType(expression.lhsExpr()), operator, expression.rhsExpr());
+        } else if (rhsColumn != null) {
+            return compareColumn(rhsColumn, getType(expression.rhsExpr()), FLIPPED_OPERATORS.get(operator),
+                    expression.lhsExpr());
+        }
+        return null;
+    }
+
+    private Condition compareColumn(String column, ValueType columnType, SyntaxKind operator,
+                                     ExpressionNode value) {
+        if (!isComparable(columnType, operator)) {
+            return null;
+        }
+        if (value.kind() == SyntaxKind.NIL_LITERAL) {
+            if (operator == SyntaxKind.DOUBLE_EQUAL_TOKEN) {
+                return new Condition(column + " IS NULL", false);
+            } else if (operator == SyntaxKind.NOT_EQUAL_TOKEN) {
+                return new Condition(column + " IS NOT NULL", false);
+            }
+            return null;
+        }
+        if (!isValue(value)) {
+            return null;
+        }
+        ValueType valueType = getType(value);
+        if (valueType.kind() != columnType.kind() || valueType.nilable()) {
+            return null;
+        }
+        String comparison = column + " " + SQL_OPERATORS.get(operator) + " " + toParameter(value);
+        if (operator == SyntaxKind.NOT_EQUAL_TOKEN && columnType.nilable()) {
+            // `()` is not equal to any other value in Ballerina
+            return new Condition("(" + comparison + " OR " + column + " IS NULL)", false);
+        }
+        return new Condition(comparison, columnType.nilable());
+    }
+
+    private Condition compareColumns(String lhsColumn, ValueType lhsType, SyntaxKind operator, String rhsColumn,
+                                     ValueType rhsType) {
+        if (!isComparable(lhsType, operator) || lhsType.kind() != rhsType.kind()) {
+            return null;
+        }
+        boolean unknown = lhsType.nilable() || rhsType.nilable();
+        // `()` is equal to `()` in Ballerina, whereas the comparison of `NULL` values is unknown in SQL
+        if (unknown && (operator == SyntaxKind.DOUBLE_EQUAL_TOKEN || operator == SyntaxKind.NOT_EQUAL_TOKEN)) {
+            return null;
+        }
+        return new Condition(lhsColumn + " " + SQL_OPERATORS.get(operator) + " " + rhsColumn, unknown);
+    }
+
+    private static boolean isComparable(ValueType type, SyntaxKind operator) {
+        if (operator == SyntaxKind.DOUBLE_EQUAL_TOKEN || operator == SyntaxKind.NOT_EQUAL_TOKEN) {
+            return type.kind() == ValueKind.NUMERIC || type.kind() == ValueKind.BOOLEAN;
+        }
+        return type.kind() == ValueKind.NUMERIC;
+    }
+
+    // Returns the column of a field access on the variable of the `from` clause
+    private String getColumn(ExpressionNode expression) {
+        if (expression.kind() != SyntaxKind.FIELD_ACCESS) {
+            return null;
+        }
+        FieldAccessExpressionNode fieldAccess = (FieldAccessExpressionNode) expression;
+        if (fieldAccess.expression().kind() != SyntaxKind.SIMPLE_NAME_REFERENCE ||
+                !((SimpleNameReferenceNode) fieldAccess.expression()).name().text().equals(variableName) ||
+                fieldAccess.fieldName().kind() != SyntaxKind.SIMPLE_NAME_REFERENCE) {
+            return null;
+        }
+        String field = stripEscapeCharacter(((SimpleNameReferenceNode) fieldAccess.fieldName()).name().text());
+        if (mappedFields.contains(field) || !COLUMN_NAME.matcher(field).matches() ||
+                SqlReservedWords.isReserved(field)) {
+            return null;
+        }
+        return field;
+    }
+
+    // Values do not depend on the records, hence they are evaluated once when the query is sent to the database
+    private boolean isValue(ExpressionNode expression) {
+        if (expression.lineRange().startLine().line() != expression.lineRange().endLine().line()) {
+            return false;
+        }
+        switch (expression.kind()) {
+            case NUMERIC_LITERAL:
+            case BOOLEAN_LITERAL:
+            case QUALIFIED_NAME_REFERENCE:
+                return true;
+            case SIMPLE_NAME_REFERENCE:
+                return !((SimpleNameReferenceNode) expression).name().text().equals(variableName);
+            case FIELD_ACCESS:
+                return isValue(((FieldAccessExpressionNode) expression).expression());
+            case BRACED_EXPRESSION:
+                return isValue(((BracedExpressionNode) expression).expression());
+            case UNARY_EXPRESSION: {
+                UnaryExpressionNode unaryExpression = (UnaryExpressionNode) expression;
+                SyntaxKind operator = unaryExpression.unaryOperator().kind();
+                return (operator == SyntaxKind.MINUS_TOKEN || operator == SyntaxKind.PLUS_TOKEN) &&
+                        isValue(unaryExpression.expression());
+            }
+            default:
+                return false;
+        }
+    }
+
+    private String toParameter(ExpressionNode expression) {
+        return "${" + getSource(expression) + "}";
+    }
+
+    // The source is read without the minutiae, which may have comments
+    private String getSource(Node node) {
+        return source.substring(node.textRange().startOffset(), node.textRange().endOffset());
+    }
+
+    private ValueType getType(ExpressionNode expression) {
+        Optional<TypeSymbol> type = semanticModel.typeOf(expression);
+        return type.isEmpty() ? new ValueType(ValueKind.OTHER, false) : getType(type.get());
+    }
+
+    private static ValueType getType(TypeSymbol type) {
+        switch (type.typeKind()) {
+            case TYPE_REFERENCE:
+                return getType(((TypeReferenceTypeSymbol) type).typeDescriptor());
+            case INTERSECTION:
+                return getType(((IntersectionTypeSymbol) type).effectiveTypeDescriptor());
+            case INT:
+            case INT_SIGNED8:
+            case INT_SIGNED16:
+            case INT_SIGNED32:
+            case INT_UNSIGNED8:
+            case INT_UNSIGNED16:
+            case INT_UNSIGNED32:
+            case BYTE:
+            case FLOAT:
+            case DECIMAL:
+                return new ValueType(ValueKind.NUMERIC, false);
+            case BOOLEAN:
+                return new ValueType(ValueKind.BOOLEAN, false);
+            case NIL:
+                return new ValueType(null, true);
+            case UNION: {
+                ValueKind kind = null;
+                boolean nilable = false;
+                for (TypeSymbol memberType : ((UnionTypeSymbol) type).memberTypeDescriptors()) {
+                    ValueType member = getType(memberType);
+                    nilable |= member.nilable();
+                    if (member.kind() == null) {
+                        continue;
+                    }
+                    if (member.kind() == ValueKind.OTHER || (kind != null && kind != member.kind())) {
+                        return new ValueType(ValueKind.OTHER, nilable);
+                    }
+                    kind = member.kind();
+                }
+                return new ValueType(kind == null ? ValueKind.OTHER : kind, nilable);
+            }
+            default:
+                return new ValueType(ValueKind.OTHER, false);
+        }
+    }
+
+    private enum ValueKind {
+        NUMERIC,
+        BOOLEAN,
+        OTHER
+    }
+
+    // The kind of `()` is `null`, as it is a member of the nilable types of the other kinds
+    private record ValueType(ValueKind kind, boolean nilable) {
+    }
+
+    // A condition is unknown in SQL when it compares a `NULL` value, whereas it is `false` in Ballerina
+    private record Condition(String sql, boolean unknown) {
+    }
+}
@@ -390,4 +390,24 @@ public final class ValidatorsByDatastore {
         }
     }
 
+    public static boolean isValidIndexType(String type, boolean isArrayType, String datastore) {
+        // If the datastore is null(ex: before executing the generate command), ignore the index validation.
+        if (null == datastore) {
+            return true;
+        }
+        return switch (datastore) {
+            case Constants.Datastores.MYSQL, Constants.Datastores.MSSQL, Constants.Datastores.POSTGRESQL,
+                 Constants.Datastores.H2, Constants.Datastores.IN_MEMORY -> !isArrayType && isIndexableType(type);
+            default -> false;
+        };
+    }
+
+    private static boolean isIndexableType(String type) {
+        return switch (type) {
+            case INT, BOOLEAN, DECIMAL, FLOAT, STRING, ENUM,
+                 TIME_MODULE + ":" + DATE, TIME_MODULE + ":" + TIME_OF_DAY, TIME_MODULE + ":" + UTC,
+                 TIME_MODULE + ":" + CIVIL -> true;
+            default -> false;
+        };
+    }
 }
@@ -24,4 +24,5 @@ module io.ballerina.stdlib.persist.plugin {
     exports io.ballerina.stdlib.persist.compiler;
     exports io.ballerina.stdlib.persist.compiler.model;
     exports io.ballerina.stdlib.persist.compiler.codeaction;
+    exports io.ballerina.stdlib.persist.compiler.modifier;
 }
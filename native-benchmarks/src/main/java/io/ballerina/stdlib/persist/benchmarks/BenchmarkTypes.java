@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Record types shaped like the entities of generated persist clients, used by the benchmarks.
+ *
+ * @since 1.7.1
+ */
+public final class BenchmarkTypes {
+
+    public static final int WIDE_RECORD_FIELD_COUNT = 40;
+
+    private static final Module MODULE = new Module("benchmark", "persist_benchmark", "1.0.0");
+    private static final Module TIME_MODULE = new Module("ballerina", "time", "2.0.0");
+
+    private BenchmarkTypes() {
+    }
+
+    // record {| string id; string field1; ... int field39; |}
+    public static RecordType createWideRecordType() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        addField(fields, "id", PredefinedTypes.TYPE_STRING);
+        for (int i = 1; i < WIDE_RECORD_FIELD_COUNT; i++) {
+            addField(fields, "field" + i, i % 2 == 0 ? PredefinedTypes.TYPE_INT : PredefinedTypes.TYPE_STRING);
+        }
+        return createRecordType("WideEntity", fields);
+    }
+
+    // record {| string id; string name; Gender gender; time:Date birthDate; time:Civil hireDate;
+    //           Department department; Workspace[] workspaces; |}
+    public static RecordType createEmployeeWithRelationsType() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        addField(fields, "id", PredefinedTypes.TYPE_STRING);
+        addField(fields, "name", PredefinedTypes.TYPE_STRING);
+        addField(fields, "gender", createEnumType("MALE", "FEMALE"));
+        addField(fields, "birthDate", createTimeType("Date"));
+        addField(fields, "hireDate", createTimeType("Civil"));
+        addField(fields, "department", createDepartmentType());
+        addField(fields, "workspaces", TypeCreator.createArrayType(createWorkspaceType()));
+        return createRecordType("Employee", fields);
+    }
+
+    public static RecordType createDepartmentType() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        addField(fields, "deptNo", PredefinedTypes.TYPE_STRING);
+        addField(fields, "deptName", PredefinedTypes.TYPE_STRING);
+        return createRecordType("Department", fields);
+    }
+
+    public static RecordType createWorkspaceType() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        addField(fields, "workspaceId", PredefinedTypes.TYPE_STRING);
+        addField(fields, "workspaceType", createEnumType("SMALL", "MEDIUM", "LARGE"));
+        return createRecordType("Workspace", fields);
+    }
+
+    public static BMap<BString, Object> createWideRecord(RecordType recordType, int index) {
+        BMap<BString, Object> value = ValueCreator.createMapValue(recordType);
+        value.put(fromString("id"), fromString("id-" + index));
+        for (int i = 1; i < WIDE_RECORD_FIELD_COUNT; i++) {
+            value.put(fromString("field" + i), i % 2 == 0 ? (Object) (long) (index + i) : fromString("value-" + i));
+        }
+        return value;
+    }
+
+    public static BArray createStringArray(String... values) {
+        BString[] strings = new BString[values.length];
+        for (int i = 0; i < values.length; i++) {
+            strings[i] = fromString(values[i]);
+        }
+        return ValueCreator.createArrayValue(strings);
+    }
+
+    private static RecordType createRecordType(String name, Map<String, Field> fields) {
+        return TypeCreator.createRecordType(name, MODULE, 0, fields, null, true, 0);
+    }
+
+    private static RecordType createTimeType(String name) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        addField(fields, "year", PredefinedTypes.TYPE_INT);
+        addField(fields, "month", PredefinedTypes.TYPE_INT);
+        addField(fields, "day", PredefinedTypes.TYPE_INT);
+        return TypeCreator.createRecordType(name, TIME_MODULE, 0, fields, null, true, 0);
+    }
+
+    private static Type createEnumType(String... members) {
+        List<Type> memberTypes = new ArrayList<>();
+        for (String member : members) {
+            memberTypes.add(TypeCreator.createFiniteType(member, Set.<Object>of(fromString(member)), 0));
+        }
+        return TypeCreator.createUnionType(memberTypes);
+    }
+
+    private static void addField(Map<String, Field> fields, String name, Type type) {
+        fields.put(name, TypeCreator.createField(type, name, SymbolFlags.REQUIRED));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import com.sun.management.ThreadMXBean;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.persist.Utils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Benchmarks of converting the `record {}[]` passed to `post` resources into a typed array. The bytes allocated on
+ * the heap by each conversion are reported as the `allocatedBytesPerConversion` counter of the results, which is
+ * close to zero for the arrays of the requested type, as they are returned without copying the elements.
+ *
+ * @since 1.7.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ConvertToArrayBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int arraySize;
+
+    private BTypedesc departmentTypedesc;
+    private BArray untypedRecords;
+    private BArray typedRecords;
+
+    @Setup
+    public void setup() {
+        RecordType departmentType = BenchmarkTypes.createDepartmentType();
+        departmentTypedesc = ValueCreator.createTypedescValue(departmentType);
+
+        Object[] records = new Object[arraySize];
+        for (int i = 0; i < arraySize; i++) {
+            BMap<BString, Object> department = ValueCreator.createMapValue(departmentType);
+            department.put(fromString("deptNo"), fromString("dept-" + i));
+            department.put(fromString("deptName"), fromString("Department " + i));
+            records[i] = department;
+        }
+        untypedRecords = ValueCreator.createArrayValue(records.clone(),
+                TypeCreator.createArrayType(PredefinedTypes.TYPE_MAP));
+        typedRecords = ValueCreator.createArrayValue(records.clone(), TypeCreator.createArrayType(departmentType));
+    }
+
+    @Benchmark
+    public BArray convertUntypedArray(Allocation allocation) {
+        long allocatedBefore = Allocation.getAllocatedBytes();
+        BArray converted = Utils.convertToArray(departmentTypedesc, untypedRecords);
+        allocation.record(allocatedBefore);
+        return converted;
+    }
+
+    @Benchmark
+    public BArray convertTypedArray(Allocation allocation) {
+        long allocatedBefore = Allocation.getAllocatedBytes();
+        BArray converted = Utils.convertToArray(departmentTypedesc, typedRecords);
+        allocation.record(allocatedBefore);
+        return converted;
+    }
+
+    /**
+     * The average number of bytes allocated by the benchmarking thread for each conversion of an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Allocation {
+
+        private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        public long allocatedBytesPerConversion;
+        private long allocatedBytes;
+        private long conversions;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            allocatedBytesPerConversion = 0;
+            allocatedBytes = 0;
+            conversions = 0;
+        }
+
+        static long getAllocatedBytes() {
+            return THREADS.getCurrentThreadAllocatedBytes();
+        }
+
+        void record(long allocatedBefore) {
+            allocatedBytes += getAllocatedBytes() - allocatedBefore;
+            conversions++;
+            allocatedBytesPerConversion = allocatedBytes / conversions;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.stdlib.persist.ErrorGenerator;
+import io.ballerina.stdlib.persist.ModuleUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Benchmarks of wrapping the errors of the datastores into persist errors, as done by the clients for every failed
+ * operation. A persist error is created from the type registered by the compiled `ballerina/persist` module, hence
+ * the jar of the module has to be on the classpath, which is done with `-PpersistModuleJar=<path>`.
+ *
+ * @since 1.7.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorGeneratorBenchmark {
+
+    // Loading the class of the module initialization registers the types of the module with the runtime
+    private static final String MODULE_INIT_CLASS = "ballerina.persist.1.$_init";
+
+    private BError datastoreError;
+
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        Class.forName(MODULE_INIT_CLASS);
+        ModuleUtils.setModule(new Module("ballerina", "persist", "1"));
+        BError cause = ErrorCreator.createError(fromString("Duplicate entry 'emp-1' for key 'PRIMARY'"));
+        datastoreError = ErrorCreator.createError(fromString("Error while executing the SQL query"), cause);
+    }
+
+    @Benchmark
+    public BError wrapError() {
+        return ErrorGenerator.wrapError(datastoreError);
+    }
+
+    @Benchmark
+    public BError getBasicPersistError() {
+        return ErrorGenerator.getBasicPersistError("Error while executing the SQL query");
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.KeyExtractor;
+import io.ballerina.stdlib.persist.Utils;
+import io.ballerina.stdlib.persist.inmemory.HashJoin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Benchmarks of loading a one-to-many relation of an entity in the in-memory datastore through a hash join, against
+ * the nested loops used without it. Each parent has `childrenPerParent` related records.
+ *
+ * @since 1.7.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class HashJoinBenchmark {
+
+    private static final BString DEPT_NO = fromString("deptNo");
+    private static final BString DEPARTMENT_DEPT_NO = fromString("departmentDeptNo");
+    private static final BString EMPLOYEES = fromString("employees");
+
+    @Param({"1000", "50000"})
+    public int parentCount;
+
+    @Param({"5"})
+    public int childrenPerParent;
+
+    private List<BMap<BString, Object>> departments;
+    private List<BMap<BString, Object>> employees;
+    private KeyExtractor foreignKeyExtractor;
+    private KeyExtractor referenceKeyExtractor;
+
+    @Setup
+    public void setup() {
+        departments = new ArrayList<>(parentCount);
+        employees = new ArrayList<>(parentCount * childrenPerParent);
+        for (int i = 0; i < parentCount; i++) {
+            BMap<BString, Object> department = ValueCreator.createMapValue();
+            department.put(DEPT_NO, fromString("dept-" + i));
+            department.put(fromString("deptName"), fromString("Department " + i));
+            departments.add(department);
+        }
+        for (int i = 0; i < parentCount * childrenPerParent; i++) {
+            BMap<BString, Object> employee = ValueCreator.createMapValue();
+            employee.put(fromString("id"), fromString("emp-" + i));
+            employee.put(DEPARTMENT_DEPT_NO, fromString("dept-" + (i % parentCount)));
+            employees.add(employee);
+        }
+        foreignKeyExtractor = Utils.getKeyExtractor(BenchmarkTypes.createStringArray("departmentDeptNo"));
+        referenceKeyExtractor = Utils.getKeyExtractor(BenchmarkTypes.createStringArray("deptNo"));
+    }
+
+    @Benchmark
+    public List<BMap<BString, Object>> hashJoin() {
+        HashJoin join = HashJoin.build(employees, foreignKeyExtractor, referenceKeyExtractor, new BString[0]);
+        List<BMap<BString, Object>> joined = new ArrayList<>(departments.size());
+        for (BMap<BString, Object> department : departments) {
+            joined.add(join.join(department, EMPLOYEES, true));
+        }
+        return joined;
+    }
+
+    // The baseline, which scans the related records for each parent
+    @Benchmark
+    public int nestedLoops() {
+        int matches = 0;
+        for (BMap<BString, Object> department : departments) {
+            Object deptNo = department.get(DEPT_NO);
+            for (BMap<BString, Object> employee : employees) {
+                if (deptNo.equals(employee.get(DEPARTMENT_DEPT_NO))) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+}
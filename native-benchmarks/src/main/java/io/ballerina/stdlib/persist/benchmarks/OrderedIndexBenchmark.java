@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.Utils;
+import io.ballerina.stdlib.persist.inmemory.InMemoryTable;
+import io.ballerina.stdlib.persist.inmemory.OrderedIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Benchmarks of the top-10 reads of an in-memory table, i.e. `order by salary limit 10`, through an ordered index
+ * against sorting the whole table.
+ *
+ * @since 1.7.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class OrderedIndexBenchmark {
+
+    private static final BString SALARY = fromString("salary");
+    private static final int TOP_K = 10;
+
+    @Param({"1000000"})
+    public int rowCount;
+
+    private InMemoryTable table;
+    private OrderedIndex salaryIndex;
+    private Object[] rangeLowerBound;
+    private Object[] rangeUpperBound;
+
+    @Setup
+    public void setup() {
+        table = new InMemoryTable(Utils.getKeyExtractor(BenchmarkTypes.createStringArray("id")),
+                Map.of("salaryIdx", new String[]{"salary"}));
+        Random random = new Random(42);
+        for (int i = 0; i < rowCount; i++) {
+            BMap<BString, Object> employee = ValueCreator.createMapValue();
+            employee.put(fromString("id"), fromString("emp-" + i));
+            employee.put(fromString("name"), fromString("Employee " + i));
+            employee.put(SALARY, (long) random.nextInt(1_000_000));
+            table.insert(employee);
+        }
+        salaryIndex = table.getOrderedIndex("salaryIdx");
+        rangeLowerBound = new Object[]{500_000L};
+        rangeUpperBound = new Object[]{600_000L};
+    }
+
+    @Benchmark
+    public List<BMap<BString, Object>> topTenAscending() {
+        return salaryIndex.scan(null, null, false, TOP_K);
+    }
+
+    @Benchmark
+    public List<BMap<BString, Object>> topTenDescending() {
+        return salaryIndex.scan(null, null, true, TOP_K);
+    }
+
+    @Benchmark
+    public List<BMap<BString, Object>> topTenInRange() {
+        return salaryIndex.scan(rangeLowerBound, rangeUpperBound, false, TOP_K);
+    }
+
+    // The baseline, which is how the records are read without an index
+    @Benchmark
+    public List<BMap<BString, Object>> topTenBySorting() {
+        return table.values().stream()
+                .sorted(Comparator.comparingLong(employee -> (Long) employee.get(SALARY)))
+                .limit(TOP_K)
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.RecordProjector;
+import io.ballerina.stdlib.persist.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Benchmarks of projecting the rows of a large stream into the target type of a query, as done by `filterRecord`
+ * for every row retrieved by the datastore clients, against copying each field into a map created per row.
+ *
+ * @since 1.7.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    @Param({"100000"})
+    public int rowCount;
+
+    // The number of the fields of the wide entity which are selected by the target type
+    @Param({"10", "40"})
+    public int projectedFieldCount;
+
+    private BMap<BString, Object>[] rows;
+    private BArray fields;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        RecordType wideType = BenchmarkTypes.createWideRecordType();
+        rows = new BMap[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = BenchmarkTypes.createWideRecord(wideType, i);
+        }
+
+        String[] fieldNames = new String[projectedFieldCount];
+        fieldNames[0] = "id";
+        for (int i = 1; i < projectedFieldCount; i++) {
+            fieldNames[i] = "field" + i;
+        }
+        fields = BenchmarkTypes.createStringArray(fieldNames);
+    }
+
+    @Benchmark
+    public void filterRecord(Blackhole blackhole) {
+        for (BMap<BString, Object> row : rows) {
+            blackhole.consume(Utils.filterRecord(row, fields));
+        }
+    }
+
+    // Mirrors the earlier projection in Ballerina, which created the key of each field from its name for every row
+    @Benchmark
+    public void copyFieldsPerRow(Blackhole blackhole) {
+        for (BMap<BString, Object> row : rows) {
+            BMap<BString, Object> projected = ValueCreator.createMapValue(RecordProjector.OPEN_RECORD_TYPE);
+            for (int i = 0; i < fields.size(); i++) {
+                BString field = fromString(fields.getBString(i).getValue());
+                projected.put(field, row.get(field));
+            }
+            blackhole.consume(projected);
+        }
+    }
+}
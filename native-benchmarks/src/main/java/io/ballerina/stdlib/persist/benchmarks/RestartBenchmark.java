@@ -0,0 +1,150 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.KeyExtractor;
+import io.ballerina.stdlib.persist.Utils;
+import io.ballerina.stdlib.persist.inmemory.InMemoryTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Benchmarks of restarting an in-memory table of 5M records from its snapshot and the tail of its write-ahead log,
+ * against reloading the records from their source. The source is simulated by creating the records in process, hence
+ * the reload does not include the time to fetch the records from an upstream datastore.
+ *
+ * @since 1.7.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g"})
+public class RestartBenchmark {
+
+    private static final int WRITER_THREADS = 64;
+
+    @Param({"5000000"})
+    public int rowCount;
+
+    // The share of the records which are written after the latest snapshot
+    @Param({"0.1"})
+    public double logTailRatio;
+
+    private Path directory;
+    private KeyExtractor keyExtractor;
+
+    @Setup
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("persist-restart-benchmark");
+        keyExtractor = Utils.getKeyExtractor(BenchmarkTypes.createStringArray("id"));
+        InMemoryTable table = new InMemoryTable(keyExtractor);
+        int snapshotRows = (int) (rowCount * (1 - logTailRatio));
+        for (int i = 0; i < snapshotRows; i++) {
+            table.insert(createEmployee(i));
+        }
+        // Writes the snapshot of the records inserted so far
+        table.enableDurability(directory, Duration.ZERO);
+
+        // The log tail is written by concurrent writers, which are committed in groups
+        ExecutorService executor = Executors.newFixedThreadPool(WRITER_THREADS);
+        try {
+            Future<?>[] writers = new Future<?>[WRITER_THREADS];
+            for (int thread = 0; thread < WRITER_THREADS; thread++) {
+                int first = snapshotRows + thread;
+                writers[thread] = executor.submit(() -> {
+                    for (int i = first; i < rowCount; i += WRITER_THREADS) {
+                        table.insert(createEmployee(i));
+                    }
+                });
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        table.close();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public InMemoryTable restartFromSnapshotAndLog() throws IOException {
+        InMemoryTable table = new InMemoryTable(keyExtractor);
+        table.enableDurability(directory, Duration.ZERO);
+        table.close();
+        return table;
+    }
+
+    // The baseline, which is how the records are restored without durability
+    @Benchmark
+    public InMemoryTable reloadFromSource() {
+        InMemoryTable table = new InMemoryTable(keyExtractor);
+        for (int i = 0; i < rowCount; i++) {
+            table.insert(createEmployee(i));
+        }
+        return table;
+    }
+
+    private static BMap<BString, Object> createEmployee(int id) {
+        BMap<BString, Object> employee = ValueCreator.createMapValue();
+        employee.put(fromString("id"), fromString("emp-" + id));
+        employee.put(fromString("name"), fromString("Employee " + id));
+        employee.put(fromString("department"), fromString("Department " + id % 100));
+        employee.put(fromString("salary"), (long) (id % 1_000_000));
+        employee.put(fromString("active"), id % 2 == 0);
+        employee.freezeDirect();
+        return employee;
+    }
+}
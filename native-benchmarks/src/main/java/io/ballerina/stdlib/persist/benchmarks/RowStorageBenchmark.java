@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.CompositeKey;
+import io.ballerina.stdlib.persist.KeyExtractor;
+import io.ballerina.stdlib.persist.Utils;
+import io.ballerina.stdlib.persist.inmemory.InMemoryTable;
+import io.ballerina.stdlib.persist.inmemory.StorageMode;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Benchmarks of the storage modes of an in-memory table of 1M records. The `fullGc` benchmark measures the pause of
+ * a full collection while the table is reachable, and reports the footprint of the table on and off the heap, and the
+ * collections while it is populated, as the counters of its results. The reads measure the cost of decoding the
+ * records stored outside the heap.
+ *
+ * @since 1.7.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class RowStorageBenchmark {
+
+    private static final BString[] PROJECTED_FIELDS = {fromString("name"), fromString("salary")};
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public StorageMode storageMode;
+
+    @Param({"1000000"})
+    public int rowCount;
+
+    private InMemoryTable table;
+    private KeyExtractor keyExtractor;
+    private CompositeKey[] keys;
+    private int nextKey;
+    private long tableHeapBytes;
+    private long collectionsWhilePopulating;
+    private long collectionMillisWhilePopulating;
+
+    @Setup
+    public void setup() {
+        long heapBeforeTable = getUsedHeapAfterGc();
+        keyExtractor = Utils.getKeyExtractor(BenchmarkTypes.createStringArray("id"));
+        table = new InMemoryTable(keyExtractor, Collections.emptyMap(), storageMode);
+        keys = new CompositeKey[1024];
+        Random random = new Random(42);
+        for (int i = 0; i < rowCount; i++) {
+            BMap<BString, Object> employee = ValueCreator.createMapValue();
+            employee.put(fromString("id"), fromString("emp-" + i));
+            employee.put(fromString("name"), fromString("Employee " + i));
+            employee.put(fromString("department"), fromString("Department " + random.nextInt(100)));
+            employee.put(fromString("salary"), (long) random.nextInt(1_000_000));
+            employee.put(fromString("active"), random.nextBoolean());
+            employee.freezeDirect();
+            table.insert(employee);
+            if (i < keys.length) {
+                keys[i] = keyExtractor.fromRecord(employee);
+            }
+        }
+
+        tableHeapBytes = getUsedHeapAfterGc() - heapBeforeTable;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectionsWhilePopulating += collector.getCollectionCount();
+            collectionMillisWhilePopulating += collector.getCollectionTime();
+        }
+    }
+
+    // The pause of a full collection grows with the number of objects reachable from the table
+    @Benchmark
+    public void fullGc(Footprint footprint) {
+        System.gc();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public BMap<BString, Object> getByKey() {
+        return table.getByKey(keys[nextKey++ & (keys.length - 1)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public BMap<BString, Object> getProjectedFields() {
+        return table.getByKey(keys[nextKey++ & (keys.length - 1)], PROJECTED_FIELDS);
+    }
+
+    /**
+     * The footprint of the populated table, and the collections while it is populated.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long tableHeapBytes;
+        public long offHeapBytes;
+        public long collectionsWhilePopulating;
+        public long collectionMillisWhilePopulating;
+
+        @Setup(Level.Iteration)
+        public void record(RowStorageBenchmark benchmark) {
+            tableHeapBytes = benchmark.tableHeapBytes;
+            offHeapBytes = benchmark.table.getOffHeapBytes();
+            collectionsWhilePopulating = benchmark.collectionsWhilePopulating;
+            collectionMillisWhilePopulating = benchmark.collectionMillisWhilePopulating;
+        }
+    }
+
+    private static long getUsedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
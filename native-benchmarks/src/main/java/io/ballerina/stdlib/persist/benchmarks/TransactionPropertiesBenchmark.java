@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import com.sun.management.ThreadMXBean;
+import io.ballerina.runtime.transactions.TransactionLocalContext;
+import io.ballerina.stdlib.persist.Constants;
+import io.ballerina.stdlib.persist.Utils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the transaction context properties requested by every write of a write-heavy transaction, against
+ * the default sized map created for every write before. Each write gets its own map, as the runtime may add the
+ * properties of the strand to it. The current transaction context is resolved by the runtime only within a strand,
+ * hence the benchmarks pass the context directly. The bytes allocated for each transaction are reported as the
+ * `allocatedBytesPerTransaction` counter of the results.
+ *
+ * @since 1.7.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionPropertiesBenchmark {
+
+    @Param({"500"})
+    public int writesPerTransaction;
+
+    private TransactionLocalContext trxContext;
+
+    @Setup
+    public void setup() {
+        trxContext = TransactionLocalContext.create("persist-benchmark", null, null);
+        trxContext.beginTransactionBlock("persist-benchmark-block");
+    }
+
+    @Benchmark
+    public void propertiesPerWrite(Blackhole blackhole, Allocation allocation) {
+        long allocatedBefore = Allocation.getAllocatedBytes();
+        for (int i = 0; i < writesPerTransaction; i++) {
+            blackhole.consume(Utils.getTransactionContextProperties(trxContext));
+        }
+        allocation.record(allocatedBefore);
+    }
+
+    @Benchmark
+    public void defaultSizedPropertiesPerWrite(Blackhole blackhole, Allocation allocation) {
+        long allocatedBefore = Allocation.getAllocatedBytes();
+        for (int i = 0; i < writesPerTransaction; i++) {
+            Map<String, Object> properties = null;
+            if (trxContext.hasTransactionBlock()) {
+                properties = new HashMap<>();
+                properties.put(Constants.CURRENT_TRANSACTION_CONTEXT, trxContext);
+            }
+            blackhole.consume(properties);
+        }
+        allocation.record(allocatedBefore);
+    }
+
+    /**
+     * The average number of bytes allocated by the benchmarking thread for each transaction of an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Allocation {
+
+        private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        public long allocatedBytesPerTransaction;
+        private long allocatedBytes;
+        private long transactions;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            allocatedBytesPerTransaction = 0;
+            allocatedBytes = 0;
+            transactions = 0;
+        }
+
+        static long getAllocatedBytes() {
+            return THREADS.getCurrentThreadAllocatedBytes();
+        }
+
+        void record(long allocatedBefore) {
+            allocatedBytes += getAllocatedBytes() - allocatedBefore;
+            transactions++;
+            allocatedBytesPerTransaction = allocatedBytes / transactions;
+        }
+    }
+}
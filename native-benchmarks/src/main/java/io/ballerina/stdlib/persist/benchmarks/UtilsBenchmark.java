@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.benchmarks;
+
+import io.ballerina.runtime.api.types.Parameter;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.CompositeKey;
+import io.ballerina.stdlib.persist.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Benchmarks of the utility methods invoked by the datastore clients on every operation.
+ *
+ * @since 1.7.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UtilsBenchmark {
+
+    private RecordType wideType;
+    private RecordType employeeType;
+    private BArray singleKeyFields;
+    private BArray compositeKeyFields;
+    private BArray wideFields;
+    private BMap<BString, Object> wideRecord;
+    private Parameter[] singleKeyParams;
+    private Parameter[] compositeKeyParams;
+    private BArray singleKeyPath;
+    private BArray compositeKeyPath;
+
+    @Setup
+    public void setup() {
+        wideType = BenchmarkTypes.createWideRecordType();
+        employeeType = BenchmarkTypes.createEmployeeWithRelationsType();
+        singleKeyFields = BenchmarkTypes.createStringArray("id");
+        compositeKeyFields = BenchmarkTypes.createStringArray("id", "deptNo", "workspaceId");
+        wideFields = Utils.getMetadata(wideType)[0];
+        wideRecord = BenchmarkTypes.createWideRecord(wideType, 0);
+
+        singleKeyParams = new Parameter[]{new Parameter("id", false, PredefinedTypes.TYPE_STRING)};
+        compositeKeyParams = new Parameter[]{
+                new Parameter("id", false, PredefinedTypes.TYPE_STRING),
+                new Parameter("deptNo", false, PredefinedTypes.TYPE_STRING),
+                new Parameter("workspaceId", false, PredefinedTypes.TYPE_STRING)};
+        singleKeyPath = BenchmarkTypes.createStringArray("emp-1");
+        compositeKeyPath = BenchmarkTypes.createStringArray("emp-1", "dept-1", "ws-1");
+    }
+
+    @Benchmark
+    public BArray[] getMetadataWideRecord() {
+        return Utils.getMetadata(wideType);
+    }
+
+    @Benchmark
+    public BArray[] getMetadataWithRelations() {
+        return Utils.getMetadata(employeeType);
+    }
+
+    @Benchmark
+    public RecordType getRecordTypeWithKeyFields() {
+        return Utils.getRecordTypeWithKeyFields(singleKeyFields, employeeType);
+    }
+
+    @Benchmark
+    public RecordType getRecordTypeWithCompositeKeyFields() {
+        return Utils.getRecordTypeWithKeyFields(compositeKeyFields, employeeType);
+    }
+
+    @Benchmark
+    public Object getKey() {
+        return Utils.getKey(singleKeyParams, singleKeyPath);
+    }
+
+    @Benchmark
+    public Object getCompositeKey() {
+        return Utils.getKey(compositeKeyParams, compositeKeyPath);
+    }
+
+    // The key of the same path built by the key extractor of the entity, which is compiled once
+    @Benchmark
+    public CompositeKey getCompositeKeyFromPath() {
+        return Utils.getKeyExtractor(compositeKeyFields).fromPath(compositeKeyPath);
+    }
+
+    @Benchmark
+    public Map<String, Object> getTransactionContextProperties() {
+        return Utils.getTransactionContextProperties();
+    }
+
+    @Benchmark
+    public BMap<BString, Object> filterRecord() {
+        return Utils.filterRecord(wideRecord, wideFields);
+    }
+
+    @Benchmark
+    public BString getEntity() {
+        return Utils.getEntity("$get$employees$^");
+    }
+
+    @Benchmark
+    public BString getEntityBySplit() {
+        // the resolution done on every call before the entities were cached
+        return fromString("$get$employees$^".split("\\$")[2]);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Arrays;
+
+/**
+ * The value of a key made of one or more identity fields of an entity. Values are held in the field order of the
+ * {@link KeyExtractor} which created the key, and the hash code is computed once, so that the key can be used
+ * for lookups in hash based indexes without building a map for each lookup.
+ *
+ * @since 1.7.1
+ */
+public final class CompositeKey {
+
+    private final BString[] fieldNames;
+    private final Object[] values;
+    private final int hash;
+
+    CompositeKey(BString[] fieldNames, Object[] values) {
+        this.fieldNames = fieldNames;
+        this.values = values;
+        this.hash = Arrays.hashCode(values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public Object get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the key in the form used by the persist clients, which is the value itself for a single key field,
+     * and a map of the key fields otherwise.
+     *
+     * @return the key value
+     */
+    public Object toBalKey() {
+        if (values.length == 1) {
+            return values[0];
+        }
+        BMap<BString, Object> keyMap = ValueCreator.createMapValue();
+        for (int i = 0; i < values.length; i++) {
+            keyMap.put(fieldNames[i], values[i]);
+        }
+        return keyMap;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CompositeKey other)) {
+            return false;
+        }
+        return hash == other.hash && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(fieldNames[i]).append(':').append(values[i]);
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -37,8 +37,11 @@ public final class Constants {
 
     public static final String RUN_READ_QUERY_METHOD = "runReadQuery";
     public static final String RUN_READ_BY_KEY_QUERY_METHOD = "runReadByKeyQuery";
+    public static final String RUN_AGGREGATE_QUERY_METHOD = "runAggregateQuery";
+    public static final String RUN_BATCH_UPSERT_QUERY_METHOD = "runBatchUpsertQuery";
     public static final Module BALLERINA_ANNOTATIONS_MODULE = new Module("ballerina", "lang.annotations", "0.0.0");
     public static final String DEFAULT_STREAM_CONSTRAINT_NAME = "$stream$anon$constraint$";
+    public static final String PROJECTED_RECORD_TYPE_NAME = "$anonType$projection$";
     public static final String CURRENT_TRANSACTION_CONTEXT = "currentTrxContext";
 
     /**
@@ -52,5 +55,32 @@ public final class Constants {
         public static final String TIME_RECORD = "TimeOfDay";
         public static final String UTC = "Utc";
     }
+
+    /**
+     * Constants related to the `persist:Index` and `persist:UniqueIndex` annotations and the `persist:IndexMetadata`
+     * record.
+     *
+     * @since 1.7.1
+     */
+    public static final class Index {
+        public static final String INDEX_ANNOTATION = "Index";
+        public static final String UNIQUE_INDEX_ANNOTATION = "UniqueIndex";
+        public static final String FIELD_ANNOTATION_PREFIX = "$field$.";
+        public static final String DEFAULT_INDEX_NAME_PREFIX = "idx_";
+        public static final String INDEX_METADATA_TYPE = "IndexMetadata";
+        public static final BString NAMES = fromString("names");
+        public static final BString NAME = fromString("name");
+        public static final BString FIELDS = fromString("fields");
+        public static final BString UNIQUE = fromString("unique");
+    }
+
+    /**
+     * Constants related to the aggregates computed by the datastores.
+     *
+     * @since 1.7.1
+     */
+    public static final class Aggregate {
+        public static final String AGGREGATE_ITERATOR = "AggregateIterator";
+    }
     
 }
@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+import static io.ballerina.stdlib.persist.ModuleUtils.getModule;
+
+/**
+ * The secondary indexes of an entity, which are declared on the fields of its record type with `persist:Index` and
+ * `persist:UniqueIndex`. The fields annotated with the same index name form a composite index in the order they are
+ * declared, and a field annotated without index names has an index of its own named `idx_<field>`, as in the model
+ * validated by the compiler plugin.
+ *
+ * @since 1.7.1
+ */
+final class EntityIndexes {
+
+    private EntityIndexes() {
+    }
+
+    /**
+     * Reads the indexes declared on the fields of a record type.
+     *
+     * @param recordType the record type of the entity
+     * @return the immutable array of the `persist:IndexMetadata` records, in the order the first fields of the
+     * indexes are declared
+     */
+    static BArray read(RecordType recordType) {
+        Module module = getModule();
+        String annotationPrefix = module.getOrg() + "/" + module.getName() + ":" + module.getMajorVersion() + ":";
+        BString indexAnnotation = fromString(annotationPrefix + Constants.Index.INDEX_ANNOTATION);
+        BString uniqueIndexAnnotation = fromString(annotationPrefix + Constants.Index.UNIQUE_INDEX_ANNOTATION);
+        BMap<BString, Object> annotations = recordType.getAnnotations();
+        Map<String, Index> indexes = new LinkedHashMap<>();
+        for (String field : recordType.getFields().keySet()) {
+            Object fieldAnnotations = annotations == null ? null :
+                    annotations.get(fromString(Constants.Index.FIELD_ANNOTATION_PREFIX + field));
+            if (fieldAnnotations instanceof BMap<?, ?> fieldAnnotationMap) {
+                addField(indexes, field, fieldAnnotationMap.get(indexAnnotation), false);
+                addField(indexes, field, fieldAnnotationMap.get(uniqueIndexAnnotation), true);
+            }
+        }
+        return toRecords(indexes.values());
+    }
+
+    // The uniqueness of an index is that of its first field, as declaring both is reported by the compiler plugin
+    private static void addField(Map<String, Index> indexes, String field, Object annotation, boolean unique) {
+        if (annotation == null) {
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        if (annotation instanceof BMap<?, ?> config && config.get(Constants.Index.NAMES) instanceof BArray array) {
+            for (int i = 0; i < array.size(); i++) {
+                String name = array.getBString(i).getValue();
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            names.add(Constants.Index.DEFAULT_INDEX_NAME_PREFIX + field);
+        }
+        for (String name : names) {
+            Index index = indexes.computeIfAbsent(name, key -> new Index(key, unique));
+            if (!index.fields.contains(field)) {
+                index.fields.add(field);
+            }
+        }
+    }
+
+    private static BArray toRecords(Iterable<Index> indexes) {
+        List<Object> indexRecords = new ArrayList<>();
+        ArrayType indexArrayType = null;
+        for (Index index : indexes) {
+            BString[] fields = new BString[index.fields.size()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fromString(index.fields.get(i));
+            }
+            BMap<BString, Object> indexRecord = ValueCreator.createRecordValue(getModule(),
+                    Constants.Index.INDEX_METADATA_TYPE);
+            indexRecord.put(Constants.Index.NAME, fromString(index.name));
+            indexRecord.put(Constants.Index.FIELDS, ValueCreator.createArrayValue(fields));
+            indexRecord.put(Constants.Index.UNIQUE, index.unique);
+            indexRecords.add(indexRecord);
+            if (indexArrayType == null) {
+                indexArrayType = TypeCreator.createArrayType(indexRecord.getType());
+            }
+        }
+        if (indexArrayType == null) {
+            indexArrayType = TypeCreator.createArrayType(ValueCreator.createRecordValue(getModule(),
+                    Constants.Index.INDEX_METADATA_TYPE).getType());
+        }
+        BArray indexArray = ValueCreator.createArrayValue(indexRecords.toArray(), indexArrayType);
+        indexArray.freezeDirect();
+        return indexArray;
+    }
+
+    private static final class Index {
+
+        private final String name;
+        private final boolean unique;
+        private final List<String> fields = new ArrayList<>();
+
+        private Index(String name, boolean unique) {
+            this.name = name;
+            this.unique = unique;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import io.ballerina.runtime.api.values.BArray;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A cache of the values compiled from arrays of field names, which are keyed by the field names. Since the arrays
+ * passed by the generated clients are reused for every row, each array also remembers the field names it was
+ * compiled with, so that a row looks up the value without copying the array. An array which is changed after it is
+ * compiled is looked up by its new field names.
+ *
+ * @param <V> the value type
+ * @since 1.7.1
+ */
+final class FieldNamesCache<V> {
+
+    private final Map<List<String>, V> values = new ConcurrentHashMap<>();
+    private final WeakIdentityCache<BArray, Entry<V>> arrays = new WeakIdentityCache<>();
+    private final Function<List<String>, V> compiler;
+
+    FieldNamesCache(Function<List<String>, V> compiler) {
+        this.compiler = compiler;
+    }
+
+    V get(BArray fieldNames) {
+        Entry<V> entry = arrays.computeIfAbsent(fieldNames, array -> {
+            String[] names = array.getStringArray();
+            return new Entry<>(names, get(List.of(names)));
+        });
+        return entry.matches(fieldNames) ? entry.value : get(List.of(fieldNames.getStringArray()));
+    }
+
+    V get(List<String> fieldNames) {
+        return values.computeIfAbsent(fieldNames, compiler);
+    }
+
+    private static final class Entry<V> {
+        private final String[] names;
+        private final V value;
+
+        private Entry(String[] names, V value) {
+            this.names = names;
+            this.value = value;
+        }
+
+        private boolean matches(BArray fieldNames) {
+            if (fieldNames.size() != names.length) {
+                return false;
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (!names[i].equals(fieldNames.getBString(i).getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Extracts the {@link CompositeKey} of an entity from its records or from the path parameters of a resource
+ * function. An extractor is created once for the key fields of an entity through {@link Utils#getKeyExtractor}.
+ *
+ * @since 1.7.1
+ */
+public final class KeyExtractor {
+
+    private final BString[] keyFields;
+
+    KeyExtractor(String[] keyFields) {
+        this.keyFields = new BString[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            this.keyFields[i] = fromString(keyFields[i]);
+        }
+    }
+
+    public int getKeyFieldCount() {
+        return keyFields.length;
+    }
+
+    public BString getKeyField(int index) {
+        return keyFields[index];
+    }
+
+    public CompositeKey fromRecord(BMap<BString, Object> entity) {
+        Object[] values = new Object[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            values[i] = entity.get(keyFields[i]);
+        }
+        return new CompositeKey(keyFields, values);
+    }
+
+    // The path parameters of the resource functions are declared in the order of the key fields
+    public CompositeKey fromPath(BArray path) {
+        Object[] values = new Object[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            values[i] = path.get(i);
+        }
+        return new CompositeKey(keyFields, values);
+    }
+
+    public CompositeKey fromBalKey(Object key) {
+        if (keyFields.length == 1 && !(key instanceof BMap<?, ?>)) {
+            return new CompositeKey(keyFields, new Object[]{key});
+        }
+        @SuppressWarnings("unchecked")
+        BMap<BString, Object> keyMap = (BMap<BString, Object>) key;
+        return fromRecord(keyMap);
+    }
+}
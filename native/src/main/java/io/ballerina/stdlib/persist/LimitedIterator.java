@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the first rows of a cursor of a datastore. The cursor is closed as soon as the last row within the limit
+ * is read, or the cursor is exhausted, so that the datastore stops fetching the rows and releases the cursor without
+ * waiting for the stream to be closed.
+ *
+ * @param <T> the type of the rows
+ * @since 1.7.1
+ */
+public final class LimitedIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final Iterator<T> rows;
+    private final Runnable closeCursor;
+    private long remaining;
+    private boolean closed = false;
+
+    /**
+     * Creates an iterator over the first rows of a cursor.
+     *
+     * @param rows        the rows of the cursor
+     * @param limit       the maximum number of rows to read, or a negative value to read all the rows
+     * @param closeCursor closes the cursor, which is run once
+     */
+    public LimitedIterator(Iterator<T> rows, long limit, Runnable closeCursor) {
+        this.rows = rows;
+        this.remaining = limit;
+        this.closeCursor = closeCursor;
+        if (limit == 0) {
+            close();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (!rows.hasNext()) {
+            close();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T row = rows.next();
+        if (remaining > 0 && --remaining == 0) {
+            close();
+        }
+        return row;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            closeCursor.run();
+        }
+    }
+}
@@ -37,6 +37,15 @@ public class ModuleUtils {
         sqlModule = env.getCurrentModule();
     }
 
+    /**
+     * Sets the module outside a Ballerina program, such as in the benchmarks, once the compiled module is loaded.
+     *
+     * @param module the `ballerina/persist` module
+     */
+    public static void setModule(Module module) {
+        sqlModule = module;
+    }
+
     public static Module getModule() {
         return sqlModule;
     }
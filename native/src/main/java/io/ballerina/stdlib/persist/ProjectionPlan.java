@@ -0,0 +1,149 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * The compiled form of the dotted field names (ex: `owner.name`, `employees[].id`) returned by
+ * {@link Utils#getMetadata}. Fields are grouped by relation in the order of the target type so that the
+ * projection can be applied to each row without parsing the field names again.
+ *
+ * @since 1.7.1
+ */
+public final class ProjectionPlan {
+
+    private static final String MANY_RELATION_SEPARATOR = "[].";
+    private static final char RELATION_SEPARATOR = '.';
+
+    private final Slot[] slots;
+
+    private ProjectionPlan(Slot[] slots) {
+        this.slots = slots;
+    }
+
+    public static ProjectionPlan compile(BArray fieldNames) {
+        return compile(Arrays.asList(fieldNames.getStringArray()));
+    }
+
+    public static ProjectionPlan compile(List<String> fieldNames) {
+        Map<String, List<BString>> relationFields = new LinkedHashMap<>();
+        Map<String, Boolean> manyRelations = new LinkedHashMap<>();
+        List<String> order = new ArrayList<>();
+
+        for (String fieldName : fieldNames) {
+            int manyIndex = fieldName.indexOf(MANY_RELATION_SEPARATOR);
+            int oneIndex = fieldName.indexOf(RELATION_SEPARATOR);
+
+            String relation;
+            String innerField;
+            boolean many;
+            if (manyIndex >= 0) {
+                relation = fieldName.substring(0, manyIndex);
+                innerField = fieldName.substring(manyIndex + MANY_RELATION_SEPARATOR.length());
+                many = true;
+            } else if (oneIndex >= 0) {
+                relation = fieldName.substring(0, oneIndex);
+                innerField = fieldName.substring(oneIndex + 1);
+                many = false;
+            } else {
+                order.add(fieldName);
+                continue;
+            }
+
+            if (!relationFields.containsKey(relation)) {
+                relationFields.put(relation, new ArrayList<>());
+                manyRelations.put(relation, many);
+                order.add(relation);
+            }
+            relationFields.get(relation).add(fromString(innerField));
+        }
+
+        Slot[] slots = new Slot[order.size()];
+        for (int i = 0; i < slots.length; i++) {
+            String name = order.get(i);
+            List<BString> innerFields = relationFields.get(name);
+            if (innerFields == null) {
+                slots[i] = new Slot(fromString(name), false, false, new BString[0]);
+            } else {
+                slots[i] = new Slot(fromString(name), true, manyRelations.get(name),
+                        innerFields.toArray(new BString[0]));
+            }
+        }
+        return new ProjectionPlan(slots);
+    }
+
+    public Slot[] getSlots() {
+        return slots.clone();
+    }
+
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    public Slot getSlot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * A field of the target type. A relation slot carries the fields projected from the related entity.
+     */
+    public static final class Slot {
+        private final BString name;
+        private final boolean relation;
+        private final boolean many;
+        private final BString[] innerFields;
+
+        private Slot(BString name, boolean relation, boolean many, BString[] innerFields) {
+            this.name = name;
+            this.relation = relation;
+            this.many = many;
+            this.innerFields = innerFields;
+        }
+
+        public BString getName() {
+            return name;
+        }
+
+        public boolean isRelation() {
+            return relation;
+        }
+
+        public boolean isMany() {
+            return many;
+        }
+
+        public int getInnerFieldCount() {
+            return innerFields.length;
+        }
+
+        public BString getInnerField(int index) {
+            return innerFields[index];
+        }
+    }
+}
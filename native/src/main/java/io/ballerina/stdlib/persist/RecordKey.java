@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The key of a record of an entity, which can be used in hash based maps of the records of several entities. The
+ * composite keys are compared by the values of their fields, in the order of the field names.
+ *
+ * @param entity the name of the entity
+ * @param key    the key of the record, or its {@link CompositeKey} if the key is a map of the key fields
+ * @since 1.7.1
+ */
+public record RecordKey(String entity, Object key) {
+
+    /**
+     * Creates the key of a record from the key used by the persist clients.
+     *
+     * @param entity the name of the entity
+     * @param key    the key value for a single key field, or a map of the key fields otherwise
+     * @return the key of the record
+     */
+    public static RecordKey from(BString entity, Object key) {
+        if (key instanceof BMap<?, ?> keyMap) {
+            Object[] keyFields = keyMap.getKeys();
+            BString[] fieldNames = new BString[keyFields.length];
+            for (int i = 0; i < keyFields.length; i++) {
+                fieldNames[i] = (BString) keyFields[i];
+            }
+            // The fields of the key maps of a record may be in any order, hence they are ordered by name
+            Arrays.sort(fieldNames, Comparator.comparing(BString::getValue));
+            Object[] values = new Object[fieldNames.length];
+            for (int i = 0; i < fieldNames.length; i++) {
+                values[i] = keyMap.get(fieldNames[i]);
+            }
+            return new RecordKey(entity.getValue(), new CompositeKey(fieldNames, values));
+        }
+        return new RecordKey(entity.getValue(), key);
+    }
+
+    /**
+     * Returns the key in the form used by the persist clients.
+     *
+     * @return the key value
+     */
+    public Object toBalKey() {
+        return key instanceof CompositeKey compositeKey ? compositeKey.toBalKey() : key;
+    }
+}
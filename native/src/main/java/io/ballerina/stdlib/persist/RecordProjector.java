@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.TypeFlags;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BMapInitialValueEntry;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Applies a {@link ProjectionPlan} to retrieved records. The slots which are projected are resolved once, so that
+ * each row is copied into an exactly sized set of entries without inspecting the plan again.
+ *
+ * @since 1.7.1
+ */
+public final class RecordProjector {
+
+    // Equivalent of `record {}`, the type of the records returned by `persist:filterRecord`
+    public static final RecordType OPEN_RECORD_TYPE = TypeCreator.createRecordType(
+            Constants.PROJECTED_RECORD_TYPE_NAME, Constants.BALLERINA_ANNOTATIONS_MODULE, 0,
+            new HashMap<>(), PredefinedTypes.TYPE_ANYDATA, false,
+            TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE));
+
+    private final BString[] fields;
+    private final BString[] relations;
+    private final BString[][] relationFields;
+
+    RecordProjector(ProjectionPlan plan) {
+        List<BString> fieldList = new ArrayList<>();
+        List<ProjectionPlan.Slot> relationList = new ArrayList<>();
+        for (int i = 0; i < plan.getSlotCount(); i++) {
+            ProjectionPlan.Slot slot = plan.getSlot(i);
+            if (!slot.isRelation()) {
+                fieldList.add(slot.getName());
+            } else if (!slot.isMany()) {
+                // many relations are retrieved separately by the datastore clients
+                relationList.add(slot);
+            }
+        }
+
+        this.fields = fieldList.toArray(new BString[0]);
+        this.relations = new BString[relationList.size()];
+        this.relationFields = new BString[relationList.size()][];
+        for (int i = 0; i < relations.length; i++) {
+            ProjectionPlan.Slot slot = relationList.get(i);
+            relations[i] = slot.getName();
+            relationFields[i] = new BString[slot.getInnerFieldCount()];
+            for (int j = 0; j < relationFields[i].length; j++) {
+                relationFields[i][j] = slot.getInnerField(j);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public BMap<BString, Object> project(BMap<BString, Object> object) {
+        BMapInitialValueEntry[] entries = new BMapInitialValueEntry[fields.length + relations.length];
+        int size = 0;
+        for (BString field : fields) {
+            entries[size++] = ValueCreator.createKeyFieldEntry(field, object.get(field));
+        }
+        for (int i = 0; i < relations.length; i++) {
+            if (object.get(relations[i]) instanceof BMap<?, ?> related) {
+                entries[size++] = ValueCreator.createKeyFieldEntry(relations[i],
+                        copyFields((BMap<BString, Object>) related, relationFields[i]));
+            }
+        }
+
+        if (size < entries.length) {
+            BMapInitialValueEntry[] populated = new BMapInitialValueEntry[size];
+            System.arraycopy(entries, 0, populated, 0, size);
+            entries = populated;
+        }
+        return ValueCreator.createMapValue(OPEN_RECORD_TYPE, entries);
+    }
+
+    private static BMap<BString, Object> copyFields(BMap<BString, Object> object, BString[] fieldNames) {
+        BMapInitialValueEntry[] entries = new BMapInitialValueEntry[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            entries[i] = ValueCreator.createKeyFieldEntry(fieldNames[i], object.get(fieldNames[i]));
+        }
+        return ValueCreator.createMapValue(OPEN_RECORD_TYPE, entries);
+    }
+}
@@ -24,6 +24,8 @@ import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.flags.TypeFlags;
 import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MethodType;
+import io.ballerina.runtime.api.types.ObjectType;
 import io.ballerina.runtime.api.types.Parameter;
 import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.RecordType;
@@ -31,17 +33,21 @@ import io.ballerina.runtime.api.types.ReferenceType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.TypeTags;
 import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.transactions.TransactionLocalContext;
 import io.ballerina.runtime.transactions.TransactionResourceManager;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.api.utils.StringUtils.fromString;
 
@@ -54,13 +60,39 @@ public class Utils {
     private static final List<String> KNOWN_RECORD_TYPES = Arrays.asList(
             Constants.TimeTypes.CIVIL, Constants.TimeTypes.DATE_RECORD, Constants.TimeTypes.TIME_RECORD,
             Constants.TimeTypes.UTC);
+    // The current transaction context, and the properties of the strand which may be added by the runtime
+    private static final int TRANSACTION_PROPERTIES_CAPACITY = 4;
+    private static final WeakIdentityCache<RecordType, BArray[]> METADATA_CACHE = new WeakIdentityCache<>();
+    private static final WeakIdentityCache<RecordType, ProjectionPlan> PROJECTION_PLAN_CACHE =
+            new WeakIdentityCache<>();
+    private static final FieldNamesCache<ProjectionPlan> FIELDS_PROJECTION_PLAN_CACHE =
+            new FieldNamesCache<>(ProjectionPlan::compile);
+    private static final FieldNamesCache<RecordProjector> RECORD_PROJECTOR_CACHE =
+            new FieldNamesCache<>(fields -> new RecordProjector(FIELDS_PROJECTION_PLAN_CACHE.get(fields)));
+    private static final WeakIdentityCache<RecordType, Map<List<String>, RecordType>> KEY_FIELDS_TYPE_CACHE =
+            new WeakIdentityCache<>();
+    private static final WeakIdentityCache<RecordType, RecordType> ENUM_REPLACED_TYPE_CACHE =
+            new WeakIdentityCache<>();
+    private static final WeakIdentityCache<RecordType, BArray> INDEXES_CACHE = new WeakIdentityCache<>();
+    private static final Map<List<String>, KeyExtractor> KEY_EXTRACTORS = new ConcurrentHashMap<>();
+    private static final Map<String, BString> ENTITY_BY_FUNCTION_NAME = new ConcurrentHashMap<>();
 
     private Utils() {
     }
 
     public static BString getEntity(Environment env) {
-        String entity = env.getFunctionName().split("\\$")[2];
-        return fromString(entity);
+        return getEntity(env.getFunctionName());
+    }
+
+    public static BString getEntity(String functionName) {
+        return ENTITY_BY_FUNCTION_NAME.computeIfAbsent(functionName, Utils::resolveEntity);
+    }
+
+    // Resource function names are of the form `$<accessor>$<entity>[$<path>...]`
+    private static BString resolveEntity(String functionName) {
+        int start = functionName.indexOf('$', functionName.indexOf('$') + 1) + 1;
+        int end = functionName.indexOf('$', start);
+        return fromString(end < 0 ? functionName.substring(start) : functionName.substring(start, end));
     }
 
     public static BObject getPersistClient(BObject client, BString entity) {
@@ -68,7 +100,113 @@ public class Utils {
         return (BObject) persistClients.get(entity);
     }
 
+    /**
+     * Returns the metadata of a record type, which is computed once for each type. The arrays of the metadata are
+     * frozen and shared by all the callers, hence they cannot be modified. A caller which modifies the arrays should
+     * clone them first.
+     *
+     * @param recordType the record type
+     * @return the arrays of the field names, the relation fields and the typedescs of the related records
+     */
     public static BArray[] getMetadata(RecordType recordType) {
+        return METADATA_CACHE.computeIfAbsent(recordType, Utils::computeMetadata).clone();
+    }
+
+    /**
+     * Returns the secondary indexes declared on the fields of an entity with `persist:Index` and
+     * `persist:UniqueIndex`.
+     *
+     * @param entityType the record type of the entity
+     * @return the immutable array of the `persist:IndexMetadata` records
+     */
+    public static BArray getIndexes(BTypedesc entityType) {
+        RecordType recordType = (RecordType) TypeUtils.getImpliedType(entityType.getDescribingType());
+        return INDEXES_CACHE.computeIfAbsent(recordType, EntityIndexes::read);
+    }
+
+    public static ProjectionPlan getProjectionPlan(RecordType recordType) {
+        return PROJECTION_PLAN_CACHE.computeIfAbsent(recordType,
+                type -> ProjectionPlan.compile(getMetadata(type)[0]));
+    }
+
+    public static BMap<BString, Object> filterRecord(BMap<BString, Object> object, BArray fields) {
+        return RECORD_PROJECTOR_CACHE.get(fields).project(object);
+    }
+
+    /**
+     * Creates the stream of the aggregate of a stream returned by a persist client, which has the completion type of
+     * the given stream.
+     *
+     * @param rows      the stream of the records
+     * @param function  the aggregate function
+     * @param field     the aggregated field, or `null` to count the records
+     * @param valueType the type of the aggregate
+     * @return the stream of the aggregate
+     */
+    public static BStream aggregate(BStream rows, BString function, Object field, BTypedesc valueType) {
+        BObject iterator = ValueCreator.createObjectValue(ModuleUtils.getModule(),
+                Constants.Aggregate.AGGREGATE_ITERATOR, rows, function, field, valueType);
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(valueType.getDescribingType(),
+                rows.getCompletionType()), iterator);
+    }
+
+    /**
+     * Returns whether the aggregates of a stream returned by a persist client are computed by the datastore, which is
+     * when the iterator of the stream has a {@value Constants#RUN_AGGREGATE_QUERY_METHOD} method.
+     *
+     * @param rows the stream of the records
+     * @return `true` if the datastore computes the aggregates of the stream
+     */
+    public static boolean hasAggregateQuery(BStream rows) {
+        return hasMethod(rows.getIteratorObj(), Constants.RUN_AGGREGATE_QUERY_METHOD);
+    }
+
+    /**
+     * Returns whether an object has a method, such as an optional method of the persist clients implemented only by
+     * some of the datastores.
+     *
+     * @param object the object
+     * @param name   the name of the method
+     * @return `true` if the object has the method
+     */
+    public static boolean hasMethod(BObject object, String name) {
+        Type objectType = TypeUtils.getImpliedType(object.getOriginalType());
+        if (!(objectType instanceof ObjectType type)) {
+            return false;
+        }
+        for (MethodType method : type.getMethods()) {
+            if (method.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes an aggregate of a stream returned by a persist client in the datastore, by calling the
+     * {@value Constants#RUN_AGGREGATE_QUERY_METHOD} method of the iterator of the stream with the aggregate function
+     * and the aggregated field. The datastore reads only the aggregate instead of the records of the stream.
+     *
+     * @param env      the environment of the call
+     * @param rows     the stream of the records
+     * @param function the aggregate function
+     * @param field    the aggregated field, or `null` to count the records
+     * @return the aggregate, `null` if there are no values to aggregate, or an error
+     */
+    public static Object runAggregateQuery(Environment env, BStream rows, BString function, Object field) {
+        return env.yieldAndRun(() -> env.getRuntime().callMethod(rows.getIteratorObj(),
+                Constants.RUN_AGGREGATE_QUERY_METHOD, null, function, field));
+    }
+
+    public static long getMetadataCacheHitCount() {
+        return METADATA_CACHE.getHitCount();
+    }
+
+    public static long getMetadataCacheMissCount() {
+        return METADATA_CACHE.getMissCount();
+    }
+
+    private static BArray[] computeMetadata(RecordType recordType) {
         ArrayType stringArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING);
 
         //TODO: use PredefinedTypes.TYPE_TYPEDESC once NPE issue is resolved
@@ -111,6 +249,10 @@ public class Utils {
             }
         }
 
+        // The arrays are shared by every caller of the same record type, hence they are made immutable
+        fieldsArray.freezeDirect();
+        includeArray.freezeDirect();
+        typeDescriptionArray.freezeDirect();
         return new BArray[]{fieldsArray, includeArray, typeDescriptionArray};
     }
 
@@ -143,20 +285,42 @@ public class Utils {
         return ballerinaType.getName();
     }
 
+    /**
+     * Converts the records passed to a `post` resource into an array of the given record type.
+     *
+     * @param recordType the type of the elements of the result
+     * @param arr        the records
+     * @return the given array itself if its elements are already of the type, in which case the result shares the
+     *         elements with the caller's array and writes to one are visible through the other, or else a new array
+     *         of the records up to the first `null` element
+     */
     public static BArray convertToArray(BTypedesc recordType, BArray arr) {
-        ArrayType array = TypeCreator.createArrayType(recordType.getDescribingType());
-        BArray returnArray = ValueCreator.createArrayValue(array);
-        for (Object element : arr.getValues()) {
-            if (element == null) {
+        Type elementType = recordType.getDescribingType();
+        // The array is already of the requested type, hence it is returned without copying the elements
+        if (arr.getElementType() == elementType) {
+            return arr;
+        }
+
+        ArrayType arrayType = TypeCreator.createArrayType(elementType);
+        Object[] values = arr.getValues();
+        int length = (int) Math.min(arr.size(), values.length);
+        for (int i = 0; i < length; i++) {
+            if (values[i] == null) {
+                length = i;
                 break;
             }
-            returnArray.append(element);
         }
-        return returnArray;
+
+        Object[] elements = new Object[length];
+        System.arraycopy(values, 0, elements, 0, length);
+        return ValueCreator.createArrayValue(elements, arrayType);
     }
 
     public static Object getKey(Environment env, BArray path) {
-        Parameter[] pathParams = env.getFunctionPathParameters();
+        return getKey(env.getFunctionPathParameters(), path);
+    }
+
+    public static Object getKey(Parameter[] pathParams, BArray path) {
         if (pathParams.length == 1) {
             return path.get(0);
         } else {
@@ -168,7 +332,19 @@ public class Utils {
         }
     }
 
+    public static KeyExtractor getKeyExtractor(BArray keyFields) {
+        return KEY_EXTRACTORS.computeIfAbsent(List.of(keyFields.getStringArray()),
+                fields -> new KeyExtractor(fields.toArray(new String[0])));
+    }
+
     public static RecordType getRecordTypeWithKeyFields(BArray keyFields, RecordType recordType) {
+        Map<List<String>, RecordType> keyFieldTypes =
+                KEY_FIELDS_TYPE_CACHE.computeIfAbsent(recordType, type -> new ConcurrentHashMap<>());
+        return keyFieldTypes.computeIfAbsent(List.of(keyFields.getStringArray()),
+                keys -> createRecordTypeWithKeyFields(keys, recordType));
+    }
+
+    private static RecordType createRecordTypeWithKeyFields(List<String> keyFields, RecordType recordType) {
         Map<String, Field> fieldsMap = new HashMap<>();
         for (Field field : recordType.getFields().values()) {
             if (isEnumType(field.getFieldType())) {
@@ -183,8 +359,7 @@ public class Utils {
             }
         }
 
-        for (int i = 0; i < keyFields.size(); i++) {
-            String key = keyFields.get(i).toString();
+        for (String key : keyFields) {
             if (!fieldsMap.containsKey(key)) {
                 fieldsMap.put(key, TypeCreator.createField(PredefinedTypes.TYPE_STRING, key, 0));
             }
@@ -198,6 +373,10 @@ public class Utils {
     }
 
     private static RecordType getRecordTypeWithEnumFieldsReplaced(RecordType recordType) {
+        return ENUM_REPLACED_TYPE_CACHE.computeIfAbsent(recordType, Utils::createRecordTypeWithEnumFieldsReplaced);
+    }
+
+    private static RecordType createRecordTypeWithEnumFieldsReplaced(RecordType recordType) {
         Map<String, Field> fieldsMap = new HashMap<>();
         for (Field field : recordType.getFields().values()) {
             if (isEnumType(field.getFieldType())) {
@@ -219,19 +398,37 @@ public class Utils {
         );
     }
 
+    public static boolean isWithinTransaction() {
+        return isWithinTrxBlock(TransactionResourceManager.getInstance());
+    }
+
     private static boolean isWithinTrxBlock(TransactionResourceManager trxResourceManager) {
         return trxResourceManager.isInTransaction() &&
                 trxResourceManager.getCurrentTransactionContext().hasTransactionBlock();
     }
 
     public static Map<String, Object> getTransactionContextProperties() {
-        Map<String, Object> properties = null;
         TransactionResourceManager trxResourceManager = TransactionResourceManager.getInstance();
-        if (isWithinTrxBlock(trxResourceManager)) {
-            properties = new HashMap<>();
-            properties.put(Constants.CURRENT_TRANSACTION_CONTEXT, trxResourceManager.getCurrentTransactionContext());
+        if (!trxResourceManager.isInTransaction()) {
+            return null;
         }
+        return getTransactionContextProperties(trxResourceManager.getCurrentTransactionContext());
+    }
 
+    /**
+     * Returns the properties passed to the runtime by the datastore clients for an operation of a transaction. The
+     * transaction context is looked up once by the caller, and a new map is created for each operation as the runtime
+     * may add the properties of the strand to it.
+     *
+     * @param trxContext the context of the current transaction
+     * @return the properties of the operation, or `null` if the context is not within a transaction block
+     */
+    public static Map<String, Object> getTransactionContextProperties(TransactionLocalContext trxContext) {
+        if (!trxContext.hasTransactionBlock()) {
+            return null;
+        }
+        Map<String, Object> properties = new HashMap<>(TRANSACTION_PROPERTIES_CAPACITY);
+        properties.put(Constants.CURRENT_TRANSACTION_CONTEXT, trxContext);
         return properties;
     }
 
@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache whose keys are compared by identity and held weakly, so that entries of types which are no
+ * longer reachable are dropped by the garbage collector.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @since 1.7.1
+ */
+public final class WeakIdentityCache<K, V> {
+
+    // Holds the weak keys of the entries, which are looked up by identity probes that are not references
+    private final ConcurrentHashMap<Object, V> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> staleKeys = new ReferenceQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public V get(K key) {
+        return entries.get(new IdentityProbe(key));
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = entries.get(new IdentityProbe(key));
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        expungeStaleEntries();
+        V computed = mappingFunction.apply(key);
+        V existing = entries.putIfAbsent(new IdentityKey<>(key, staleKeys), computed);
+        return existing != null ? existing : computed;
+    }
+
+    public int size() {
+        expungeStaleEntries();
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends K> reference;
+        while ((reference = staleKeys.poll()) != null) {
+            entries.remove(reference);
+        }
+    }
+
+    private static final class IdentityKey<K> extends WeakReference<K> {
+        private final int hash;
+
+        IdentityKey(K referent, ReferenceQueue<K> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            Object referent = get();
+            if (referent == null) {
+                return false;
+            }
+            if (obj instanceof IdentityProbe probe) {
+                return referent == probe.referent;
+            }
+            return obj instanceof IdentityKey<?> other && referent == other.get();
+        }
+    }
+
+    // The key of a lookup, which refers to the object strongly only for the duration of the lookup
+    private static final class IdentityProbe {
+        private final Object referent;
+
+        IdentityProbe(Object referent) {
+            this.referent = referent;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey<?> key ? key.get() == referent :
+                    obj instanceof IdentityProbe other && other.referent == referent;
+        }
+    }
+}
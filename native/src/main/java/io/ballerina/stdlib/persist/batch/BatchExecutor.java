@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.batch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Submits the chunks of a batch, with up to a given number of chunks in flight at a time. The next chunk is taken
+ * from the plan only when a chunk in flight completes, hence the memory held by the chunks is bounded regardless of
+ * the size of the batch. The results are returned in the order of the chunks.
+ * <p>
+ * Once a chunk fails, the chunks which are not yet submitted are skipped, as the batch is not written as a whole.
+ *
+ * @param <T> the type of the records
+ * @param <R> the type of the results of the chunks
+ * @since 1.7.1
+ */
+public final class BatchExecutor<T, R> {
+
+    private final int parallelism;
+    private final Executor executor;
+
+    /**
+     * Creates an executor of the chunks.
+     *
+     * @param parallelism the maximum number of chunks in flight, where the chunks are submitted one after another by
+     *                    the calling thread if it is `1`
+     * @param executor    the executor of the chunks in flight
+     */
+    public BatchExecutor(int parallelism, Executor executor) {
+        this.parallelism = Math.max(parallelism, 1);
+        this.executor = executor;
+    }
+
+    /**
+     * Submits the chunks.
+     *
+     * @param chunks    the chunks, in the order of the records
+     * @param submit    writes a chunk and returns its result
+     * @param isFailure whether the result of a chunk is a failure
+     * @param skip      returns the result of a chunk which is skipped after a failure
+     * @return the results of the chunks, in the order of the chunks
+     */
+    public List<R> execute(Iterator<Chunk<T>> chunks, Function<Chunk<T>, R> submit, Predicate<R> isFailure,
+                           Function<Chunk<T>, R> skip) {
+        if (parallelism == 1) {
+            List<R> results = new ArrayList<>();
+            boolean failed = false;
+            while (chunks.hasNext()) {
+                Chunk<T> chunk = chunks.next();
+                R result = failed ? skip.apply(chunk) : submit.apply(chunk);
+                failed |= isFailure.test(result);
+                results.add(result);
+            }
+            return results;
+        }
+
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<CompletableFuture<R>> results = new ArrayList<>();
+        while (chunks.hasNext()) {
+            permits.acquireUninterruptibly();
+            Chunk<T> chunk = chunks.next();
+            if (failed.get()) {
+                permits.release();
+                results.add(CompletableFuture.completedFuture(skip.apply(chunk)));
+                continue;
+            }
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    R result = submit.apply(chunk);
+                    if (isFailure.test(result)) {
+                        failed.set(true);
+                    }
+                    return result;
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
+
+        List<R> completed = new ArrayList<>(results.size());
+        for (CompletableFuture<R> result : results) {
+            try {
+                completed.add(result.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return completed;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.batch;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits the records of a batch into chunks of a maximum size. The chunks are views of the records, which are created
+ * as they are iterated, hence planning a batch does not copy the records.
+ *
+ * @since 1.7.1
+ */
+public final class BatchPlanner {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final int chunkSize;
+
+    /**
+     * Creates a planner of the chunks of the given size.
+     *
+     * @param chunkSize the maximum number of records of a chunk
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public BatchPlanner(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("the chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getChunkCount(int rows) {
+        return (rows + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * Returns the chunks of the records, in the order of the records.
+     *
+     * @param rows the records of the batch
+     * @param <T>  the type of the records
+     * @return the iterator of the chunks
+     */
+    public <T> Iterator<Chunk<T>> plan(List<T> rows) {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return (long) index * chunkSize < rows.size();
+            }
+
+            @Override
+            public Chunk<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int offset = index * chunkSize;
+                Chunk<T> chunk = new Chunk<>(index, offset, rows.subList(offset,
+                        Math.min(offset + chunkSize, rows.size())));
+                index++;
+                return chunk;
+            }
+        };
+    }
+}
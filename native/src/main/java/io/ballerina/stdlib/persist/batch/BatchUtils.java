@@ -0,0 +1,200 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.batch;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BFunctionPointer;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.Constants;
+import io.ballerina.stdlib.persist.ErrorGenerator;
+import io.ballerina.stdlib.persist.ModuleUtils;
+import io.ballerina.stdlib.persist.Utils;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * This class has the native methods of the batch writes of the Persist module.
+ *
+ * @since 1.7.1
+ */
+public final class BatchUtils {
+
+    static final BString CHUNK_SIZE = fromString("chunkSize");
+    static final BString PARALLELISM = fromString("parallelism");
+    static final String CHUNK_RESULT_TYPE = "ChunkResult";
+    static final BString OFFSET = fromString("offset");
+    static final BString LENGTH = fromString("length");
+    static final BString KEYS = fromString("keys");
+    static final String UPSERT_PLAN_TYPE = "UpsertPlan";
+    static final BString ENTITY = fromString("entity");
+    static final BString KEY_FIELDS = fromString("keyFields");
+    static final BString INSERT_FIELDS = fromString("insertFields");
+    static final BString UPDATE_FIELDS = fromString("updateFields");
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "persist-batch-writes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private BatchUtils() {
+    }
+
+    /**
+     * Inserts the records of a batch in chunks through the given function, which inserts the records of a chunk by a
+     * multi-row statement and returns their keys. The chunks are inserted concurrently up to the configured
+     * parallelism, except within a transaction, in which case they are inserted one after another by the thread of
+     * the transaction so that the datastores write them in the transaction. The strand of the call yields while the
+     * chunks are written in either case.
+     *
+     * @param env         the environment of the call
+     * @param records     the records of the batch
+     * @param insertChunk inserts the records of a chunk, which are in an array of the element type of the batch
+     * @param config      the `persist:BatchConfig` of the batch
+     * @param results     the array to which the `persist:ChunkResult` of each chunk is added in the order of the chunks
+     */
+    public static void insertChunks(Environment env, BArray records, BFunctionPointer insertChunk,
+                                    BMap<BString, Object> config, BArray results) {
+        writeChunks(env, records, config, chunk -> insertChunk.call(env.getRuntime(), chunk), results);
+    }
+
+    /**
+     * Upserts the records of an entity in chunks through the {@value Constants#RUN_BATCH_UPSERT_QUERY_METHOD} method
+     * of the persist client of the entity, which takes the `persist:UpsertPlan` of the records and a chunk of the
+     * records, upserts the records of the chunk by a single statement and returns their keys. The chunks are written
+     * as by {@link #insertChunks}.
+     *
+     * @param env          the environment of the call
+     * @param client       the persist client
+     * @param entity       the name of the entity
+     * @param records      the records of the batch
+     * @param updateFields the fields updated in the existing records of the same keys
+     * @param config       the `persist:BatchConfig` of the batch
+     * @param results      the array to which the `persist:ChunkResult` of each chunk is added in the order of the
+     *                     chunks
+     * @return an error if the records cannot be upserted to the datastore of the entity, or `null`
+     */
+    public static Object upsertChunks(Environment env, BObject client, BString entity, BArray records,
+                                      BArray updateFields, BMap<BString, Object> config, BArray results) {
+        BObject persistClient = Utils.getPersistClient(client, entity);
+        if (persistClient == null) {
+            return ErrorGenerator.getBasicPersistError(
+                    String.format("The persist client of the entity '%s' is not found.", entity.getValue()));
+        }
+        if (!Utils.hasMethod(persistClient, Constants.RUN_BATCH_UPSERT_QUERY_METHOD)) {
+            return ErrorGenerator.getBasicPersistError(String.format(
+                    "The datastore of the entity '%s' does not support upserts.", entity.getValue()));
+        }
+        Type recordType = TypeUtils.getImpliedType(records.getElementType());
+        if (!(recordType instanceof RecordType)) {
+            return ErrorGenerator.getBasicPersistError(String.format(
+                    "The records of the entity '%s' are not of a record type.", entity.getValue()));
+        }
+        UpsertPlan plan;
+        try {
+            plan = UpsertPlan.create(entity.getValue(),
+                    List.of(((BArray) persistClient.get(Constants.KEY_FIELDS)).getStringArray()),
+                    ((RecordType) recordType).getFields().keySet(), List.of(updateFields.getStringArray()));
+        } catch (IllegalArgumentException e) {
+            return ErrorGenerator.getBasicPersistError("Invalid upsert: " + e.getMessage() + ".");
+        }
+        BMap<BString, Object> planRecord = createPlanRecord(plan);
+        writeChunks(env, records, config, chunk -> env.getRuntime().callMethod(persistClient,
+                Constants.RUN_BATCH_UPSERT_QUERY_METHOD, null, planRecord, chunk), results);
+        return null;
+    }
+
+    // The chunks are written concurrently up to the parallelism, except within a transaction
+    private static void writeChunks(Environment env, BArray records, BMap<BString, Object> config,
+                                    Function<BArray, Object> writeChunk, BArray results) {
+        BatchPlanner planner = new BatchPlanner(getIntValue(config, CHUNK_SIZE));
+        int parallelism = Utils.isWithinTransaction() ? 1 : getIntValue(config, PARALLELISM);
+        ArrayType chunkType = TypeCreator.createArrayType(records.getElementType());
+        Function<Chunk<Object>, Object> submit = chunk -> createResult(chunk,
+                writeChunk.apply(ValueCreator.createArrayValue(chunk.rows().toArray(), chunkType)));
+        Function<Chunk<Object>, Object> skip = chunk -> createResult(chunk, ErrorGenerator.getBasicPersistError(
+                "The chunk was not written as a previous chunk of the batch failed."));
+        BatchExecutor<Object, Object> executor = new BatchExecutor<>(parallelism, EXECUTOR);
+        // The strand yields while the chunks are written, which are written by the calling thread one after another if
+        // the parallelism is 1, hence within the transaction of the strand
+        List<Object> chunkResults = env.yieldAndRun(() -> executor.execute(planner.plan(asList(records)), submit,
+                BatchUtils::isFailure, skip));
+        chunkResults.forEach(results::append);
+    }
+
+    private static BMap<BString, Object> createPlanRecord(UpsertPlan plan) {
+        BMap<BString, Object> planRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(), UPSERT_PLAN_TYPE);
+        planRecord.put(ENTITY, fromString(plan.entity()));
+        planRecord.put(KEY_FIELDS, createStringArray(plan.keyFields()));
+        planRecord.put(INSERT_FIELDS, createStringArray(plan.insertFields()));
+        planRecord.put(UPDATE_FIELDS, createStringArray(plan.updateFields()));
+        return planRecord;
+    }
+
+    private static BArray createStringArray(List<String> values) {
+        return ValueCreator.createArrayValue(values.stream().map(StringUtils::fromString).toArray(BString[]::new));
+    }
+
+    private static int getIntValue(BMap<BString, Object> config, BString field) {
+        return (int) Math.min(config.getIntValue(field), Integer.MAX_VALUE);
+    }
+
+    private static BMap<BString, Object> createResult(Chunk<Object> chunk, Object keys) {
+        BMap<BString, Object> result = ValueCreator.createRecordValue(ModuleUtils.getModule(), CHUNK_RESULT_TYPE);
+        result.put(OFFSET, (long) chunk.offset());
+        result.put(LENGTH, (long) chunk.rows().size());
+        result.put(KEYS, keys);
+        return result;
+    }
+
+    private static boolean isFailure(Object result) {
+        return ((BMap<?, ?>) result).get(KEYS) instanceof BError;
+    }
+
+    private static List<Object> asList(BArray records) {
+        return new AbstractList<>() {
+            @Override
+            public Object get(int index) {
+                return records.get(index);
+            }
+
+            @Override
+            public int size() {
+                return records.size();
+            }
+        };
+    }
+}
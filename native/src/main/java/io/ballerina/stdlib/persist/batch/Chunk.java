@@ -0,0 +1,33 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.batch;
+
+import java.util.List;
+
+/**
+ * A chunk of the records of a batch, which are written by a single multi-row statement.
+ *
+ * @param index  the position of the chunk in the batch
+ * @param offset the position of the first record of the chunk in the records of the batch
+ * @param rows   the records of the chunk
+ * @param <T>    the type of the records
+ * @since 1.7.1
+ */
+public record Chunk<T>(int index, int offset, List<T> rows) {
+}
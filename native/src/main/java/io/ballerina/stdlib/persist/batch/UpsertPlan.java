@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.batch;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Plans the upserts of the records of an entity, which are inserted, or update the given fields of the existing
+ * records of the same keys. The datastores map a plan to a single statement for each chunk of the records, such as
+ * `INSERT ... ON CONFLICT (keys) DO UPDATE SET f = EXCLUDED.f`, `INSERT ... ON DUPLICATE KEY UPDATE f = VALUES(f)`
+ * or `MERGE ... WHEN MATCHED THEN UPDATE SET f = s.f WHEN NOT MATCHED THEN INSERT`, or to a key index check in
+ * memory. The existing records are kept as they are if there are no fields to update.
+ *
+ * @param entity       the name of the entity
+ * @param keyFields    the key fields of the entity, on which the records conflict
+ * @param insertFields the fields of the records, in the order of the record type
+ * @param updateFields the fields updated in the existing records, in the given order without duplicates
+ * @since 1.7.1
+ */
+public record UpsertPlan(String entity, List<String> keyFields, List<String> insertFields,
+                         List<String> updateFields) {
+
+    /**
+     * Creates the plan of the upserts of the records of an entity.
+     *
+     * @param entity       the name of the entity
+     * @param keyFields    the key fields of the entity
+     * @param recordFields the fields of the record type of the records
+     * @param updateFields the fields to update in the existing records
+     * @return the plan
+     * @throws IllegalArgumentException if the records do not have the key fields, or the fields to update are not
+     *                                  the non-key fields of the records
+     */
+    public static UpsertPlan create(String entity, List<String> keyFields, Collection<String> recordFields,
+                                    List<String> updateFields) {
+        for (String keyField : keyFields) {
+            if (!recordFields.contains(keyField)) {
+                throw new IllegalArgumentException("the records of the entity '" + entity +
+                        "' do not have the key field '" + keyField + "'");
+            }
+        }
+        for (String updateField : updateFields) {
+            if (keyFields.contains(updateField)) {
+                throw new IllegalArgumentException("the field '" + updateField + "' of the entity '" + entity +
+                        "' cannot be updated on a conflict as it is a key field");
+            }
+            if (!recordFields.contains(updateField)) {
+                throw new IllegalArgumentException("the records of the entity '" + entity +
+                        "' do not have the field '" + updateField + "' to update on a conflict");
+            }
+        }
+        return new UpsertPlan(entity, List.copyOf(keyFields), List.copyOf(recordFields),
+                List.copyOf(new LinkedHashSet<>(updateFields)));
+    }
+}
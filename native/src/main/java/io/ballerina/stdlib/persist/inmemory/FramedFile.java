@@ -0,0 +1,135 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes the files of the write-ahead log and the snapshots of an {@link InMemoryTable}, which are
+ * sequences of frames. A frame is the length and the CRC-32 checksum of its body followed by the body, so that a
+ * frame which is partially written before a crash is detected while reading.
+ * <p>
+ * Files are read through memory mappings of up to 1 GB, which are moved forward as the frames are read.
+ *
+ * @since 1.7.1
+ */
+final class FramedFile {
+
+    static final int FRAME_HEADER_SIZE = Integer.BYTES * 2;
+    private static final long REGION_SIZE = 1L << 30;
+    private static final boolean IS_WINDOWS = System.getProperty("os.name", "").toLowerCase(Locale.ROOT)
+            .startsWith("windows");
+
+    private FramedFile() {
+    }
+
+    static void writeFrame(DataOutput output, byte[] body, int length) throws IOException {
+        CRC32 checksum = new CRC32();
+        checksum.update(body, 0, length);
+        output.writeInt(length);
+        output.writeInt((int) checksum.getValue());
+        output.write(body, 0, length);
+    }
+
+    /**
+     * Reads the frames of a file in order up to the first incomplete or corrupted frame.
+     *
+     * @param file     the file
+     * @param consumer the consumer of the bodies of the frames
+     * @return the length of the frames which are read, which is less than the size of the file if the file has an
+     *         incomplete or a corrupted frame
+     * @throws IOException if the file cannot be read
+     */
+    static long read(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            ByteBuffer region = map(channel, position, size);
+            CRC32 checksum = new CRC32();
+            while (position < size) {
+                if (size - position < FRAME_HEADER_SIZE) {
+                    return position;
+                }
+                if (region.remaining() < FRAME_HEADER_SIZE ||
+                        region.remaining() < FRAME_HEADER_SIZE + region.getInt(region.position())) {
+                    // The frame continues beyond the mapped region
+                    region = map(channel, position, size);
+                }
+                int length = region.getInt();
+                int expectedChecksum = region.getInt();
+                // None of the frames are empty, hence a zeroed header is not taken as a frame
+                if (length <= 0 || length > region.remaining()) {
+                    return position;
+                }
+                ByteBuffer body = region.slice(region.position(), length);
+                checksum.reset();
+                checksum.update(body.duplicate());
+                if ((int) checksum.getValue() != expectedChecksum) {
+                    return position;
+                }
+                consumer.accept(body);
+                region.position(region.position() + length);
+                position += FRAME_HEADER_SIZE + length;
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Cuts a file at the given length and forces it to the disk.
+     *
+     * @param file   the file
+     * @param length the new length of the file
+     * @throws IOException if the file cannot be written
+     */
+    static void truncate(Path file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Forces the entries of a directory to the disk, so that a file which is created or moved into the directory is
+     * found after a crash. Directories cannot be opened on Windows, hence are not forced there.
+     *
+     * @param directory the directory
+     * @throws IOException if the directory cannot be forced
+     */
+    static void forceDirectory(Path directory) throws IOException {
+        if (IS_WINDOWS) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, REGION_SIZE));
+    }
+}
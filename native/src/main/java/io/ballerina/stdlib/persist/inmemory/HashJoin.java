@@ -0,0 +1,150 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.CompositeKey;
+import io.ballerina.stdlib.persist.KeyExtractor;
+import io.ballerina.stdlib.persist.RecordProjector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joins the records of a related entity to the records of an entity in the in-memory datastore. The related
+ * records are hashed by their foreign key once per query, and each parent record probes the hash table with its
+ * referenced fields, hence a join takes O(n + m) time instead of scanning the related records for each parent.
+ * <p>
+ * Related records with a `()` foreign key field do not match any parent.
+ *
+ * @since 1.7.1
+ */
+public final class HashJoin {
+
+    private static final ArrayType RECORD_ARRAY_TYPE = TypeCreator.createArrayType(RecordProjector.OPEN_RECORD_TYPE);
+
+    private final KeyExtractor referenceKeyExtractor;
+    private final Map<CompositeKey, List<BMap<BString, Object>>> relatedRecords;
+    private final BString[] relationFields;
+
+    private HashJoin(KeyExtractor referenceKeyExtractor,
+                     Map<CompositeKey, List<BMap<BString, Object>>> relatedRecords, BString[] relationFields) {
+        this.referenceKeyExtractor = referenceKeyExtractor;
+        this.relatedRecords = relatedRecords;
+        this.relationFields = relationFields;
+    }
+
+    /**
+     * Builds the hash table of the related records.
+     *
+     * @param related               the related records
+     * @param foreignKeyExtractor   the extractor of the foreign key fields of the related records
+     * @param referenceKeyExtractor the extractor of the fields of the parent records referred by the foreign key
+     * @param relationFields        the fields of the related records to be projected, or an empty array to keep all
+     * @return the join
+     */
+    public static HashJoin build(Iterable<BMap<BString, Object>> related, KeyExtractor foreignKeyExtractor,
+                                 KeyExtractor referenceKeyExtractor, BString[] relationFields) {
+        Map<CompositeKey, List<BMap<BString, Object>>> relatedRecords = new HashMap<>();
+        for (BMap<BString, Object> relatedRecord : related) {
+            CompositeKey foreignKey = foreignKeyExtractor.fromRecord(relatedRecord);
+            if (hasNilValue(foreignKey)) {
+                continue;
+            }
+            relatedRecords.computeIfAbsent(foreignKey, key -> new ArrayList<>(1)).add(relatedRecord);
+        }
+        return new HashJoin(referenceKeyExtractor, relatedRecords, relationFields);
+    }
+
+    /**
+     * Returns the related records of the given parent record.
+     *
+     * @param parent the parent record
+     * @return the related records, which is empty if the parent does not have related records
+     */
+    public List<BMap<BString, Object>> probe(BMap<BString, Object> parent) {
+        List<BMap<BString, Object>> matches = relatedRecords.get(referenceKeyExtractor.fromRecord(parent));
+        return matches == null ? List.of() : matches;
+    }
+
+    /**
+     * Returns a copy of the given parent record with the related records set to the relation field. The relation
+     * field of a one-to-many relation is an array of the related records, and the relation field of a one-to-one
+     * relation is not set if the parent does not have a related record.
+     *
+     * @param parent   the parent record
+     * @param relation the name of the relation field
+     * @param many     whether the relation is a one-to-many relation
+     * @return the joined record
+     */
+    public BMap<BString, Object> join(BMap<BString, Object> parent, BString relation, boolean many) {
+        List<BMap<BString, Object>> matches = probe(parent);
+        BMap<BString, Object> joined = ValueCreator.createMapValue(RecordProjector.OPEN_RECORD_TYPE);
+        for (Map.Entry<BString, Object> entry : parent.entrySet()) {
+            joined.put(entry.getKey(), entry.getValue());
+        }
+        if (many) {
+            Object[] values = new Object[matches.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = project(matches.get(i));
+            }
+            joined.put(relation, ValueCreator.createArrayValue(values, RECORD_ARRAY_TYPE));
+        } else if (!matches.isEmpty()) {
+            joined.put(relation, project(matches.get(0)));
+        }
+        return joined;
+    }
+
+    public BArray joinAll(BArray parents, BString relation, boolean many) {
+        Object[] joined = new Object[parents.size()];
+        for (int i = 0; i < joined.length; i++) {
+            @SuppressWarnings("unchecked")
+            BMap<BString, Object> parent = (BMap<BString, Object>) parents.get(i);
+            joined[i] = join(parent, relation, many);
+        }
+        return ValueCreator.createArrayValue(joined, RECORD_ARRAY_TYPE);
+    }
+
+    private BMap<BString, Object> project(BMap<BString, Object> relatedRecord) {
+        if (relationFields.length == 0) {
+            return relatedRecord;
+        }
+        BMap<BString, Object> projected = ValueCreator.createMapValue(RecordProjector.OPEN_RECORD_TYPE);
+        for (BString field : relationFields) {
+            projected.put(field, relatedRecord.get(field));
+        }
+        return projected;
+    }
+
+    private static boolean hasNilValue(CompositeKey key) {
+        for (int i = 0; i < key.size(); i++) {
+            if (key.get(i) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
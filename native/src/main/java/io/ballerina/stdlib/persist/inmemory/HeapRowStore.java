@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.RecordProjector;
+
+/**
+ * Stores the records of an {@link InMemoryTable} on the heap as they are.
+ *
+ * @since 1.7.1
+ */
+final class HeapRowStore implements RowStore {
+
+    static final HeapRowStore INSTANCE = new HeapRowStore();
+
+    private HeapRowStore() {
+    }
+
+    @Override
+    public Object store(BMap<BString, Object> value) {
+        return value;
+    }
+
+    @Override
+    public void release(Object row) {
+        // The record is reclaimed by the garbage collector
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public BMap<BString, Object> load(Object row) {
+        return (BMap<BString, Object>) row;
+    }
+
+    @Override
+    public BMap<BString, Object> load(Object row, BString[] fields) {
+        BMap<BString, Object> value = load(row);
+        BMap<BString, Object> projected = ValueCreator.createMapValue(RecordProjector.OPEN_RECORD_TYPE);
+        for (BString field : fields) {
+            projected.put(field, value.get(field));
+        }
+        return projected;
+    }
+
+    @Override
+    public Object getField(Object row, BString field) {
+        return load(row).get(field);
+    }
+}
@@ -0,0 +1,744 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.ValueUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.CompositeKey;
+import io.ballerina.stdlib.persist.KeyExtractor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The storage of an entity in the in-memory datastore. Records are indexed by the identity fields of the entity
+ * in a concurrent hash index, so that key based reads and writes take constant time and can be done by
+ * concurrent strands without locking the whole table.
+ * <p>
+ * Stored records are expected to be immutable, which allows them to be shared with readers without copying.
+ * Alternatively, the records can be stored outside the heap in the {@link StorageMode#OFF_HEAP} mode, in which case
+ * the table holds encoded rows, and a record is decoded each time it is read.
+ * <p>
+ * Each write creates a new version of the record, numbered by a table wide clock, on top of the older versions of
+ * the key. A {@link TableSnapshot} reads the newest version of each key which is not newer than the clock at the time
+ * the snapshot is opened, hence readers iterate a consistent view of the table without blocking the writers. The
+ * versions which are not visible to any open snapshot are reclaimed by the next write to the key, or in the background
+ * once the snapshots which hold them are closed.
+ * <p>
+ * The table can also maintain {@link OrderedIndex}es over other fields for range scans and top-k reads. The ordered
+ * indexes are updated while holding the lock of the key in the primary index, hence the index entries of a record
+ * are always replaced in the order of the writes to the record. The ordered indexes hold the latest versions only.
+ * <p>
+ * A table can be made durable with {@link #enableDurability}, in which case the writes are appended to a
+ * {@link WriteAheadLog} while holding the lock of the key, and return once the log is forced to the disk. The table
+ * is periodically written to a {@link SnapshotFile} from a snapshot, which allows the log to be truncated, and a
+ * restarted table loads the latest snapshot and replays the log written after it. A write which fails to be logged is
+ * not applied, while a write which fails to be forced to the disk is visible but may be lost on a restart, and the
+ * later writes are rejected. The restored records are converted to the type of the entity when it is given, as the
+ * log and the snapshots do not hold the types of the records.
+ *
+ * @since 1.7.1
+ */
+public class InMemoryTable {
+
+    private final KeyExtractor keyExtractor;
+    private final ConcurrentHashMap<CompositeKey, Version> primaryIndex;
+    private final Map<String, OrderedIndex> orderedIndexes;
+    private final OrderedIndex[] orderedIndexArray;
+    private final RowStore rowStore;
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong snapshotIds = new AtomicLong();
+    private final ConcurrentSkipListSet<TableSnapshot> openSnapshots = new ConcurrentSkipListSet<>();
+    // The keys whose older versions are retained for the open snapshots
+    private final Set<CompositeKey> retainingKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reclaimScheduled = new AtomicBoolean();
+    // The writes in progress in each epoch, which are awaited by the snapshots opened after the epoch ends
+    private final AtomicLong[] writesInProgress = {new AtomicLong(), new AtomicLong()};
+    private volatile int writeEpoch;
+    private final Object snapshotLock = new Object();
+
+    private final Object checkpointLock = new Object();
+    // Logged writes are not in progress while the log is rotated and the snapshot of a checkpoint is opened
+    private final ReentrantReadWriteLock checkpointBarrier = new ReentrantReadWriteLock();
+    private volatile WriteAheadLog log;
+    private Path durabilityDirectory;
+    private Type entityType;
+    private ScheduledFuture<?> checkpointTask;
+    private boolean closed;
+    private volatile IOException checkpointFailure;
+
+    public InMemoryTable(KeyExtractor keyExtractor) {
+        this(keyExtractor, Collections.emptyMap());
+    }
+
+    public InMemoryTable(KeyExtractor keyExtractor, Map<String, String[]> orderedIndexes) {
+        this(keyExtractor, orderedIndexes, StorageMode.HEAP);
+    }
+
+    /**
+     * Creates a table with ordered indexes, which stores the records in the given storage mode.
+     *
+     * @param keyExtractor   the extractor of the keys of the records
+     * @param orderedIndexes the fields of the ordered indexes by the name of the index
+     * @param storageMode    the storage mode of the records
+     */
+    public InMemoryTable(KeyExtractor keyExtractor, Map<String, String[]> orderedIndexes, StorageMode storageMode) {
+        this.keyExtractor = keyExtractor;
+        this.primaryIndex = new ConcurrentHashMap<>();
+        this.rowStore = storageMode == StorageMode.OFF_HEAP ? new OffHeapRowStore() : HeapRowStore.INSTANCE;
+        Map<String, OrderedIndex> indexes = new LinkedHashMap<>();
+        orderedIndexes.forEach((name, fields) -> indexes.put(name, new OrderedIndex(name, fields, rowStore)));
+        this.orderedIndexes = Collections.unmodifiableMap(indexes);
+        this.orderedIndexArray = indexes.values().toArray(new OrderedIndex[0]);
+    }
+
+    public KeyExtractor getKeyExtractor() {
+        return keyExtractor;
+    }
+
+    public StorageMode getStorageMode() {
+        return rowStore instanceof OffHeapRowStore ? StorageMode.OFF_HEAP : StorageMode.HEAP;
+    }
+
+    /**
+     * Returns the number of bytes reserved outside the heap for the records of the table, which are the slabs holding
+     * the rows of the records.
+     *
+     * @return the number of bytes, which is 0 unless the records are stored in the {@link StorageMode#OFF_HEAP} mode
+     */
+    public long getOffHeapBytes() {
+        return rowStore instanceof OffHeapRowStore offHeapRowStore ? offHeapRowStore.getReservedBytes() : 0;
+    }
+
+    long getLiveOffHeapBytes() {
+        return rowStore instanceof OffHeapRowStore offHeapRowStore ? offHeapRowStore.getLiveBytes() : 0;
+    }
+
+    public BMap<BString, Object> getByKey(CompositeKey key) {
+        Version head = primaryIndex.get(key);
+        return head == null || head.row == null ? null : rowStore.load(head.row);
+    }
+
+    /**
+     * Returns the given fields of the record of the given key. Only the given fields are decoded when the records are
+     * stored outside the heap.
+     *
+     * @param key    the key of the record
+     * @param fields the fields to read
+     * @return a record with the given fields, or `null` if a record does not exist for the key
+     */
+    public BMap<BString, Object> getByKey(CompositeKey key, BString[] fields) {
+        Version head = primaryIndex.get(key);
+        return head == null || head.row == null ? null : rowStore.load(head.row, fields);
+    }
+
+    public boolean containsKey(CompositeKey key) {
+        Version head = primaryIndex.get(key);
+        return head != null && head.row != null;
+    }
+
+    /**
+     * Inserts a record unless a record with the same key exists.
+     *
+     * @param value the record to insert
+     * @return the key of the record, or `null` if a record with the same key already exists
+     * @throws UncheckedIOException     if the table is durable and the write cannot be logged
+     * @throws IllegalArgumentException if a value of the fields of an ordered index cannot be ordered
+     */
+    public CompositeKey insert(BMap<BString, Object> value) {
+        validateIndexValues(value);
+        CompositeKey key = keyExtractor.fromRecord(value);
+        long[] logSequence = new long[1];
+        boolean inserted = insert(key, value, logSequence);
+        awaitDurable(logSequence[0]);
+        return inserted ? key : null;
+    }
+
+    /**
+     * Inserts records in the given order up to the first record whose key exists, as a single multi-row write. The
+     * log entries of the records are forced to the disk once for all the records instead of once for each record.
+     *
+     * @param values the records to insert
+     * @return the keys of the inserted records, which are fewer than the records if a record with the same key as the
+     *         record following the last inserted record exists
+     * @throws UncheckedIOException     if the table is durable and a write cannot be logged
+     * @throws IllegalArgumentException if a value of the fields of an ordered index cannot be ordered, in which case
+     *                                  none of the records are inserted
+     */
+    public List<CompositeKey> insertAll(List<BMap<BString, Object>> values) {
+        for (BMap<BString, Object> value : values) {
+            validateIndexValues(value);
+        }
+        List<CompositeKey> keys = new ArrayList<>(values.size());
+        long[] logSequence = new long[1];
+        long lastLogSequence = 0;
+        for (BMap<BString, Object> value : values) {
+            CompositeKey key = keyExtractor.fromRecord(value);
+            if (!insert(key, value, logSequence)) {
+                break;
+            }
+            keys.add(key);
+            lastLogSequence = Math.max(lastLogSequence, logSequence[0]);
+        }
+        awaitDurable(lastLogSequence);
+        return keys;
+    }
+
+    private boolean insert(CompositeKey key, BMap<BString, Object> value, long[] logSequence) {
+        byte[] logEntry = encodeLogEntry(WriteAheadLog.PUT, value);
+        boolean[] inserted = new boolean[1];
+        runWrite(logEntry, () -> primaryIndex.compute(key, (k, head) -> {
+            if (head != null && head.row != null) {
+                return head;
+            }
+            Object row = rowStore.store(value);
+            Version version = addVersion(k, head, row, logEntry, logSequence);
+            for (OrderedIndex index : orderedIndexArray) {
+                index.add(k, row);
+            }
+            inserted[0] = true;
+            size.incrementAndGet();
+            return version;
+        }));
+        return inserted[0];
+    }
+
+    /**
+     * Replaces the record of the given key if it is still the expected one.
+     *
+     * @param key      the key of the record
+     * @param expected the record which the new one is derived from
+     * @param value    the new record
+     * @return whether the record is replaced
+     * @throws UncheckedIOException     if the table is durable and the write cannot be logged
+     * @throws IllegalArgumentException if a value of the fields of an ordered index cannot be ordered
+     */
+    public boolean replace(CompositeKey key, BMap<BString, Object> expected, BMap<BString, Object> value) {
+        validateIndexValues(value);
+        byte[] logEntry = encodeLogEntry(WriteAheadLog.PUT, value);
+        boolean[] replaced = new boolean[1];
+        long[] logSequence = new long[1];
+        runWrite(logEntry, () -> primaryIndex.computeIfPresent(key, (k, head) -> {
+            if (head.row == null || !rowStore.load(head.row).equals(expected)) {
+                return head;
+            }
+            Object row = rowStore.store(value);
+            Version version = addVersion(k, head, row, logEntry, logSequence);
+            for (OrderedIndex index : orderedIndexArray) {
+                index.remove(k, head.row);
+                index.add(k, row);
+            }
+            replaced[0] = true;
+            return version;
+        }));
+        awaitDurable(logSequence[0]);
+        return replaced[0];
+    }
+
+    public BMap<BString, Object> delete(CompositeKey key) {
+        @SuppressWarnings("unchecked")
+        BMap<BString, Object>[] deleted = new BMap[1];
+        byte[] logEntry = encodeLogEntry(WriteAheadLog.DELETE, key.toBalKey());
+        long[] logSequence = new long[1];
+        runWrite(logEntry, () -> primaryIndex.computeIfPresent(key, (k, head) -> {
+            if (head.row == null) {
+                return head;
+            }
+            Version version = addVersion(k, head, null, logEntry, logSequence);
+            for (OrderedIndex index : orderedIndexArray) {
+                index.remove(k, head.row);
+            }
+            deleted[0] = rowStore.load(head.row);
+            size.decrementAndGet();
+            return version;
+        }));
+        awaitDurable(logSequence[0]);
+        return deleted[0];
+    }
+
+    /**
+     * Returns the ordered index of the given name.
+     *
+     * @param name the name of the index
+     * @return the index, or `null` if the table does not have an ordered index of the name
+     */
+    public OrderedIndex getOrderedIndex(String name) {
+        return orderedIndexes.get(name);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Opens a snapshot of the table, which has to be closed once it is read so that the versions it holds can be
+     * reclaimed.
+     *
+     * @return the snapshot
+     */
+    public TableSnapshot openSnapshot() {
+        TableSnapshot snapshot = new TableSnapshot(this, clock.get(), snapshotIds.incrementAndGet());
+        // The writers look for the open snapshots after taking their versions from the clock, hence the writers which
+        // do not find the snapshot have taken versions which are not newer than it
+        openSnapshots.add(snapshot);
+        synchronized (snapshotLock) {
+            long version = clock.get();
+            // A version is taken from the clock before it is added to the index, hence the writes which may have
+            // taken a version not newer than the snapshot are awaited. The writes started from here on belong to the
+            // next epoch, and take newer versions, hence the snapshot is opened once the writes in progress end.
+            int epoch = writeEpoch;
+            writeEpoch = 1 - epoch;
+            AtomicLong writes = writesInProgress[epoch];
+            while (writes.get() > 0) {
+                Thread.yield();
+            }
+            snapshot.setVersion(version);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the stored records as of a snapshot of the table.
+     *
+     * @return the stored records
+     */
+    public Collection<BMap<BString, Object>> values() {
+        try (TableSnapshot snapshot = openSnapshot()) {
+            List<BMap<BString, Object>> values = new ArrayList<>(size());
+            snapshot.iterator().forEachRemaining(values::add);
+            return Collections.unmodifiableList(values);
+        }
+    }
+
+    /**
+     * Removes all the records of the table. Each record is deleted as by {@link #delete}, hence the open snapshots
+     * still see the records, whose rows are released once they are no longer visible to any open snapshot. The
+     * records inserted while the table is cleared may be kept. Clearing the table is not logged, hence is not allowed
+     * once the table is durable.
+     *
+     * @throws IllegalStateException if the table is durable
+     */
+    public void clear() {
+        if (log != null) {
+            throw new IllegalStateException("the records of a durable table cannot be cleared");
+        }
+        for (CompositeKey key : primaryIndex.keySet()) {
+            runInEpoch(() -> primaryIndex.computeIfPresent(key, (k, head) -> {
+                if (head.row == null) {
+                    return head;
+                }
+                Version version = addVersion(k, head, null, null, null);
+                for (OrderedIndex index : orderedIndexArray) {
+                    index.remove(k, head.row);
+                }
+                size.decrementAndGet();
+                return version;
+            }));
+        }
+    }
+
+    Collection<Version> getVersionChains() {
+        return primaryIndex.values();
+    }
+
+    BMap<BString, Object> load(Object row) {
+        return rowStore.load(row);
+    }
+
+    void closeSnapshot(TableSnapshot snapshot) {
+        openSnapshots.remove(snapshot);
+        if (!retainingKeys.isEmpty() && reclaimScheduled.compareAndSet(false, true)) {
+            BackgroundTasks.EXECUTOR.execute(() -> {
+                reclaimScheduled.set(false);
+                reclaimVersions();
+            });
+        }
+    }
+
+    /**
+     * Reclaims the older versions of the keys which are no longer visible to any open snapshot. This is done in the
+     * background once a snapshot is closed, as the versions retained for a snapshot are otherwise reclaimed only by
+     * the next write to the key.
+     */
+    void reclaimVersions() {
+        for (CompositeKey key : retainingKeys) {
+            primaryIndex.compute(key, (k, head) -> {
+                Version version = head == null ? null : retainVisibleVersions(head);
+                if (version == null || version.previous == null) {
+                    retainingKeys.remove(k);
+                }
+                return version;
+            });
+        }
+    }
+
+    int getOpenSnapshotCount() {
+        return openSnapshots.size();
+    }
+
+    /**
+     * Makes the table durable by loading the latest snapshot and replaying the write-ahead log in the given directory,
+     * and logging the writes from here on. The table is not written until this returns.
+     * <p>
+     * A table which already has records can only be made durable with an empty directory, in which case a snapshot of
+     * the records is written before this returns.
+     *
+     * @param directory        the directory of the log and the snapshots of the table
+     * @param snapshotInterval the interval between the snapshots of the table, or {@link Duration#ZERO} to write the
+     *                         snapshots only through {@link #checkpoint}
+     * @throws IOException if the directory cannot be read or the log cannot be created
+     */
+    public void enableDurability(Path directory, Duration snapshotInterval) throws IOException {
+        enableDurability(directory, snapshotInterval, null);
+    }
+
+    /**
+     * Makes the table durable as {@link #enableDurability(Path, Duration)} does, and restores the records as the given
+     * type of the entity.
+     *
+     * @param directory        the directory of the log and the snapshots of the table
+     * @param snapshotInterval the interval between the snapshots of the table, or {@link Duration#ZERO} to write the
+     *                         snapshots only through {@link #checkpoint}
+     * @param entityType       the record type of the entity, or `null` to restore the records as open records
+     * @throws IOException if the directory cannot be read or the log cannot be created
+     */
+    public void enableDurability(Path directory, Duration snapshotInterval, Type entityType) throws IOException {
+        synchronized (checkpointLock) {
+            if (log != null) {
+                throw new IllegalStateException("the table is already durable");
+            }
+            this.entityType = entityType;
+            Files.createDirectories(directory);
+            boolean hasRecords = size() > 0;
+            if (hasRecords && (SnapshotFile.exists(directory) || WriteAheadLog.exists(directory))) {
+                throw new IllegalStateException("the records of the table cannot be merged with the records in '" +
+                        directory + "'");
+            }
+            long snapshotVersion = SnapshotFile.load(directory, record -> restore(toEntityType(record)));
+            long[] lastVersion = {snapshotVersion};
+            long lastSegment = WriteAheadLog.replay(directory, snapshotVersion, (version, operation, value) -> {
+                if (operation == WriteAheadLog.PUT) {
+                    @SuppressWarnings("unchecked")
+                    BMap<BString, Object> record = (BMap<BString, Object>) value;
+                    restore(toEntityType(record));
+                } else {
+                    delete(keyExtractor.fromBalKey(value));
+                }
+                lastVersion[0] = version;
+            });
+            // The versions of the writes from here on follow the versions in the log
+            clock.accumulateAndGet(lastVersion[0], Math::max);
+            durabilityDirectory = directory;
+            log = new WriteAheadLog(directory, lastSegment + 1);
+            if (!snapshotInterval.isZero()) {
+                long interval = snapshotInterval.toMillis();
+                checkpointTask = BackgroundTasks.EXECUTOR.scheduleWithFixedDelay(this::checkpointInBackground,
+                        interval, interval, TimeUnit.MILLISECONDS);
+            }
+            if (hasRecords) {
+                checkpoint();
+            }
+        }
+    }
+
+    public boolean isDurable() {
+        return log != null;
+    }
+
+    /**
+     * Writes a snapshot of the table and deletes the part of the log which is covered by the snapshot. The writes
+     * done while the snapshot is written are logged, and are not blocked.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void checkpoint() throws IOException {
+        synchronized (checkpointLock) {
+            WriteAheadLog currentLog = log;
+            if (currentLog == null) {
+                throw new IllegalStateException("the table is not durable");
+            }
+            // As the writes are logged and applied together, the snapshot holds all the writes of the older segments,
+            // and the writes of the new segment are newer than the snapshot
+            long segment;
+            TableSnapshot snapshot;
+            Lock barrier = checkpointBarrier.writeLock();
+            barrier.lock();
+            try {
+                segment = currentLog.rotate();
+                snapshot = openSnapshot();
+            } finally {
+                barrier.unlock();
+            }
+            try (snapshot) {
+                SnapshotFile.write(durabilityDirectory, snapshot);
+            }
+            currentLog.deleteSegmentsBefore(segment);
+        }
+    }
+
+    /**
+     * Stops logging the writes to the table, after which the table cannot be written.
+     *
+     * @throws IOException if the pending writes cannot be logged, or if a periodic snapshot has failed
+     */
+    public void close() throws IOException {
+        synchronized (checkpointLock) {
+            if (log == null || closed) {
+                return;
+            }
+            closed = true;
+            if (checkpointTask != null) {
+                checkpointTask.cancel(false);
+            }
+            log.close();
+            if (checkpointFailure != null) {
+                throw checkpointFailure;
+            }
+        }
+    }
+
+    private void checkpointInBackground() {
+        try {
+            checkpoint();
+        } catch (IOException e) {
+            // Reported by `close`, as the periodic snapshots are not done by any strand
+            checkpointFailure = e;
+        }
+    }
+
+    private void restore(BMap<BString, Object> value) {
+        runWrite(null, () -> primaryIndex.compute(keyExtractor.fromRecord(value), (k, head) -> {
+            Object row = rowStore.store(value);
+            for (OrderedIndex index : orderedIndexArray) {
+                if (head != null && head.row != null) {
+                    index.remove(k, head.row);
+                }
+                index.add(k, row);
+            }
+            if (head == null || head.row == null) {
+                size.incrementAndGet();
+            }
+            return addVersion(k, head, row, null, null);
+        }));
+    }
+
+    /**
+     * Converts a decoded record, which is an open record, to the type of the entity along with its nested records
+     * and arrays.
+     *
+     * @param record the decoded record
+     * @return the frozen record of the type of the entity
+     * @throws io.ballerina.runtime.api.values.BError if the record does not belong to the type of the entity
+     */
+    @SuppressWarnings("unchecked")
+    private BMap<BString, Object> toEntityType(BMap<BString, Object> record) {
+        BMap<BString, Object> value = entityType == null ? record :
+                (BMap<BString, Object>) ValueUtils.convert(record, entityType);
+        value.freezeDirect();
+        return value;
+    }
+
+    // The values are validated before the write is logged, as the ordered indexes are updated after it is logged
+    private void validateIndexValues(BMap<BString, Object> value) {
+        for (OrderedIndex index : orderedIndexArray) {
+            index.validate(value);
+        }
+    }
+
+    private void runWrite(byte[] logEntry, Runnable write) {
+        if (logEntry == null) {
+            runInEpoch(write);
+            return;
+        }
+        // The epoch is entered under the barrier, as a checkpoint opens its snapshot while holding the barrier
+        Lock barrier = checkpointBarrier.readLock();
+        barrier.lock();
+        try {
+            runInEpoch(write);
+        } finally {
+            barrier.unlock();
+        }
+    }
+
+    private void runInEpoch(Runnable write) {
+        AtomicLong writes;
+        while (true) {
+            int epoch = writeEpoch;
+            writes = writesInProgress[epoch];
+            writes.incrementAndGet();
+            if (writeEpoch == epoch) {
+                break;
+            }
+            // A snapshot which awaits the writes of this epoch is being opened
+            writes.decrementAndGet();
+        }
+        try {
+            write.run();
+        } finally {
+            writes.decrementAndGet();
+        }
+    }
+
+    private byte[] encodeLogEntry(byte operation, Object value) {
+        if (log == null) {
+            return null;
+        }
+        try {
+            return WriteAheadLog.encode(operation, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitDurable(long logSequence) {
+        if (logSequence == 0) {
+            return;
+        }
+        try {
+            log.awaitDurable(logSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Called while holding the lock of the key, hence the log entries of a key are in the order of the versions
+    private Version addVersion(CompositeKey key, Version head, Object row, byte[] logEntry, long[] logSequence) {
+        long versionNumber = clock.incrementAndGet();
+        if (logEntry != null) {
+            try {
+                logSequence[0] = log.append(versionNumber, logEntry);
+            } catch (IOException e) {
+                // The write is not applied, as it cannot be logged
+                rowStore.release(row);
+                throw new UncheckedIOException(e);
+            }
+        }
+        Version version = retainVisibleVersions(new Version(row, versionNumber, head));
+        if (version != null && version.previous != null) {
+            retainingKeys.add(key);
+        }
+        return version;
+    }
+
+    /**
+     * Drops the versions older than the given version which are not visible to any open snapshot, and releases their
+     * rows. Only the newest version which is not newer than each open snapshot is retained, along with the versions
+     * newer than the pin of a snapshot which is being opened. Called while holding the lock of the key.
+     *
+     * @param version the newest version of the key
+     * @return the version, or `null` if it is a deletion, and the older versions are not visible to any open snapshot
+     */
+    private Version retainVisibleVersions(Version version) {
+        Version candidate = version.previous;
+        Version retained = version;
+        if (candidate != null) {
+            long retainAllAfter = Long.MAX_VALUE;
+            long[] snapshotVersions = new long[4];
+            int count = 0;
+            for (TableSnapshot snapshot : openSnapshots) {
+                long snapshotVersion = snapshot.getVersion();
+                if (snapshotVersion == TableSnapshot.OPENING) {
+                    snapshotVersion = snapshot.getPin();
+                    retainAllAfter = Math.min(retainAllAfter, snapshotVersion);
+                }
+                if (count == snapshotVersions.length) {
+                    snapshotVersions = Arrays.copyOf(snapshotVersions, count * 2);
+                }
+                snapshotVersions[count++] = snapshotVersion;
+            }
+            Arrays.sort(snapshotVersions, 0, count);
+            // The snapshots are visited from the newest, skipping the ones which see a retained version
+            int next = count - 1;
+            while (next >= 0 && snapshotVersions[next] >= version.version) {
+                next--;
+            }
+            while (candidate != null && (next >= 0 || candidate.version > retainAllAfter)) {
+                if (candidate.version > retainAllAfter || (next >= 0 && candidate.version <= snapshotVersions[next])) {
+                    retained.previous = candidate;
+                    retained = candidate;
+                    while (next >= 0 && snapshotVersions[next] >= candidate.version) {
+                        next--;
+                    }
+                } else {
+                    rowStore.release(candidate.row);
+                }
+                candidate = candidate.previous;
+            }
+            retained.previous = null;
+            for (; candidate != null; candidate = candidate.previous) {
+                rowStore.release(candidate.row);
+            }
+        }
+        if (retained == version && version.row == null) {
+            // The deleted record is not visible to any snapshot
+            return null;
+        }
+        return version;
+    }
+
+    private static final class BackgroundTasks {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "persist-inmemory-tasks");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A version of the record of a key, which holds the row of the record in the storage mode of the table. A `null`
+     * row marks the deletion of the record.
+     */
+    static final class Version {
+        final Object row;
+        final long version;
+        volatile Version previous;
+
+        Version(Object row, long version, Version previous) {
+            this.row = row;
+            this.version = version;
+            this.previous = previous;
+        }
+    }
+}
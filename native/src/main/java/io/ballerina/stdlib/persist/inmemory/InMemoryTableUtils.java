@@ -0,0 +1,334 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.persist.CompositeKey;
+import io.ballerina.stdlib.persist.ErrorGenerator;
+import io.ballerina.stdlib.persist.LimitedIterator;
+import io.ballerina.stdlib.persist.Utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * This class has the native methods of the `persist:InMemoryTable` class.
+ *
+ * @since 1.7.1
+ */
+public class InMemoryTableUtils {
+
+    static final String TABLE = "inMemoryTable";
+    static final String SNAPSHOT_ITERATOR = "inMemoryTableSnapshotIterator";
+    static final String COUNT = "count";
+    static final String SUM = "sum";
+    static final String MIN = "min";
+    static final BString DIRECTORY = fromString("directory");
+    static final BString SNAPSHOT_INTERVAL = fromString("snapshotInterval");
+
+    private InMemoryTableUtils() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object init(BObject table, BString entity, BArray keyFields, BMap<BString, Object> orderedIndexes,
+                              BString storageMode, Object durability, Object entityType) {
+        Map<String, String[]> indexes = new LinkedHashMap<>();
+        for (Map.Entry<BString, Object> index : orderedIndexes.entrySet()) {
+            indexes.put(index.getKey().getValue(), ((BArray) index.getValue()).getStringArray());
+        }
+        InMemoryTable inMemoryTable = new InMemoryTable(Utils.getKeyExtractor(keyFields), indexes,
+                StorageMode.valueOf(storageMode.getValue()));
+        table.addNativeData(TABLE, inMemoryTable);
+        if (durability == null) {
+            return null;
+        }
+        BMap<BString, Object> config = (BMap<BString, Object>) durability;
+        Path directory = Path.of(config.getStringValue(DIRECTORY).getValue(), entity.getValue());
+        BigDecimal interval = ((BDecimal) config.get(SNAPSHOT_INTERVAL)).decimalValue();
+        try {
+            inMemoryTable.enableDurability(directory, Duration.ofMillis(interval.movePointRight(3).longValue()),
+                    entityType instanceof BTypedesc typedesc ? typedesc.getDescribingType() : null);
+        } catch (IOException | RuntimeException e) {
+            return ErrorGenerator.getBasicPersistError("failed to restore the '" + entity.getValue() +
+                    "' table from '" + directory + "': " + e.getMessage());
+        }
+        return null;
+    }
+
+    public static Object get(BObject table, Object key) {
+        InMemoryTable inMemoryTable = getTable(table);
+        return inMemoryTable.getByKey(inMemoryTable.getKeyExtractor().fromBalKey(key));
+    }
+
+    public static Object getFields(BObject table, Object key, BArray fields) {
+        InMemoryTable inMemoryTable = getTable(table);
+        BString[] projectedFields = new BString[fields.size()];
+        for (int i = 0; i < projectedFields.length; i++) {
+            projectedFields[i] = fields.getBString(i);
+        }
+        return inMemoryTable.getByKey(inMemoryTable.getKeyExtractor().fromBalKey(key), projectedFields);
+    }
+
+    public static boolean has(BObject table, Object key) {
+        InMemoryTable inMemoryTable = getTable(table);
+        return inMemoryTable.containsKey(inMemoryTable.getKeyExtractor().fromBalKey(key));
+    }
+
+    public static Object insert(BObject table, BMap<BString, Object> value) {
+        CompositeKey key;
+        try {
+            key = getTable(table).insert(value);
+        } catch (UncheckedIOException e) {
+            return getLogError(e.getCause());
+        } catch (IllegalArgumentException e) {
+            return ErrorGenerator.getBasicPersistError(e.getMessage());
+        }
+        return key == null ? null : key.toBalKey();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object insertAll(BObject table, BArray values) {
+        List<BMap<BString, Object>> records = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            records.add((BMap<BString, Object>) values.get(i));
+        }
+        List<CompositeKey> keys;
+        try {
+            keys = getTable(table).insertAll(records);
+        } catch (UncheckedIOException e) {
+            return getLogError(e.getCause());
+        } catch (IllegalArgumentException e) {
+            return ErrorGenerator.getBasicPersistError(e.getMessage());
+        }
+        Object[] balKeys = new Object[keys.size()];
+        for (int i = 0; i < balKeys.length; i++) {
+            balKeys[i] = keys.get(i).toBalKey();
+        }
+        return ValueCreator.createArrayValue(balKeys, TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA));
+    }
+
+    public static Object replace(BObject table, Object key, BMap<BString, Object> expected,
+                                 BMap<BString, Object> value) {
+        InMemoryTable inMemoryTable = getTable(table);
+        try {
+            return inMemoryTable.replace(inMemoryTable.getKeyExtractor().fromBalKey(key), expected, value);
+        } catch (UncheckedIOException e) {
+            return getLogError(e.getCause());
+        } catch (IllegalArgumentException e) {
+            return ErrorGenerator.getBasicPersistError(e.getMessage());
+        }
+    }
+
+    public static Object remove(BObject table, Object key) {
+        InMemoryTable inMemoryTable = getTable(table);
+        try {
+            return inMemoryTable.delete(inMemoryTable.getKeyExtractor().fromBalKey(key));
+        } catch (UncheckedIOException e) {
+            return getLogError(e.getCause());
+        }
+    }
+
+    public static Object checkpoint(BObject table) {
+        InMemoryTable inMemoryTable = getTable(table);
+        if (!inMemoryTable.isDurable()) {
+            return ErrorGenerator.getBasicPersistError("the table is not durable");
+        }
+        try {
+            inMemoryTable.checkpoint();
+        } catch (IOException e) {
+            return ErrorGenerator.getBasicPersistError("failed to write a snapshot of the table: " + e.getMessage());
+        }
+        return null;
+    }
+
+    public static Object close(BObject table) {
+        try {
+            getTable(table).close();
+        } catch (IOException e) {
+            return ErrorGenerator.getBasicPersistError("failed to close the table: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private static BError getLogError(IOException e) {
+        return ErrorGenerator.getBasicPersistError("failed to log the write: " + e.getMessage());
+    }
+
+    public static long length(BObject table) {
+        return getTable(table).size();
+    }
+
+    public static BArray values(BObject table) {
+        Collection<BMap<BString, Object>> values = getTable(table).values();
+        return ValueCreator.createArrayValue(values.toArray(),
+                TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA));
+    }
+
+    public static Object scan(BObject table, BString indexName, Object lowerBound, Object upperBound,
+                              boolean descending, Object limit) {
+        OrderedIndex index = getTable(table).getOrderedIndex(indexName.getValue());
+        if (index == null) {
+            return ErrorGenerator.getBasicPersistError("no ordered index found with the name '" +
+                    indexName.getValue() + "'");
+        }
+        List<BMap<BString, Object>> values;
+        try {
+            values = index.scan(toBound(lowerBound), toBound(upperBound), descending,
+                    limit == null ? -1 : (Long) limit);
+        } catch (IllegalArgumentException e) {
+            return ErrorGenerator.getBasicPersistError(e.getMessage());
+        }
+        return ValueCreator.createArrayValue(values.toArray(),
+                TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA));
+    }
+
+    private static Object[] toBound(Object bound) {
+        if (bound == null) {
+            return null;
+        }
+        BArray values = (BArray) bound;
+        Object[] boundValues = new Object[values.size()];
+        for (int i = 0; i < boundValues.length; i++) {
+            boundValues[i] = values.get(i);
+        }
+        return boundValues;
+    }
+
+    public static void openSnapshot(BObject iterator, BObject table, Object limit) {
+        TableSnapshot snapshot = getTable(table).openSnapshot();
+        // The snapshot is released as soon as the records within the limit are read
+        iterator.addNativeData(SNAPSHOT_ITERATOR, new LimitedIterator<>(snapshot.iterator(),
+                limit == null ? -1 : (Long) limit, snapshot::close));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object nextInSnapshot(BObject iterator) {
+        Iterator<BMap<BString, Object>> snapshotIterator =
+                (Iterator<BMap<BString, Object>>) iterator.getNativeData(SNAPSHOT_ITERATOR);
+        // The snapshot is released by the iterator as soon as it is consumed, as the streams are not always closed
+        return snapshotIterator.hasNext() ? snapshotIterator.next() : null;
+    }
+
+    /**
+     * Computes an aggregate of the records remaining in a snapshot, without creating a stream entry for each record.
+     * The snapshot is released once the records are read.
+     *
+     * @param iterator the snapshot iterator
+     * @param function the aggregate function, which is one of `count`, `sum`, `min` and `max`
+     * @param field    the aggregated field, or `null` to count the records
+     * @return the aggregate, `null` if there are no values to aggregate, or an error
+     */
+    @SuppressWarnings("unchecked")
+    public static Object aggregateSnapshot(BObject iterator, BString function, Object field) {
+        Iterator<BMap<BString, Object>> snapshotIterator =
+                (Iterator<BMap<BString, Object>>) iterator.getNativeData(SNAPSHOT_ITERATOR);
+        String aggregateFunction = function.getValue();
+        if (aggregateFunction.equals(COUNT) || field == null) {
+            long count = 0;
+            while (snapshotIterator.hasNext()) {
+                snapshotIterator.next();
+                count++;
+            }
+            return count;
+        }
+        Object aggregate = null;
+        while (snapshotIterator.hasNext()) {
+            Object value = snapshotIterator.next().get((BString) field);
+            if (value == null) {
+                continue;
+            }
+            aggregate = aggregate == null ? value : accumulate(aggregateFunction, aggregate, value);
+            if (aggregate instanceof BError) {
+                closeSnapshot(iterator);
+                return aggregate;
+            }
+        }
+        return aggregate;
+    }
+
+    private static Object accumulate(String function, Object aggregate, Object value) {
+        if (aggregate instanceof Long current && value instanceof Long next) {
+            if (!function.equals(SUM)) {
+                return function.equals(MIN) ? Math.min(current, next) : Math.max(current, next);
+            }
+            try {
+                return Math.addExact(current, next);
+            } catch (ArithmeticException e) {
+                return ErrorGenerator.getBasicPersistError("the sum of the values overflows the int range");
+            }
+        }
+        if (aggregate instanceof Double current && value instanceof Double next) {
+            return function.equals(SUM) ? current + next : function.equals(MIN) ? Math.min(current, next) :
+                    Math.max(current, next);
+        }
+        if (aggregate instanceof BDecimal current && value instanceof BDecimal next) {
+            if (function.equals(SUM)) {
+                return current.add(next);
+            }
+            int comparison = current.decimalValue().compareTo(next.decimalValue());
+            return (function.equals(MIN) ? comparison <= 0 : comparison >= 0) ? current : next;
+        }
+        return ErrorGenerator.getBasicPersistError("the " + function + " of the values of the field cannot be " +
+                "computed");
+    }
+
+    public static void closeSnapshot(BObject iterator) {
+        ((LimitedIterator<?>) iterator.getNativeData(SNAPSHOT_ITERATOR)).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static BArray joinRelation(BArray parents, BArray related, BString relation, BArray referenceFields,
+                                      BArray foreignKeyFields, boolean many, BArray relationFields) {
+        List<BMap<BString, Object>> relatedRecords = new ArrayList<>(related.size());
+        for (int i = 0; i < related.size(); i++) {
+            relatedRecords.add((BMap<BString, Object>) related.get(i));
+        }
+        BString[] projectedFields = new BString[relationFields.size()];
+        for (int i = 0; i < projectedFields.length; i++) {
+            projectedFields[i] = relationFields.getBString(i);
+        }
+        HashJoin join = HashJoin.build(relatedRecords, Utils.getKeyExtractor(foreignKeyFields),
+                Utils.getKeyExtractor(referenceFields), projectedFields);
+        return join.joinAll(parents, relation, many);
+    }
+
+    static InMemoryTable getTable(BObject table) {
+        return (InMemoryTable) table.getNativeData(TABLE);
+    }
+}
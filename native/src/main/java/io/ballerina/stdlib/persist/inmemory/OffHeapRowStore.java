@@ -0,0 +1,382 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BMapInitialValueEntry;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.RecordProjector;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Stores the records of an {@link InMemoryTable} outside the heap. Each record is encoded into a compact binary row,
+ * which is appended to a direct buffer slab shared by the rows written after it, so that the heap holds only a small
+ * handle per row instead of the fields of the record.
+ * <p>
+ * A row is laid out as the number of fields followed by the id, the tag and the value of each field. Field names are
+ * replaced by ids from a dictionary of the table. Integers and floats take 8 bytes, booleans take 1 byte, and strings
+ * and decimals are held as UTF-8 bytes prefixed by their length, so that the fields which are not read can be skipped.
+ * <p>
+ * Records with fields of other types, such as `time:Date` or `byte[]`, are kept on the heap.
+ * <p>
+ * The table releases the rows which are no longer referred by its versions. A slab is compacted once less than half
+ * of it is held by live rows, by copying the live rows to the current slab and moving their handles, after which the
+ * slab is released as none of the handles refer to it. The rows are never written in place, hence a reader which has
+ * found the handle of a row before it is moved reads the row from the previous slab.
+ *
+ * @since 1.7.1
+ */
+final class OffHeapRowStore implements RowStore {
+
+    static final int SLAB_SIZE = 1 << 20;
+
+    private static final byte NIL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INT = 2;
+    private static final byte FLOAT = 3;
+    private static final byte DECIMAL = 4;
+    private static final byte STRING = 5;
+
+    private final Map<BString, Integer> fieldIds = new ConcurrentHashMap<>();
+    private volatile BString[] fieldNames = new BString[0];
+    private final ThreadLocal<ByteBuffer> encodeBuffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(1024));
+
+    // Guarded by the store
+    private Slab slab;
+    private long liveBytes;
+    private long reservedBytes;
+
+    @Override
+    public Object store(BMap<BString, Object> value) {
+        ByteBuffer encoded = encode(value);
+        if (encoded == null) {
+            return value;
+        }
+        Row row = new Row(value.getType(), value.isFrozen());
+        synchronized (this) {
+            allocate(row, encoded);
+        }
+        return row;
+    }
+
+    @Override
+    public synchronized void release(Object row) {
+        if (!(row instanceof Row offHeapRow) || offHeapRow.released) {
+            return;
+        }
+        offHeapRow.released = true;
+        Slab rowSlab = offHeapRow.location.slab;
+        rowSlab.liveBytes -= offHeapRow.length;
+        liveBytes -= offHeapRow.length;
+        if (rowSlab == slab) {
+            return;
+        }
+        if (rowSlab.liveBytes == 0) {
+            reservedBytes -= rowSlab.buffer.capacity();
+            rowSlab.rows.clear();
+        } else if (rowSlab.liveBytes < rowSlab.buffer.position() / 2) {
+            compact(rowSlab);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public BMap<BString, Object> load(Object row) {
+        if (!(row instanceof Row offHeapRow)) {
+            return (BMap<BString, Object>) row;
+        }
+        Location location = offHeapRow.location;
+        ByteBuffer buffer = location.slab.buffer;
+        int position = location.offset;
+        int fieldCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        BString[] names = fieldNames;
+        BMapInitialValueEntry[] entries = new BMapInitialValueEntry[fieldCount];
+        Object[] value = new Object[1];
+        for (int i = 0; i < fieldCount; i++) {
+            BString name = names[buffer.getInt(position)];
+            position = readValue(buffer, position + Integer.BYTES, value);
+            entries[i] = ValueCreator.createKeyFieldEntry(name, value[0]);
+        }
+        BMap<BString, Object> record = ValueCreator.createMapValue(offHeapRow.type, entries);
+        if (offHeapRow.frozen) {
+            record.freezeDirect();
+        }
+        return record;
+    }
+
+    @Override
+    public BMap<BString, Object> load(Object row, BString[] fields) {
+        BMap<BString, Object> projected = ValueCreator.createMapValue(RecordProjector.OPEN_RECORD_TYPE);
+        if (!(row instanceof Row)) {
+            BMap<BString, Object> value = load(row);
+            for (BString field : fields) {
+                projected.put(field, value.get(field));
+            }
+            return projected;
+        }
+        for (BString field : fields) {
+            projected.put(field, getField(row, field));
+        }
+        return projected;
+    }
+
+    @Override
+    public Object getField(Object row, BString field) {
+        if (!(row instanceof Row offHeapRow)) {
+            return load(row).get(field);
+        }
+        Integer fieldId = fieldIds.get(field);
+        if (fieldId == null) {
+            return null;
+        }
+        Location location = offHeapRow.location;
+        ByteBuffer buffer = location.slab.buffer;
+        int position = location.offset;
+        int fieldCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        for (int i = 0; i < fieldCount; i++) {
+            int id = buffer.getInt(position);
+            position += Integer.BYTES;
+            if (id == fieldId) {
+                Object[] value = new Object[1];
+                readValue(buffer, position, value);
+                return value[0];
+            }
+            position = skipValue(buffer, position);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of bytes of the slabs which hold the rows outside the heap.
+     *
+     * @return the number of bytes
+     */
+    synchronized long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    /**
+     * Returns the number of bytes of the rows which are not released.
+     *
+     * @return the number of bytes
+     */
+    synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    private ByteBuffer encode(BMap<BString, Object> value) {
+        ByteBuffer buffer = encodeBuffers.get();
+        buffer.clear();
+        buffer.putInt(value.size());
+        for (Map.Entry<BString, Object> entry : value.entrySet()) {
+            Object fieldValue = entry.getValue();
+            byte[] bytes = null;
+            byte tag;
+            if (fieldValue == null) {
+                tag = NIL;
+            } else if (fieldValue instanceof Boolean) {
+                tag = BOOLEAN;
+            } else if (fieldValue instanceof Long) {
+                tag = INT;
+            } else if (fieldValue instanceof Double) {
+                tag = FLOAT;
+            } else if (fieldValue instanceof BDecimal decimal) {
+                tag = DECIMAL;
+                bytes = decimal.decimalValue().toString().getBytes(StandardCharsets.UTF_8);
+            } else if (fieldValue instanceof BString string) {
+                tag = STRING;
+                bytes = string.getValue().getBytes(StandardCharsets.UTF_8);
+            } else {
+                return null;
+            }
+
+            buffer = ensureCapacity(buffer, Integer.BYTES + 1 + Long.BYTES + (bytes == null ? 0 : bytes.length));
+            buffer.putInt(getFieldId(entry.getKey()));
+            buffer.put(tag);
+            switch (tag) {
+                case BOOLEAN -> buffer.put((byte) ((Boolean) fieldValue ? 1 : 0));
+                case INT -> buffer.putLong((Long) fieldValue);
+                case FLOAT -> buffer.putDouble((Double) fieldValue);
+                case DECIMAL, STRING -> buffer.putInt(bytes.length).put(bytes);
+                default -> {
+                }
+            }
+        }
+        return buffer.flip();
+    }
+
+    private ByteBuffer ensureCapacity(ByteBuffer buffer, int length) {
+        if (buffer.remaining() >= length) {
+            return buffer;
+        }
+        ByteBuffer expanded = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+        expanded.put(buffer.flip());
+        encodeBuffers.set(expanded);
+        return expanded;
+    }
+
+    // Called while holding the lock of the store
+    private void allocate(Row row, ByteBuffer encoded) {
+        int length = encoded.remaining();
+        Slab target;
+        if (length > SLAB_SIZE) {
+            // A large row takes a slab of its own, which is released along with the row
+            target = new Slab(length);
+            reservedBytes += length;
+        } else {
+            if (slab == null || slab.buffer.remaining() < length) {
+                Slab previous = slab;
+                slab = new Slab(SLAB_SIZE);
+                reservedBytes += SLAB_SIZE;
+                if (previous != null && previous.liveBytes < previous.buffer.position() / 2) {
+                    compact(previous);
+                }
+            }
+            target = slab;
+        }
+        int offset = target.buffer.position();
+        target.buffer.put(encoded);
+        target.rows.add(row);
+        target.liveBytes += length;
+        liveBytes += length;
+        row.length = length;
+        row.location = new Location(target, offset);
+    }
+
+    // Called while holding the lock of the store
+    private void compact(Slab compacted) {
+        reservedBytes -= compacted.buffer.capacity();
+        liveBytes -= compacted.liveBytes;
+        for (Row row : compacted.rows) {
+            if (!row.released) {
+                allocate(row, compacted.buffer.slice(row.location.offset, row.length));
+            }
+        }
+        compacted.rows.clear();
+        compacted.liveBytes = 0;
+    }
+
+    private int getFieldId(BString field) {
+        Integer id = fieldIds.get(field);
+        if (id != null) {
+            return id;
+        }
+        synchronized (fieldIds) {
+            id = fieldIds.get(field);
+            if (id == null) {
+                id = fieldNames.length;
+                BString[] names = Arrays.copyOf(fieldNames, id + 1);
+                names[id] = field;
+                // The name is published before the id, hence the names of the ids of a row are always found
+                fieldNames = names;
+                fieldIds.put(field, id);
+            }
+            return id;
+        }
+    }
+
+    private static int readValue(ByteBuffer buffer, int position, Object[] value) {
+        byte tag = buffer.get(position++);
+        switch (tag) {
+            case BOOLEAN -> {
+                value[0] = buffer.get(position) == 1;
+                return position + 1;
+            }
+            case INT -> {
+                value[0] = buffer.getLong(position);
+                return position + Long.BYTES;
+            }
+            case FLOAT -> {
+                value[0] = buffer.getDouble(position);
+                return position + Long.BYTES;
+            }
+            case DECIMAL, STRING -> {
+                int length = buffer.getInt(position);
+                byte[] bytes = new byte[length];
+                buffer.get(position + Integer.BYTES, bytes);
+                String string = new String(bytes, StandardCharsets.UTF_8);
+                value[0] = tag == STRING ? fromString(string) : ValueCreator.createDecimalValue(new BigDecimal(string));
+                return position + Integer.BYTES + length;
+            }
+            default -> {
+                value[0] = null;
+                return position;
+            }
+        }
+    }
+
+    private static int skipValue(ByteBuffer buffer, int position) {
+        byte tag = buffer.get(position++);
+        return switch (tag) {
+            case BOOLEAN -> position + 1;
+            case INT, FLOAT -> position + Long.BYTES;
+            case DECIMAL, STRING -> position + Integer.BYTES + buffer.getInt(position);
+            default -> position;
+        };
+    }
+
+    /**
+     * The handle of a row written outside the heap, which is referred by the table. The location of the row changes
+     * when its slab is compacted.
+     */
+    private static final class Row {
+        final Type type;
+        final boolean frozen;
+        volatile Location location;
+        // Guarded by the store
+        int length;
+        boolean released;
+
+        Row(Type type, boolean frozen) {
+            this.type = type;
+            this.frozen = frozen;
+        }
+    }
+
+    private record Location(Slab slab, int offset) {
+    }
+
+    /**
+     * A direct buffer which the rows are appended to, along with the handles of the rows.
+     */
+    private static final class Slab {
+        final ByteBuffer buffer;
+        final List<Row> rows = new ArrayList<>();
+        int liveBytes;
+
+        Slab(int size) {
+            this.buffer = ByteBuffer.allocateDirect(size);
+        }
+    }
+}
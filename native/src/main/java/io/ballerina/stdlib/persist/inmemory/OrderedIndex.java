@@ -0,0 +1,350 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.CompositeKey;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * An ordered index over one or more fields of an entity in the in-memory datastore. Entries are held in a
+ * concurrent skip list sorted by the indexed fields and then by the key of the record, so that range scans and
+ * top-k reads take O(log n + k) time instead of sorting the whole table.
+ * <p>
+ * Values are ordered as in the `order by` clause of Ballerina queries, where `()` is ordered after all the other
+ * values. The `()` values of each indexed field are placed after the other values of the field in the descending
+ * order as well. Records such as `time:Date` are ordered field by field in the order of their type. Values of
+ * different basic types, which are found in fields of union types, are ordered by their types, so that any two values
+ * which can be indexed are ordered. The values of the indexed fields of a record are validated by {@link #validate}
+ * before the record is written.
+ *
+ * @since 1.7.1
+ */
+public class OrderedIndex {
+
+    private static final int ENTRY = 0;
+    private static final int LOWER_BOUND = -1;
+    private static final int UPPER_BOUND = 1;
+    private static final int UNORDERED = -1;
+
+    private final String name;
+    private final BString[] fields;
+    private final RowStore rowStore;
+    private final ConcurrentSkipListMap<IndexKey, Object> entries =
+            new ConcurrentSkipListMap<>(OrderedIndex::compareKeys);
+
+    OrderedIndex(String name, String[] fields, RowStore rowStore) {
+        this.name = name;
+        this.rowStore = rowStore;
+        this.fields = new BString[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            this.fields[i] = fromString(fields[i]);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // The index is updated by the table while holding the lock of the key, hence the writes of a key are ordered
+    void add(CompositeKey key, Object row) {
+        entries.put(createEntryKey(key, row), row);
+    }
+
+    void remove(CompositeKey key, Object row) {
+        entries.remove(createEntryKey(key, row));
+    }
+
+    /**
+     * Checks whether the values of the indexed fields of a record can be ordered, which are `()`, booleans, numbers,
+     * strings, and arrays and records of them.
+     *
+     * @param value the record
+     * @throws IllegalArgumentException if a value of an indexed field cannot be ordered
+     */
+    void validate(BMap<BString, Object> value) {
+        for (BString field : fields) {
+            if (!isOrdered(value.get(field))) {
+                throw new IllegalArgumentException("the value of the field '" + field.getValue() + "' cannot be " +
+                        "ordered by the '" + name + "' index");
+            }
+        }
+    }
+
+    /**
+     * Returns the records within the given bounds in the order of the index. A bound may hold the values of only
+     * the leading fields of the index, in which case it applies to those fields.
+     *
+     * @param lowerBound the inclusive lower bound, or `null` to start from the first record
+     * @param upperBound the inclusive upper bound, or `null` to scan up to the last record
+     * @param descending whether the records are returned in the descending order
+     * @param limit      the maximum number of records to return, or a negative value to return all the records
+     * @return the records within the bounds
+     */
+    public List<BMap<BString, Object>> scan(Object[] lowerBound, Object[] upperBound, boolean descending,
+                                            long limit) {
+        IndexKey from = lowerBound == null ? null : new IndexKey(lowerBound, null, LOWER_BOUND);
+        IndexKey to = upperBound == null ? null : new IndexKey(upperBound, null, UPPER_BOUND);
+        List<BMap<BString, Object>> result = new ArrayList<>(limit < 0 ? 16 : (int) Math.min(limit, 1024));
+        if (limit == 0) {
+            return result;
+        }
+        if (descending) {
+            collectDescending(from, to, new Object[0], result, limit);
+        } else {
+            collect(range(from, to).values().iterator(), result, limit);
+        }
+        return result;
+    }
+
+    /**
+     * Collects the entries of a range in the descending order, where the `()` values of each field are placed after
+     * the other values of the field. The range is split by the distinct values of a field, and the entries of each
+     * value are collected by the values of the next field, up to the limit.
+     *
+     * @param from   the lower bound of the range, or `null` to start from the first entry
+     * @param to     the upper bound of the range, or `null` to end at the last entry
+     * @param prefix the values of the leading fields, which are the same for all the entries of the range
+     * @param result the collected records
+     * @param limit  the maximum number of records to collect, or a negative value to collect all the records
+     */
+    private void collectDescending(IndexKey from, IndexKey to, Object[] prefix, List<BMap<BString, Object>> result,
+                                   long limit) {
+        int field = prefix.length;
+        if (field == fields.length) {
+            collect(range(from, to).descendingMap().values().iterator(), result, limit);
+            return;
+        }
+        Object[] nilPrefix = Arrays.copyOf(prefix, field + 1);
+        IndexKey nilKeys = new IndexKey(nilPrefix, null, LOWER_BOUND);
+        IndexKey valuesTo = to == null || compareKeys(nilKeys, to) < 0 ? nilKeys : to;
+        if (field == fields.length - 1) {
+            // The entries of the last field are in the descending order once the `()` values are moved
+            collect(range(from, valuesTo).descendingMap().values().iterator(), result, limit);
+        } else {
+            NavigableMap<IndexKey, Object> values = range(from, valuesTo);
+            while (!values.isEmpty() && !isFull(result, limit)) {
+                Object[] valuePrefix = Arrays.copyOf(prefix, field + 1);
+                valuePrefix[field] = values.lastKey().values[field];
+                IndexKey valueKeys = new IndexKey(valuePrefix, null, LOWER_BOUND);
+                collectDescending(max(from, valueKeys), valuesTo, valuePrefix, result, limit);
+                valuesTo = valueKeys;
+                values = range(from, valuesTo);
+            }
+        }
+        if (!isFull(result, limit)) {
+            collectDescending(max(from, nilKeys), to, nilPrefix, result, limit);
+        }
+    }
+
+    private static IndexKey max(IndexKey bound, IndexKey other) {
+        return bound == null || compareKeys(other, bound) > 0 ? other : bound;
+    }
+
+    private static boolean isFull(List<?> result, long limit) {
+        return limit >= 0 && result.size() >= limit;
+    }
+
+    // Bounds are never equal to an entry, hence whether they are inclusive does not matter
+    private NavigableMap<IndexKey, Object> range(IndexKey from, IndexKey to) {
+        if (from != null && to != null) {
+            if (compareKeys(from, to) > 0) {
+                return Collections.emptyNavigableMap();
+            }
+            return entries.subMap(from, true, to, true);
+        } else if (from != null) {
+            return entries.tailMap(from, true);
+        } else if (to != null) {
+            return entries.headMap(to, true);
+        }
+        return entries;
+    }
+
+    // Only the rows which are returned are decoded
+    private void collect(Iterator<Object> iterator, List<BMap<BString, Object>> result, long limit) {
+        while (!isFull(result, limit) && iterator.hasNext()) {
+            result.add(rowStore.load(iterator.next()));
+        }
+    }
+
+    private IndexKey createEntryKey(CompositeKey key, Object row) {
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = rowStore.getField(row, fields[i]);
+        }
+        return new IndexKey(values, key, ENTRY);
+    }
+
+    private static int compareKeys(IndexKey first, IndexKey second) {
+        int length = Math.min(first.values.length, second.values.length);
+        for (int i = 0; i < length; i++) {
+            int result = compareValues(first.values[i], second.values[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        if (first.bound != ENTRY && second.bound != ENTRY && first.values.length != second.values.length) {
+            // A bound of fewer values is outside the bound of more values which have the same leading values
+            return first.values.length < second.values.length ? first.bound : -second.bound;
+        }
+        if (first.bound != ENTRY || second.bound != ENTRY) {
+            return Integer.compare(first.bound, second.bound);
+        }
+        // Records with the same indexed values are ordered by their keys
+        for (int i = 0; i < first.key.size(); i++) {
+            int result = compareValues(first.key.get(i), second.key.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    static int compareValues(Object first, Object second) {
+        if (first == second) {
+            return 0;
+        }
+        if (first == null || second == null) {
+            return first == null ? 1 : -1;
+        }
+        int firstRank = getTypeRank(first);
+        int secondRank = getTypeRank(second);
+        if (firstRank != secondRank && firstRank != UNORDERED && secondRank != UNORDERED) {
+            return Integer.compare(firstRank, secondRank);
+        }
+        if (first instanceof Long firstLong && second instanceof Long secondLong) {
+            return Long.compare(firstLong, secondLong);
+        }
+        if ((first instanceof Double || second instanceof Double) && firstRank == secondRank) {
+            return Double.compare(toDouble(first), toDouble(second));
+        }
+        if (first instanceof BString firstString && second instanceof BString secondString) {
+            return firstString.getValue().compareTo(secondString.getValue());
+        }
+        if (first instanceof Boolean firstBoolean && second instanceof Boolean secondBoolean) {
+            return Boolean.compare(firstBoolean, secondBoolean);
+        }
+        if (isNumeric(first) && isNumeric(second)) {
+            return toBigDecimal(first).compareTo(toBigDecimal(second));
+        }
+        if (first instanceof BArray firstArray && second instanceof BArray secondArray) {
+            Object[] firstValues = new Object[firstArray.size()];
+            Object[] secondValues = new Object[secondArray.size()];
+            for (int i = 0; i < firstValues.length; i++) {
+                firstValues[i] = firstArray.get(i);
+            }
+            for (int i = 0; i < secondValues.length; i++) {
+                secondValues[i] = secondArray.get(i);
+            }
+            return compareSequences(firstValues, secondValues);
+        }
+        if (first instanceof BMap<?, ?> firstMap && second instanceof BMap<?, ?> secondMap) {
+            return compareSequences(((BMap<BString, Object>) firstMap).values().toArray(),
+                    ((BMap<BString, Object>) secondMap).values().toArray());
+        }
+        throw new IllegalArgumentException("values of type '" + first.getClass().getSimpleName() + "' and '" +
+                second.getClass().getSimpleName() + "' cannot be ordered");
+    }
+
+    private static int compareSequences(Object[] first, Object[] second) {
+        int length = Math.min(first.length, second.length);
+        for (int i = 0; i < length; i++) {
+            int result = compareValues(first[i], second[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(first.length, second.length);
+    }
+
+    private static int getTypeRank(Object value) {
+        if (value instanceof Boolean) {
+            return 0;
+        } else if (value instanceof Double || isNumeric(value)) {
+            return 1;
+        } else if (value instanceof BString) {
+            return 2;
+        } else if (value instanceof BArray) {
+            return 3;
+        } else if (value instanceof BMap<?, ?>) {
+            return 4;
+        }
+        return UNORDERED;
+    }
+
+    private static boolean isOrdered(Object value) {
+        if (value instanceof BArray array) {
+            for (int i = 0; i < array.size(); i++) {
+                if (!isOrdered(array.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof BMap<?, ?> map) {
+            for (Object fieldValue : map.values()) {
+                if (!isOrdered(fieldValue)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return value == null || getTypeRank(value) != UNORDERED;
+    }
+
+    // The members of `byte[]` values are read as integers
+    private static boolean isNumeric(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof BDecimal;
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof BDecimal decimal) {
+            return decimal.decimalValue().doubleValue();
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BDecimal decimal) {
+            return decimal.decimalValue();
+        }
+        return BigDecimal.valueOf(((Number) value).longValue());
+    }
+
+    private record IndexKey(Object[] values, CompositeKey key, int bound) {
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.RecordProjector;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Encodes the records of an {@link InMemoryTable} for the write-ahead log and the snapshot files. Each value is
+ * written as a type tag followed by its payload, and nested records and arrays are written recursively.
+ * <p>
+ * Records are decoded as open records, and arrays other than `byte[]` are decoded as `anydata[]`, as the types of
+ * the values are not encoded. The table converts the decoded records to the type of the entity when it is known.
+ *
+ * @since 1.7.1
+ */
+final class RowCodec {
+
+    private static final byte NIL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte FLOAT = 4;
+    private static final byte DECIMAL = 5;
+    private static final byte STRING = 6;
+    private static final byte BYTES = 7;
+    private static final byte ARRAY = 8;
+    private static final byte MAP = 9;
+
+    private RowCodec() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static void write(DataOutput output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NIL);
+        } else if (value instanceof Boolean booleanValue) {
+            output.writeByte(booleanValue ? TRUE : FALSE);
+        } else if (value instanceof Long longValue) {
+            output.writeByte(INT);
+            output.writeLong(longValue);
+        } else if (value instanceof Double doubleValue) {
+            output.writeByte(FLOAT);
+            output.writeDouble(doubleValue);
+        } else if (value instanceof BDecimal decimal) {
+            output.writeByte(DECIMAL);
+            writeString(output, decimal.decimalValue().toString());
+        } else if (value instanceof BString string) {
+            output.writeByte(STRING);
+            writeString(output, string.getValue());
+        } else if (value instanceof BArray array && array.getElementType().getTag() == TypeTags.BYTE_TAG) {
+            byte[] bytes = array.getBytes();
+            output.writeByte(BYTES);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        } else if (value instanceof BArray array) {
+            output.writeByte(ARRAY);
+            output.writeInt(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                write(output, array.get(i));
+            }
+        } else if (value instanceof BMap<?, ?> map) {
+            output.writeByte(MAP);
+            output.writeInt(map.size());
+            for (Map.Entry<BString, Object> entry : ((BMap<BString, Object>) map).entrySet()) {
+                writeString(output, entry.getKey().getValue());
+                write(output, entry.getValue());
+            }
+        } else {
+            throw new IOException("values of type '" + value.getClass().getSimpleName() + "' cannot be stored");
+        }
+    }
+
+    static Object read(ByteBuffer input) {
+        byte tag = input.get();
+        return switch (tag) {
+            case NIL -> null;
+            case FALSE -> false;
+            case TRUE -> true;
+            case INT -> input.getLong();
+            case FLOAT -> input.getDouble();
+            case DECIMAL -> ValueCreator.createDecimalValue(new BigDecimal(readString(input)));
+            case STRING -> fromString(readString(input));
+            case BYTES -> {
+                byte[] bytes = new byte[input.getInt()];
+                input.get(bytes);
+                yield ValueCreator.createArrayValue(bytes);
+            }
+            case ARRAY -> {
+                Object[] values = new Object[input.getInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = read(input);
+                }
+                yield ValueCreator.createArrayValue(values, TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA));
+            }
+            case MAP -> {
+                BMap<BString, Object> map = ValueCreator.createMapValue(RecordProjector.OPEN_RECORD_TYPE);
+                int size = input.getInt();
+                for (int i = 0; i < size; i++) {
+                    BString key = fromString(readString(input));
+                    map.put(key, read(input));
+                }
+                yield map;
+            }
+            default -> throw new IllegalStateException("unknown value tag '" + tag + "'");
+        };
+    }
+
+    /**
+     * Reads a record written by {@link #write}, which is frozen along with its nested values.
+     *
+     * @param input the buffer positioned at the record
+     * @return the record
+     */
+    @SuppressWarnings("unchecked")
+    static BMap<BString, Object> readRecord(ByteBuffer input) {
+        BMap<BString, Object> value = (BMap<BString, Object>) read(input);
+        value.freezeDirect();
+        return value;
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer input) {
+        byte[] bytes = new byte[input.getInt()];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Stores the records of an {@link InMemoryTable} in the representation of a storage mode. The stored rows are
+ * immutable, and are referred by the versions of the table and the entries of the ordered indexes. A row is stored
+ * only once the write is accepted, and is released once the version which holds it is reclaimed.
+ *
+ * @since 1.7.1
+ */
+interface RowStore {
+
+    /**
+     * Returns the row to be stored for the given record.
+     *
+     * @param value the record
+     * @return the row
+     */
+    Object store(BMap<BString, Object> value);
+
+    /**
+     * Releases a row which is no longer referred by the versions of the table. The readers which have found the row
+     * before it is released can still load it.
+     *
+     * @param row the row
+     */
+    void release(Object row);
+
+    /**
+     * Returns the record of the given row.
+     *
+     * @param row the row
+     * @return the record
+     */
+    BMap<BString, Object> load(Object row);
+
+    /**
+     * Returns a record with only the given fields of the row.
+     *
+     * @param row    the row
+     * @param fields the fields to load
+     * @return the record with the given fields
+     */
+    BMap<BString, Object> load(Object row, BString[] fields);
+
+    /**
+     * Returns the value of a field of the given row.
+     *
+     * @param row   the row
+     * @param field the field
+     * @return the value of the field
+     */
+    Object getField(Object row, BString field);
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * The snapshot file of a durable {@link InMemoryTable}, which holds the records of a {@link TableSnapshot} and the
+ * version of the snapshot. The file is written to a temporary file which replaces the previous snapshot once it is
+ * forced to the disk, and the replacement is forced along with the directory before {@link #write} returns, hence
+ * there is always a complete snapshot to restart from.
+ * <p>
+ * The file is loaded through memory mappings, so that the records are decoded directly from the page cache.
+ *
+ * @since 1.7.1
+ */
+final class SnapshotFile {
+
+    private static final String FILE_NAME = "snapshot.dat";
+    private static final String TEMP_FILE_NAME = "snapshot.dat.tmp";
+    private static final long MAGIC = 0x5045525349535431L;
+
+    private SnapshotFile() {
+    }
+
+    static boolean exists(Path directory) {
+        return Files.exists(directory.resolve(FILE_NAME));
+    }
+
+    static void write(Path directory, TableSnapshot snapshot) throws IOException {
+        Path tempFile = directory.resolve(TEMP_FILE_NAME);
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                     Channels.newOutputStream(channel), 1 << 16))) {
+            FrameBuffer bytes = new FrameBuffer();
+            DataOutputStream body = new DataOutputStream(bytes);
+            body.writeLong(MAGIC);
+            body.writeLong(snapshot.getVersion());
+            writeFrame(output, bytes);
+            Iterator<BMap<BString, Object>> records = snapshot.iterator();
+            while (records.hasNext()) {
+                RowCodec.write(body, records.next());
+                writeFrame(output, bytes);
+            }
+            output.flush();
+            channel.force(true);
+        }
+        Files.move(tempFile, directory.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        // The move is durable before the log segments covered by the snapshot are deleted
+        FramedFile.forceDirectory(directory);
+    }
+
+    /**
+     * Loads the records of the snapshot in the given directory.
+     *
+     * @param directory the directory of the snapshot
+     * @param consumer  the consumer of the records
+     * @return the version of the snapshot, or 0 if the directory does not have a snapshot
+     * @throws IOException if the snapshot cannot be read
+     */
+    static long load(Path directory, Consumer<BMap<BString, Object>> consumer) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long[] version = {-1};
+        long length;
+        try {
+            length = FramedFile.read(file, body -> {
+                if (version[0] >= 0) {
+                    consumer.accept(RowCodec.readRecord(body));
+                } else if (body.getLong() == MAGIC) {
+                    version[0] = body.getLong();
+                } else {
+                    throw new IllegalStateException("unknown file format");
+                }
+            });
+        } catch (IllegalStateException e) {
+            throw new IOException("the snapshot '" + file + "' cannot be read: " + e.getMessage(), e);
+        }
+        // The snapshot is complete once it replaces the previous one, hence an incomplete frame is a corruption
+        if (length < Files.size(file) || version[0] < 0) {
+            throw new IOException("the snapshot '" + file + "' is corrupted");
+        }
+        return version[0];
+    }
+
+    private static void writeFrame(DataOutputStream output, FrameBuffer bytes) throws IOException {
+        FramedFile.writeFrame(output, bytes.getBuffer(), bytes.size());
+        bytes.reset();
+    }
+
+    /**
+     * A buffer of the body of a frame, which is reused for the frames of all the records.
+     */
+    private static final class FrameBuffer extends ByteArrayOutputStream {
+
+        FrameBuffer() {
+            super(256);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+/**
+ * The storage modes of the records of an {@link InMemoryTable}.
+ *
+ * @since 1.7.1
+ */
+public enum StorageMode {
+    /**
+     * Records are stored on the heap as they are.
+     */
+    HEAP,
+    /**
+     * Records are encoded into direct buffers outside the heap, and decoded when they are read.
+     */
+    OFF_HEAP
+}
@@ -0,0 +1,135 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A consistent view of an {@link InMemoryTable} as of the time it is opened. Reading a snapshot does not block the
+ * concurrent writes to the table, and the writes done after the snapshot is opened are not visible to it.
+ * <p>
+ * The versions of the records held by a snapshot are not reclaimed until the snapshot is closed.
+ * <p>
+ * A snapshot is registered with the table before its version is read from the clock of the table, so that the writers
+ * either find it, or write versions which are not newer than it. The writers which find a snapshot while its version
+ * is being read retain all the versions which may be visible to it, which are the versions newer than the pin of the
+ * snapshot and the newest version which is not newer than the pin.
+ *
+ * @since 1.7.1
+ */
+public final class TableSnapshot implements Comparable<TableSnapshot>, AutoCloseable {
+
+    static final long OPENING = -1;
+
+    private final InMemoryTable table;
+    private final long pin;
+    private final long id;
+    private volatile long version = OPENING;
+
+    TableSnapshot(InMemoryTable table, long pin, long id) {
+        this.table = table;
+        this.pin = pin;
+        this.id = id;
+    }
+
+    /**
+     * Returns the version of the snapshot, which is the version of the newest write visible to it.
+     *
+     * @return the version, or {@link #OPENING} if the snapshot is being opened
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // The version of the clock before the snapshot is registered, which is not newer than the version of the snapshot
+    long getPin() {
+        return pin;
+    }
+
+    void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns an iterator of the records visible to the snapshot.
+     *
+     * @return the iterator of the records
+     */
+    public Iterator<BMap<BString, Object>> iterator() {
+        return new SnapshotIterator(table.getVersionChains().iterator());
+    }
+
+    @Override
+    public void close() {
+        table.closeSnapshot(this);
+    }
+
+    @Override
+    public int compareTo(TableSnapshot other) {
+        int result = Long.compare(pin, other.pin);
+        return result != 0 ? result : Long.compare(id, other.id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof TableSnapshot other && id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    private final class SnapshotIterator implements Iterator<BMap<BString, Object>> {
+        private final Iterator<InMemoryTable.Version> chains;
+        private Object next;
+
+        SnapshotIterator(Iterator<InMemoryTable.Version> chains) {
+            this.chains = chains;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && chains.hasNext()) {
+                InMemoryTable.Version visible = chains.next();
+                while (visible != null && visible.version > version) {
+                    visible = visible.previous;
+                }
+                if (visible != null) {
+                    next = visible.row;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public BMap<BString, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object row = next;
+            next = null;
+            return table.load(row);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An append-only log of the writes to an {@link InMemoryTable}. Each entry holds the version of the write, the
+ * operation and the record, or the key of a deleted record.
+ * <p>
+ * Writes are committed in groups: entries are appended to an in-memory buffer, and the writer which waits for its
+ * entry to be durable writes and forces all the buffered entries to the disk at once, while the writers arriving in
+ * the meantime wait for the next group. Hence a single `fsync` covers the writes of all the concurrent writers.
+ * <p>
+ * The log is split into numbered segments. A new segment is started when the table is checkpointed, and the segments
+ * covered by the snapshot are deleted once the snapshot is written.
+ *
+ * @since 1.7.1
+ */
+final class WriteAheadLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final Object appendLock = new Object();
+    private final Object flushLock = new Object();
+
+    // Guarded by the append lock
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(1 << 16);
+    private final DataOutputStream pendingOutput = new DataOutputStream(pending);
+    private long appendedSequence;
+    private volatile IOException failure;
+
+    // Guarded by the flush lock
+    private FileChannel segment;
+    private long segmentNumber;
+    private volatile long durableSequence;
+
+    WriteAheadLog(Path directory, long segmentNumber) throws IOException {
+        this.directory = directory;
+        this.segmentNumber = segmentNumber;
+        this.segment = openSegment(segmentNumber);
+    }
+
+    /**
+     * Encodes the operation and the value of an entry, which is done before taking the lock of the key of the write.
+     *
+     * @param operation the operation
+     * @param value     the record for a put, or the key of the record for a delete
+     * @return the encoded entry without the version
+     * @throws IOException if the value cannot be encoded
+     */
+    static byte[] encode(byte operation, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(operation);
+        RowCodec.write(output, value);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Appends an entry, which is durable once {@link #awaitDurable} returns for the returned sequence. Entries are
+     * appended while holding the lock of the key of the write, hence the entries of a key are in the order of the
+     * versions of the key.
+     *
+     * @param version the version of the write
+     * @param entry   the encoded entry
+     * @return the sequence of the entry
+     * @throws IOException if the log has failed or is closed
+     */
+    long append(long version, byte[] entry) throws IOException {
+        synchronized (appendLock) {
+            checkFailure();
+            byte[] body = new byte[Long.BYTES + entry.length];
+            ByteBuffer.wrap(body).putLong(version).put(entry);
+            FramedFile.writeFrame(pendingOutput, body, body.length);
+            return ++appendedSequence;
+        }
+    }
+
+    void awaitDurable(long sequence) throws IOException {
+        if (durableSequence >= sequence) {
+            return;
+        }
+        synchronized (flushLock) {
+            // The entry may have been written by the group of the previous writer
+            if (durableSequence < sequence) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Starts a new segment once the entries appended so far are written.
+     *
+     * @return the number of the new segment
+     * @throws IOException if the log has failed or the segment cannot be created
+     */
+    long rotate() throws IOException {
+        synchronized (flushLock) {
+            flush();
+            FileChannel next = openSegment(segmentNumber + 1);
+            segment.close();
+            segment = next;
+            return ++segmentNumber;
+        }
+    }
+
+    void deleteSegmentsBefore(long number) throws IOException {
+        for (long existing : listSegments(directory)) {
+            if (existing < number) {
+                Files.deleteIfExists(getSegmentPath(directory, existing));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (flushLock) {
+            try {
+                flush();
+            } finally {
+                synchronized (appendLock) {
+                    if (failure == null) {
+                        failure = new IOException("the write-ahead log is closed");
+                    }
+                }
+                segment.close();
+            }
+        }
+    }
+
+    // Called while holding the flush lock
+    private void flush() throws IOException {
+        byte[] group;
+        long groupSequence;
+        synchronized (appendLock) {
+            checkFailure();
+            group = pending.toByteArray();
+            pending.reset();
+            groupSequence = appendedSequence;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(group);
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            segment.force(false);
+        } catch (IOException e) {
+            // The entries of the group are lost, hence none of the later entries are accepted
+            failure = e;
+            throw e;
+        }
+        durableSequence = groupSequence;
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("the write-ahead log is not available: " + failure.getMessage(), failure);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        FileChannel channel = FileChannel.open(getSegmentPath(directory, number), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+        try {
+            // The entries forced to the segment are lost on a crash unless the segment is found in the directory
+            FramedFile.forceDirectory(directory);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Replays the entries of the log newer than the given version in the order they are written.
+     * <p>
+     * The replay of the last segment stops at the first incomplete entry, which belongs to the group being written
+     * when the process stopped, and the segment is cut at the entry so that it is complete on the later restarts. The
+     * other segments are complete once a new segment is started, hence an incomplete entry in one of them fails the
+     * replay instead of dropping the later writes.
+     *
+     * @param directory    the directory of the log
+     * @param afterVersion the version of the snapshot which the entries are applied on
+     * @param consumer     the consumer of the entries
+     * @return the number of the last segment, or 0 if the log does not have any segment
+     * @throws IOException if the log cannot be read, or a segment other than the last one is corrupted
+     */
+    static long replay(Path directory, long afterVersion, EntryConsumer consumer) throws IOException {
+        List<Long> segments = listSegments(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = getSegmentPath(directory, segments.get(i));
+            long length;
+            try {
+                length = FramedFile.read(segment, body -> {
+                    long version = body.getLong();
+                    if (version > afterVersion) {
+                        byte operation = body.get();
+                        consumer.accept(version, operation, RowCodec.read(body));
+                    }
+                });
+            } catch (IllegalStateException e) {
+                throw new IOException("the log segment '" + segment + "' cannot be read: " + e.getMessage(), e);
+            }
+            if (length < Files.size(segment)) {
+                if (i < segments.size() - 1) {
+                    throw new IOException("the log segment '" + segment + "' is corrupted at offset " + length);
+                }
+                FramedFile.truncate(segment, length);
+            }
+        }
+        return segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+    }
+
+    static boolean exists(Path directory) throws IOException {
+        return !listSegments(directory).isEmpty();
+    }
+
+    private static List<Long> listSegments(Path directory) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private static Path getSegmentPath(Path directory, long number) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%012d", number) + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Consumes the entries of the log while replaying it.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long version, byte operation, Object value);
+    }
+}
@@ -17,6 +17,13 @@
  */
 package io.ballerina.stdlib.persist.plural;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,26 +32,66 @@ import java.util.regex.Pattern;
  */
 public class Pluralizer {
 
-    private Pluralizer() {}
+    static final int MAX_CACHED_WORDS = 4096;
+    private static final Pattern REGEX_META_CHARACTERS = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
 
-    public static String pluralize(String word) {
+    private static final Set<String> UNCOUNTABLE_WORDS = new HashSet<>();
+    private static final Pattern UNCOUNTABLE_PATTERN;
+    private static final Map<String, String> IRREGULAR_RULES = new HashMap<>();
+    private static final Pattern[] PLURALIZATION_PATTERNS = new Pattern[Rules.PLURALIZATION_RULES.length];
+    private static final Map<String, String> PLURALS = new ConcurrentHashMap<>();
+
+    static {
+        // Literal uncountable words are looked up directly, and the rest are merged into a single pattern
+        List<String> uncountableRegexes = new ArrayList<>();
         for (String rule : Rules.UNCOUNTABLE_RULES) {
-            if (Pattern.matches(rule, word)) {
-                return word;
+            if (REGEX_META_CHARACTERS.matcher(rule).find()) {
+                uncountableRegexes.add("(?:" + rule + ")");
+            } else {
+                UNCOUNTABLE_WORDS.add(rule);
             }
         }
-        for (String[] irregularRule: Rules.IRREGULAR_RULES) {
-            if (irregularRule[1].equals(word)) {
-                return word;
-            }
-            if (irregularRule[0].equals(word)) {
-                return irregularRule[1];
-            }
+        UNCOUNTABLE_PATTERN = Pattern.compile(String.join("|", uncountableRegexes));
+
+        // Irregular rules are checked in order, hence only the first rule matching a word is kept
+        for (String[] irregularRule : Rules.IRREGULAR_RULES) {
+            IRREGULAR_RULES.putIfAbsent(irregularRule[1], irregularRule[1]);
+            IRREGULAR_RULES.putIfAbsent(irregularRule[0], irregularRule[1]);
+        }
+
+        // Pluralization rules take precedence in order rather than by match position, hence they are not merged
+        for (int i = 0; i < Rules.PLURALIZATION_RULES.length; i++) {
+            PLURALIZATION_PATTERNS[i] = Pattern.compile(Rules.PLURALIZATION_RULES[i][0]);
+        }
+    }
+
+    private Pluralizer() {}
+
+    public static String pluralize(String word) {
+        String plural = PLURALS.get(word);
+        if (plural != null) {
+            return plural;
+        }
+
+        plural = computePlural(word);
+        if (PLURALS.size() < MAX_CACHED_WORDS) {
+            PLURALS.put(word, plural);
+        }
+        return plural;
+    }
+
+    private static String computePlural(String word) {
+        if (UNCOUNTABLE_WORDS.contains(word) || UNCOUNTABLE_PATTERN.matcher(word).matches()) {
+            return word;
+        }
+        String irregularPlural = IRREGULAR_RULES.get(word);
+        if (irregularPlural != null) {
+            return irregularPlural;
         }
-        for (String[] pluralizationRule: Rules.PLURALIZATION_RULES) {
-            Matcher matcher = Pattern.compile(pluralizationRule[0]).matcher(word);
+        for (int i = 0; i < PLURALIZATION_PATTERNS.length; i++) {
+            Matcher matcher = PLURALIZATION_PATTERNS[i].matcher(word);
             if (matcher.find()) {
-                return matcher.replaceFirst(pluralizationRule[1]);
+                return matcher.replaceFirst(Rules.PLURALIZATION_RULES[i][1]);
             }
         }
         return word;
@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.tracking;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the snapshots of the records read from a datastore, so that only the fields changed by an update are
+ * written. The snapshots of the least recently used records are dropped once the number of tracked records reaches the
+ * maximum, in which case the updates of those records are written as they are.
+ *
+ * @param <K> the type of the keys of the records
+ * @since 1.7.1
+ */
+public final class ChangeTracker<K> {
+
+    private final Map<K, Map<String, Object>> snapshots;
+
+    /**
+     * Creates a tracker of the snapshots of the records.
+     *
+     * @param maxTrackedRecords the maximum number of records whose snapshots are tracked
+     * @throws IllegalArgumentException if the maximum number of tracked records is not positive
+     */
+    public ChangeTracker(int maxTrackedRecords) {
+        if (maxTrackedRecords <= 0) {
+            throw new IllegalArgumentException("the maximum number of tracked records must be positive: " +
+                    maxTrackedRecords);
+        }
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Map<String, Object>> eldest) {
+                return size() > maxTrackedRecords;
+            }
+        };
+    }
+
+    /**
+     * Replaces the snapshot of a record with the record read from the datastore.
+     *
+     * @param key    the key of the record
+     * @param fields the fields of the record, whose values are immutable
+     */
+    public synchronized void track(K key, Map<String, Object> fields) {
+        snapshots.put(key, Collections.unmodifiableMap(new LinkedHashMap<>(fields)));
+    }
+
+    /**
+     * Applies the fields written by an update to the snapshot of a record, if the record is tracked.
+     *
+     * @param key    the key of the record
+     * @param fields the written fields, whose values are immutable
+     */
+    public synchronized void advance(K key, Map<String, Object> fields) {
+        Map<String, Object> snapshot = snapshots.get(key);
+        if (snapshot != null) {
+            Map<String, Object> advanced = new LinkedHashMap<>(snapshot);
+            advanced.putAll(fields);
+            snapshots.put(key, Collections.unmodifiableMap(advanced));
+        }
+    }
+
+    public synchronized void forget(K key) {
+        snapshots.remove(key);
+    }
+
+    public synchronized Map<String, Object> getSnapshot(K key) {
+        return snapshots.get(key);
+    }
+
+    public synchronized int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Returns the fields of an update whose values differ from the values of the fields in a baseline. The fields
+     * which are not in the baseline are considered changed.
+     *
+     * @param baseline the baseline of the record, such as its snapshot
+     * @param update   the fields of the update
+     * @return the changed fields in the order of the update, which are empty if nothing is changed
+     */
+    public static List<String> getChangedFields(Map<String, Object> baseline, Map<String, Object> update) {
+        List<String> changedFields = new ArrayList<>();
+        for (Map.Entry<String, Object> field : update.entrySet()) {
+            if (!baseline.containsKey(field.getKey()) || !isEqual(baseline.get(field.getKey()), field.getValue())) {
+                changedFields.add(field.getKey());
+            }
+        }
+        return changedFields;
+    }
+
+    /**
+     * Compares two `anydata` values as by the `==` operator, which compares the members of the structured values.
+     *
+     * @param value the first value
+     * @param other the second value
+     * @return `true` if the values are equal
+     */
+    static boolean isEqual(Object value, Object other) {
+        if (value == other) {
+            return true;
+        }
+        if (value == null || other == null) {
+            return false;
+        }
+        if (value instanceof Double number && other instanceof Double otherNumber) {
+            // Positive and negative zeros are equal, as are the NaN values
+            return number.equals(otherNumber) || number.doubleValue() == otherNumber.doubleValue();
+        }
+        if (value instanceof BDecimal decimal && other instanceof BDecimal otherDecimal) {
+            return decimal.decimalValue().compareTo(otherDecimal.decimalValue()) == 0;
+        }
+        if (value instanceof BArray array && other instanceof BArray otherArray) {
+            if (array.size() != otherArray.size()) {
+                return false;
+            }
+            for (int i = 0; i < array.size(); i++) {
+                if (!isEqual(array.get(i), otherArray.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof BMap<?, ?> map && other instanceof BMap<?, ?> otherMap) {
+            if (map.size() != otherMap.size()) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!otherMap.containsKey(entry.getKey()) ||
+                        !isEqual(entry.getValue(), otherMap.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return value.equals(other);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.tracking;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.RecordKey;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class has the native methods of the `persist:ChangeTracker` class.
+ *
+ * @since 1.7.1
+ */
+public final class ChangeTrackerUtils {
+
+    static final String TRACKER = "changeTracker";
+
+    private ChangeTrackerUtils() {
+    }
+
+    public static void init(BObject tracker, long maxTrackedRecords) {
+        tracker.addNativeData(TRACKER, new ChangeTracker<RecordKey>((int) Math.min(maxTrackedRecords,
+                Integer.MAX_VALUE)));
+    }
+
+    public static void track(BObject tracker, BString entity, Object key, BMap<BString, Object> value) {
+        getTracker(tracker).track(RecordKey.from(entity, key), toFields(value));
+    }
+
+    /**
+     * Returns the fields of an update which differ from a baseline, or from the snapshot of the record if there is
+     * no baseline.
+     *
+     * @param tracker  the `persist:ChangeTracker`
+     * @param entity   the name of the entity
+     * @param key      the key of the record
+     * @param update   the fields of the update
+     * @param baseline the baseline of the record, or `null` to compare with the snapshot of the record
+     * @return the changed fields, or `null` if there is neither a baseline nor a snapshot of the record
+     */
+    @SuppressWarnings("unchecked")
+    public static Object getChangedFields(BObject tracker, BString entity, Object key, BMap<BString, Object> update,
+                                         Object baseline) {
+        Map<String, Object> baselineFields = baseline != null ? toFields((BMap<BString, Object>) baseline) :
+                getTracker(tracker).getSnapshot(RecordKey.from(entity, key));
+        if (baselineFields == null) {
+            return null;
+        }
+        List<String> changedFields = ChangeTracker.getChangedFields(baselineFields, toFields(update));
+        return ValueCreator.createArrayValue(changedFields.stream().map(StringUtils::fromString)
+                .toArray(BString[]::new));
+    }
+
+    public static void advance(BObject tracker, BString entity, Object key, BMap<BString, Object> changes) {
+        getTracker(tracker).advance(RecordKey.from(entity, key), toFields(changes));
+    }
+
+    public static void forget(BObject tracker, BString entity, Object key) {
+        getTracker(tracker).forget(RecordKey.from(entity, key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeTracker<RecordKey> getTracker(BObject tracker) {
+        return (ChangeTracker<RecordKey>) tracker.getNativeData(TRACKER);
+    }
+
+    private static Map<String, Object> toFields(BMap<BString, Object> value) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Map.Entry<BString, Object> field : value.entrySet()) {
+            fields.put(field.getKey().getValue(), field.getValue());
+        }
+        return fields;
+    }
+}
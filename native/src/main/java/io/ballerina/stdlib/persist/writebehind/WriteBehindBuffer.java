@@ -0,0 +1,328 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.writebehind;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffers the updates of the records of a datastore, and writes them behind the callers. The successive updates of a
+ * record are coalesced into a single update with the latest value of each updated field, which is written when the
+ * buffer is flushed. The buffer is flushed periodically, and in the background once the number of buffered records
+ * reaches the flush size.
+ * <p>
+ * The number of buffered records is bounded, and an update of another record is rejected while the buffer is full,
+ * in which case the caller flushes the buffer before buffering the update again. The buffered updates of a record are
+ * visible through {@link #get} until they are written, including while they are being written. The updates which are
+ * not written are kept in the buffer to be written by the next flush, under the updates buffered after them, until
+ * they fail the maximum number of write attempts. They are dropped then, so that a record which can never be written,
+ * such as a deleted record, does not hold its place in the buffer and fail every flush. The first error of the
+ * flushes in the background is returned by the next flush requested by a caller.
+ *
+ * @param <K> the type of the keys of the records
+ * @since 1.7.1
+ */
+public final class WriteBehindBuffer<K> {
+
+    private final int maxBufferedRecords;
+    private final int flushSize;
+    private final int maxWriteAttempts;
+    private final Writer<K> writer;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledFuture<?> periodicFlush;
+    private final ConcurrentHashMap<K, Update> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Update> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger bufferedRecords = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final AtomicReference<Object> backgroundError = new AtomicReference<>();
+
+    private final LongAdder bufferedUpdates = new LongAdder();
+    private final LongAdder coalescedUpdates = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder writtenUpdates = new LongAdder();
+    private final LongAdder failedUpdates = new LongAdder();
+    private final LongAdder droppedUpdates = new LongAdder();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicLong maxWriteDelayNanos = new AtomicLong();
+
+    /**
+     * Creates a buffer of the updates of the records of a datastore.
+     *
+     * @param maxBufferedRecords the maximum number of records whose updates are buffered
+     * @param flushSize          the number of buffered records at which the buffer is flushed in the background
+     * @param maxWriteAttempts   the number of times the update of a record is written before it is dropped
+     * @param flushInterval      the interval between the periodic flushes, or zero to flush only by size or when
+     *                           requested
+     * @param writer             writes the coalesced update of a record
+     * @param scheduler          runs the periodic flushes and the flushes in the background
+     * @throws IllegalArgumentException if the maximum number of buffered records, the flush size or the maximum
+     *                                  number of write attempts is not positive
+     */
+    public WriteBehindBuffer(int maxBufferedRecords, int flushSize, int maxWriteAttempts, Duration flushInterval,
+                             Writer<K> writer, ScheduledExecutorService scheduler) {
+        if (maxBufferedRecords <= 0 || flushSize <= 0 || maxWriteAttempts <= 0) {
+            throw new IllegalArgumentException("the maximum number of buffered records, the flush size and the " +
+                    "maximum number of write attempts must be positive: " + maxBufferedRecords + ", " + flushSize +
+                    ", " + maxWriteAttempts);
+        }
+        this.maxBufferedRecords = maxBufferedRecords;
+        this.flushSize = flushSize;
+        this.maxWriteAttempts = maxWriteAttempts;
+        this.writer = writer;
+        this.scheduler = scheduler;
+        long interval = flushInterval.toNanos();
+        this.periodicFlush = interval > 0 ? scheduler.scheduleWithFixedDelay(this::flushInBackground, interval,
+                interval, TimeUnit.NANOSECONDS) : null;
+    }
+
+    /**
+     * Buffers an update of a record, which is coalesced with the buffered update of the record if there is one.
+     *
+     * @param key    the key of the record
+     * @param fields the updated fields of the record
+     * @return `false` if the buffer is full and the record does not have a buffered update, in which case the update
+     * is not buffered
+     */
+    public boolean offer(K key, Map<String, Object> fields) {
+        boolean[] added = {true};
+        boolean[] coalesced = {false};
+        pending.compute(key, (k, buffered) -> {
+            if (buffered != null) {
+                coalesced[0] = true;
+                return buffered.merge(fields);
+            }
+            if (bufferedRecords.incrementAndGet() > maxBufferedRecords) {
+                bufferedRecords.decrementAndGet();
+                added[0] = false;
+                return null;
+            }
+            return new Update(Collections.unmodifiableMap(new LinkedHashMap<>(fields)), System.nanoTime(), 0);
+        });
+        if (!added[0]) {
+            return false;
+        }
+        bufferedUpdates.increment();
+        if (coalesced[0]) {
+            coalescedUpdates.increment();
+        }
+        if (bufferedRecords.get() >= flushSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushInBackground);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the buffered update of a record, which is not yet written to the datastore.
+     *
+     * @param key the key of the record
+     * @return the latest values of the updated fields of the record, or `null` if the record has no buffered update
+     */
+    public Map<String, Object> get(K key) {
+        // The pending update is read first, as it is moved to the updates being written before it is removed
+        Update buffered = pending.get(key);
+        Update writing = inFlight.get(key);
+        if (writing == null) {
+            return buffered == null ? null : buffered.fields;
+        }
+        return buffered == null ? writing.fields : writing.merge(buffered.fields).fields;
+    }
+
+    /**
+     * Writes the buffered updates of all the records.
+     *
+     * @return the first error of the flushes in the background since the previous flush, or else the first error
+     * returned by the writer, or `null` if all the updates are written
+     */
+    public Object flush() {
+        Object error = flushAll();
+        Object earlierError = backgroundError.getAndSet(null);
+        return earlierError == null ? error : earlierError;
+    }
+
+    private void flushInBackground() {
+        Object error = flushAll();
+        if (error != null) {
+            backgroundError.compareAndSet(null, error);
+        }
+    }
+
+    private Object flushAll() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            long start = System.nanoTime();
+            Object error = null;
+            for (K key : List.copyOf(pending.keySet())) {
+                Object result = write(key);
+                if (error == null) {
+                    error = result;
+                }
+            }
+            long duration = System.nanoTime() - start;
+            flushes.increment();
+            totalFlushNanos.addAndGet(duration);
+            lastFlushNanos.set(duration);
+            maxFlushNanos.accumulateAndGet(duration, Math::max);
+            return error;
+        }
+    }
+
+    /**
+     * Writes the buffered update of a record, such as before the record is written by another writer.
+     *
+     * @param key the key of the record
+     * @return the error returned by the writer, or `null` if the update is written or there is no update
+     */
+    public Object flush(K key) {
+        synchronized (flushLock) {
+            return write(key);
+        }
+    }
+
+    /**
+     * Stops the periodic flushes and writes the buffered updates.
+     *
+     * @return the first error of the flushes in the background since the previous flush, or else the first error
+     * returned by the writer, or `null` if all the updates are written
+     */
+    public Object close() {
+        if (periodicFlush != null) {
+            periodicFlush.cancel(false);
+        }
+        return flush();
+    }
+
+    public Metrics getMetrics() {
+        long flushCount = flushes.sum();
+        return new Metrics(bufferedRecords.get(), bufferedUpdates.sum(), coalescedUpdates.sum(), flushCount,
+                writtenUpdates.sum(), failedUpdates.sum(), droppedUpdates.sum(), lastFlushNanos.get(),
+                maxFlushNanos.get(), flushCount == 0 ? 0 : totalFlushNanos.get() / flushCount,
+                maxWriteDelayNanos.get());
+    }
+
+    // Called with the flush lock, hence the updates of a record are written in the order they are buffered
+    private Object write(K key) {
+        Update update = pending.get(key);
+        if (update == null) {
+            return null;
+        }
+        // The update stays visible while it is written. If the record is updated meanwhile, the coalesced update is
+        // kept in the buffer and written by the next flush.
+        inFlight.put(key, update);
+        boolean removed = pending.remove(key, update);
+        if (removed) {
+            bufferedRecords.decrementAndGet();
+        }
+        Object error;
+        try {
+            error = writer.write(key, update.fields);
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        if (error == null) {
+            writtenUpdates.increment();
+            maxWriteDelayNanos.accumulateAndGet(System.nanoTime() - update.bufferedAt, Math::max);
+        } else {
+            failedUpdates.increment();
+            if (update.attempts + 1 >= maxWriteAttempts) {
+                // The update buffered after the failed one, if any, is kept to be written by the next flush
+                droppedUpdates.increment();
+            } else if (removed) {
+                Update failed = update.failedAttempt();
+                pending.compute(key, (k, buffered) -> {
+                    if (buffered == null) {
+                        bufferedRecords.incrementAndGet();
+                        return failed;
+                    }
+                    return failed.merge(buffered.fields);
+                });
+            }
+        }
+        inFlight.remove(key);
+        return error;
+    }
+
+    /**
+     * Writes the coalesced update of a record to the datastore.
+     *
+     * @param <K> the type of the keys of the records
+     */
+    @FunctionalInterface
+    public interface Writer<K> {
+
+        /**
+         * Writes the update of a record.
+         *
+         * @param key    the key of the record
+         * @param fields the latest values of the updated fields of the record
+         * @return an error if the update is not written, or `null`
+         */
+        Object write(K key, Map<String, Object> fields);
+    }
+
+    /**
+     * The metrics of a buffer. The durations are in nanoseconds.
+     *
+     * @param bufferedRecords   the number of records whose updates are buffered
+     * @param bufferedUpdates   the number of updates buffered
+     * @param coalescedUpdates  the number of updates coalesced with the buffered updates of the records
+     * @param flushes           the number of flushes of all the records
+     * @param writtenUpdates    the number of coalesced updates written to the datastore
+     * @param failedUpdates     the number of attempts to write a coalesced update which failed
+     * @param droppedUpdates    the number of coalesced updates dropped after failing the maximum number of write
+     *                          attempts
+     * @param lastFlushDuration the duration of the last flush
+     * @param maxFlushDuration  the maximum duration of a flush
+     * @param meanFlushDuration the mean duration of the flushes
+     * @param maxWriteDelay     the maximum time from buffering an update of a record to writing it
+     */
+    public record Metrics(int bufferedRecords, long bufferedUpdates, long coalescedUpdates, long flushes,
+                          long writtenUpdates, long failedUpdates, long droppedUpdates, long lastFlushDuration,
+                          long maxFlushDuration, long meanFlushDuration, long maxWriteDelay) {
+    }
+
+    // The latest values of the updated fields of a record, the time at which the first of the updates is buffered,
+    // and the number of failed attempts to write the updates
+    private record Update(Map<String, Object> fields, long bufferedAt, int attempts) {
+
+        Update merge(Map<String, Object> newerFields) {
+            Map<String, Object> merged = new LinkedHashMap<>(fields);
+            merged.putAll(newerFields);
+            return new Update(Collections.unmodifiableMap(merged), bufferedAt, attempts);
+        }
+
+        Update failedAttempt() {
+            return new Update(fields, bufferedAt, attempts + 1);
+        }
+    }
+}
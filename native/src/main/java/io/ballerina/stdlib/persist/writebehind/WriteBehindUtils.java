@@ -0,0 +1,181 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.writebehind;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BFunctionPointer;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.ErrorGenerator;
+import io.ballerina.stdlib.persist.ModuleUtils;
+import io.ballerina.stdlib.persist.RecordKey;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * This class has the native methods of the `persist:WriteBehindBuffer` class.
+ *
+ * @since 1.7.1
+ */
+public final class WriteBehindUtils {
+
+    static final String BUFFER = "writeBehindBuffer";
+    static final String METRICS_TYPE = "WriteBehindMetrics";
+    static final BString MAX_BUFFERED_RECORDS = fromString("maxBufferedRecords");
+    static final BString FLUSH_SIZE = fromString("flushSize");
+    static final BString MAX_WRITE_ATTEMPTS = fromString("maxWriteAttempts");
+    static final BString FLUSH_INTERVAL = fromString("flushInterval");
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "persist-write-behind-flushes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private WriteBehindUtils() {
+    }
+
+    public static void init(Environment env, BObject buffer, BFunctionPointer writeUpdate,
+                            BMap<BString, Object> config) {
+        BigDecimal interval = ((BDecimal) config.get(FLUSH_INTERVAL)).decimalValue();
+        // The writer outlives the call, hence it holds the runtime rather than the environment of the call
+        Runtime runtime = env.getRuntime();
+        WriteBehindBuffer.Writer<RecordKey> writer = (key, fields) -> {
+            Object result = writeUpdate.call(runtime, fromString(key.entity()), key.toBalKey(), toMap(fields));
+            return result instanceof BError ? result : null;
+        };
+        buffer.addNativeData(BUFFER, new WriteBehindBuffer<>(getIntValue(config, MAX_BUFFERED_RECORDS),
+                getIntValue(config, FLUSH_SIZE), getIntValue(config, MAX_WRITE_ATTEMPTS),
+                Duration.ofNanos(interval.movePointRight(9).longValue()), writer, SCHEDULER));
+    }
+
+    /**
+     * Buffers an update of a record. The buffer is flushed by the caller while it is full, so that the memory held by
+     * the buffered updates is bounded. The update is rejected only if the buffer is still full after a flush which
+     * failed, as the records which failed to be written are dropped once they fail the maximum number of attempts.
+     *
+     * @param env    the environment of the call
+     * @param buffer the `persist:WriteBehindBuffer`
+     * @param entity the name of the entity
+     * @param key    the key of the record
+     * @param update the updated fields, which are immutable
+     * @return the error of flushing the buffer while it is full, if the update cannot be buffered, or `null`
+     */
+    public static Object bufferUpdate(Environment env, BObject buffer, BString entity, Object key,
+                                      BMap<BString, Object> update) {
+        WriteBehindBuffer<RecordKey> writeBehindBuffer = getBuffer(buffer);
+        RecordKey recordKey = RecordKey.from(entity, key);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Map.Entry<BString, Object> field : update.entrySet()) {
+            fields.put(field.getKey().getValue(), field.getValue());
+        }
+        boolean buffered = writeBehindBuffer.offer(recordKey, fields);
+        while (!buffered) {
+            Object error = env.yieldAndRun(writeBehindBuffer::flush);
+            buffered = writeBehindBuffer.offer(recordKey, fields);
+            if (!buffered && error != null) {
+                return toPersistError(error);
+            }
+        }
+        return null;
+    }
+
+    public static Object getBufferedUpdate(BObject buffer, BString entity, Object key) {
+        Map<String, Object> fields = getBuffer(buffer).get(RecordKey.from(entity, key));
+        return fields == null ? null : toMap(fields);
+    }
+
+    public static Object flush(Environment env, BObject buffer) {
+        WriteBehindBuffer<RecordKey> writeBehindBuffer = getBuffer(buffer);
+        return toPersistError(env.yieldAndRun(writeBehindBuffer::flush));
+    }
+
+    public static Object flushRecord(Environment env, BObject buffer, BString entity, Object key) {
+        WriteBehindBuffer<RecordKey> writeBehindBuffer = getBuffer(buffer);
+        RecordKey recordKey = RecordKey.from(entity, key);
+        return toPersistError(env.yieldAndRun(() -> writeBehindBuffer.flush(recordKey)));
+    }
+
+    public static Object close(Environment env, BObject buffer) {
+        WriteBehindBuffer<RecordKey> writeBehindBuffer = getBuffer(buffer);
+        return toPersistError(env.yieldAndRun(writeBehindBuffer::close));
+    }
+
+    public static BMap<BString, Object> getMetrics(BObject buffer) {
+        WriteBehindBuffer.Metrics metrics = getBuffer(buffer).getMetrics();
+        BMap<BString, Object> record = ValueCreator.createRecordValue(ModuleUtils.getModule(), METRICS_TYPE);
+        record.put(fromString("bufferedRecords"), (long) metrics.bufferedRecords());
+        record.put(fromString("bufferedUpdates"), metrics.bufferedUpdates());
+        record.put(fromString("coalescedUpdates"), metrics.coalescedUpdates());
+        record.put(fromString("flushes"), metrics.flushes());
+        record.put(fromString("writtenUpdates"), metrics.writtenUpdates());
+        record.put(fromString("failedUpdates"), metrics.failedUpdates());
+        record.put(fromString("droppedUpdates"), metrics.droppedUpdates());
+        record.put(fromString("lastFlushDuration"), toSeconds(metrics.lastFlushDuration()));
+        record.put(fromString("maxFlushDuration"), toSeconds(metrics.maxFlushDuration()));
+        record.put(fromString("meanFlushDuration"), toSeconds(metrics.meanFlushDuration()));
+        record.put(fromString("maxWriteDelay"), toSeconds(metrics.maxWriteDelay()));
+        return record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static WriteBehindBuffer<RecordKey> getBuffer(BObject buffer) {
+        return (WriteBehindBuffer<RecordKey>) buffer.getNativeData(BUFFER);
+    }
+
+    private static BMap<BString, Object> toMap(Map<String, Object> fields) {
+        BMap<BString, Object> map = ValueCreator.createMapValue(
+                TypeCreator.createMapType(PredefinedTypes.TYPE_ANYDATA));
+        fields.forEach((field, value) -> map.put(fromString(field), value));
+        return map;
+    }
+
+    private static BDecimal toSeconds(long nanos) {
+        return ValueCreator.createDecimalValue(BigDecimal.valueOf(nanos, 9));
+    }
+
+    private static Object toPersistError(Object error) {
+        if (error == null) {
+            return null;
+        }
+        if (error instanceof BError bError) {
+            return bError;
+        }
+        return ErrorGenerator.getBasicPersistError("Failed to write the buffered updates: " +
+                ((Throwable) error).getMessage());
+    }
+
+    private static int getIntValue(BMap<BString, Object> config, BString field) {
+        return (int) Math.min(config.getIntValue(field), Integer.MAX_VALUE);
+    }
+}
@@ -21,4 +21,8 @@ module io.ballerina.stdlib.persist {
     requires io.ballerina.lang;
     exports io.ballerina.stdlib.persist;
     exports io.ballerina.stdlib.persist.plural;
+    exports io.ballerina.stdlib.persist.inmemory;
+    exports io.ballerina.stdlib.persist.batch;
+    exports io.ballerina.stdlib.persist.writebehind;
+    exports io.ballerina.stdlib.persist.tracking;
 }
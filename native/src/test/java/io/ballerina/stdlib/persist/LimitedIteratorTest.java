@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the iterator over the first rows of a cursor.
+ */
+public class LimitedIteratorTest {
+
+    @Test
+    public void testNoRowIsPulledPastTheLimit() {
+        CountingCursor cursor = new CountingCursor(5);
+        LimitedIterator<Integer> limited = new LimitedIterator<>(cursor, 2, cursor::close);
+
+        Assert.assertEquals(limited.next(), Integer.valueOf(0));
+        Assert.assertEquals(cursor.closeCount.get(), 0);
+        Assert.assertEquals(limited.next(), Integer.valueOf(1));
+        Assert.assertEquals(cursor.closeCount.get(), 1);
+
+        Assert.assertFalse(limited.hasNext());
+        Assert.assertThrows(NoSuchElementException.class, limited::next);
+        limited.close();
+        Assert.assertEquals(cursor.pulledRows, 2);
+        Assert.assertEquals(cursor.closeCount.get(), 1);
+    }
+
+    @Test
+    public void testZeroLimit() {
+        CountingCursor cursor = new CountingCursor(5);
+        LimitedIterator<Integer> limited = new LimitedIterator<>(cursor, 0, cursor::close);
+
+        Assert.assertFalse(limited.hasNext());
+        Assert.assertEquals(cursor.pulledRows, 0);
+        Assert.assertEquals(cursor.closeCount.get(), 1);
+    }
+
+    @Test
+    public void testCursorExhaustedWithinTheLimit() {
+        CountingCursor cursor = new CountingCursor(3);
+        LimitedIterator<Integer> limited = new LimitedIterator<>(cursor, 10, cursor::close);
+
+        int rows = 0;
+        while (limited.hasNext()) {
+            limited.next();
+            rows++;
+        }
+        Assert.assertEquals(rows, 3);
+        Assert.assertEquals(cursor.pulledRows, 3);
+        Assert.assertEquals(cursor.closeCount.get(), 1);
+        limited.close();
+        Assert.assertEquals(cursor.closeCount.get(), 1);
+    }
+
+    @Test
+    public void testNegativeLimit() {
+        CountingCursor cursor = new CountingCursor(4);
+        LimitedIterator<Integer> limited = new LimitedIterator<>(cursor, -1, cursor::close);
+
+        limited.forEachRemaining(row -> { });
+        Assert.assertEquals(cursor.pulledRows, 4);
+        Assert.assertEquals(cursor.closeCount.get(), 1);
+    }
+
+    /**
+     * A cursor of the given number of rows, which counts the rows pulled from it and the times it is closed.
+     */
+    private static final class CountingCursor implements Iterator<Integer> {
+        private final int rowCount;
+        private final AtomicInteger closeCount = new AtomicInteger();
+        private int pulledRows = 0;
+
+        private CountingCursor(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pulledRows < rowCount;
+        }
+
+        @Override
+        public Integer next() {
+            if (closeCount.get() > 0) {
+                throw new IllegalStateException("the cursor is closed");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pulledRows++;
+        }
+
+        private void close() {
+            closeCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Tests the utility methods of the Persist module.
+ */
+public class UtilsTest {
+
+    private static final Module TEST_MODULE = new Module("testorg", "persist_test", "1.0.0");
+
+    @Test
+    public void testRecordTypeWithKeyFieldsIsInterned() {
+        RecordType recordType = createRecordType("Employee", "id", "name");
+
+        RecordType first = Utils.getRecordTypeWithKeyFields(createKeyFields("id"), recordType);
+        RecordType second = Utils.getRecordTypeWithKeyFields(createKeyFields("id"), recordType);
+        Assert.assertSame(second, first);
+        Assert.assertTrue(first.getFields().containsKey("id"));
+        Assert.assertTrue(first.getFields().containsKey("name"));
+    }
+
+    @Test
+    public void testRecordTypeWithKeyFieldsDiffersByKeyFields() {
+        RecordType recordType = createRecordType("Building", "code", "city");
+
+        RecordType withCode = Utils.getRecordTypeWithKeyFields(createKeyFields("code"), recordType);
+        RecordType withWorkspace = Utils.getRecordTypeWithKeyFields(createKeyFields("code", "workspaceId"),
+                recordType);
+        Assert.assertNotSame(withWorkspace, withCode);
+        Assert.assertFalse(withCode.getFields().containsKey("workspaceId"));
+        Assert.assertTrue(withWorkspace.getFields().containsKey("workspaceId"));
+        Assert.assertSame(Utils.getRecordTypeWithKeyFields(createKeyFields("code", "workspaceId"), recordType),
+                withWorkspace);
+    }
+
+    @Test
+    public void testRecordTypeWithKeyFieldsDiffersBySourceType() {
+        RecordType department = createRecordType("Department", "id", "name");
+        RecordType workspace = createRecordType("Workspace", "id", "name");
+
+        Assert.assertNotSame(Utils.getRecordTypeWithKeyFields(createKeyFields("id"), workspace),
+                Utils.getRecordTypeWithKeyFields(createKeyFields("id"), department));
+    }
+
+    @Test
+    public void testCompositeKeyEquality() {
+        KeyExtractor keyExtractor = Utils.getKeyExtractor(createKeyFields("id", "deptNo"));
+        Assert.assertSame(Utils.getKeyExtractor(createKeyFields("id", "deptNo")), keyExtractor);
+
+        BMap<BString, Object> employee = ValueCreator.createMapValue();
+        employee.put(fromString("id"), fromString("emp-1"));
+        employee.put(fromString("deptNo"), 10L);
+        employee.put(fromString("name"), fromString("Alice"));
+
+        CompositeKey fromRecord = keyExtractor.fromRecord(employee);
+        CompositeKey fromPath = keyExtractor.fromPath(ValueCreator.createArrayValue(
+                new Object[]{fromString("emp-1"), 10L}, TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA)));
+        Assert.assertEquals(fromPath, fromRecord);
+        Assert.assertEquals(fromPath.hashCode(), fromRecord.hashCode());
+
+        employee.put(fromString("deptNo"), 11L);
+        Assert.assertNotEquals(keyExtractor.fromRecord(employee), fromRecord);
+    }
+
+    @Test
+    public void testCompositeKeyToBalKey() {
+        KeyExtractor singleKeyExtractor = Utils.getKeyExtractor(createKeyFields("id"));
+        CompositeKey singleKey = singleKeyExtractor.fromBalKey(fromString("emp-1"));
+        Assert.assertEquals(singleKey.toBalKey(), fromString("emp-1"));
+
+        KeyExtractor compositeKeyExtractor = Utils.getKeyExtractor(createKeyFields("id", "deptNo"));
+        BMap<BString, Object> keyMap = ValueCreator.createMapValue();
+        keyMap.put(fromString("id"), fromString("emp-1"));
+        keyMap.put(fromString("deptNo"), 10L);
+        CompositeKey compositeKey = compositeKeyExtractor.fromBalKey(keyMap);
+        Assert.assertEquals(((BMap<?, ?>) compositeKey.toBalKey()).get(fromString("deptNo")), 10L);
+    }
+
+    @Test
+    public void testRecordKeyOfKeyMapInAnyOrder() {
+        BMap<BString, Object> keyMap = ValueCreator.createMapValue();
+        keyMap.put(fromString("id"), fromString("emp-1"));
+        keyMap.put(fromString("deptNo"), 10L);
+        BMap<BString, Object> reorderedKeyMap = ValueCreator.createMapValue();
+        reorderedKeyMap.put(fromString("deptNo"), 10L);
+        reorderedKeyMap.put(fromString("id"), fromString("emp-1"));
+
+        RecordKey recordKey = RecordKey.from(fromString("Employee"), keyMap);
+        Assert.assertEquals(RecordKey.from(fromString("Employee"), reorderedKeyMap), recordKey);
+        Assert.assertEquals(RecordKey.from(fromString("Employee"), reorderedKeyMap).hashCode(), recordKey.hashCode());
+        Assert.assertNotEquals(RecordKey.from(fromString("Manager"), keyMap), recordKey);
+        Assert.assertEquals(((BMap<?, ?>) recordKey.toBalKey()).get(fromString("deptNo")), 10L);
+    }
+
+    @Test
+    public void testMetadataIsCachedByRecordType() {
+        RecordType recordType = createRecordType("Customer", "id", "name");
+        long hits = Utils.getMetadataCacheHitCount();
+        long misses = Utils.getMetadataCacheMissCount();
+
+        BArray[] first = Utils.getMetadata(recordType);
+        Assert.assertEquals(Utils.getMetadataCacheMissCount(), misses + 1);
+        Assert.assertEquals(Utils.getMetadataCacheHitCount(), hits);
+
+        BArray[] second = Utils.getMetadata(recordType);
+        Assert.assertEquals(Utils.getMetadataCacheMissCount(), misses + 1);
+        Assert.assertEquals(Utils.getMetadataCacheHitCount(), hits + 1);
+        Assert.assertNotSame(second, first);
+        for (int i = 0; i < first.length; i++) {
+            Assert.assertSame(second[i], first[i]);
+            Assert.assertTrue(first[i].isFrozen());
+        }
+        Assert.assertEquals(first[0].size(), 2);
+
+        Utils.getMetadata(createRecordType("Customer", "id", "name"));
+        Assert.assertEquals(Utils.getMetadataCacheMissCount(), misses + 2);
+    }
+
+    @Test
+    public void testFilterRecordAfterFieldsChange() {
+        BMap<BString, Object> employee = ValueCreator.createMapValue();
+        employee.put(fromString("id"), fromString("emp-1"));
+        employee.put(fromString("name"), fromString("Alice"));
+        BArray fields = createKeyFields("id");
+
+        BMap<BString, Object> projected = Utils.filterRecord(employee, fields);
+        Assert.assertEquals(projected.get(fromString("id")), fromString("emp-1"));
+        Assert.assertFalse(projected.containsKey(fromString("name")));
+
+        fields.add(1, fromString("name"));
+        projected = Utils.filterRecord(employee, fields);
+        Assert.assertEquals(projected.get(fromString("id")), fromString("emp-1"));
+        Assert.assertEquals(projected.get(fromString("name")), fromString("Alice"));
+        Assert.assertEquals(Utils.filterRecord(employee, createKeyFields("id")).size(), 1);
+    }
+
+    @Test
+    public void testConvertToArrayOfSameElementType() {
+        RecordType departmentType = createRecordType("Department", "deptNo", "deptName");
+        BArray departments = ValueCreator.createArrayValue(new Object[]{createDepartment(departmentType, "dept-1")},
+                TypeCreator.createArrayType(departmentType));
+
+        // The array is returned as it is, hence shares its elements with the caller
+        BArray converted = Utils.convertToArray(ValueCreator.createTypedescValue(departmentType), departments);
+        Assert.assertSame(converted, departments);
+    }
+
+    @Test
+    public void testConvertToArrayCopiesUpToFirstNull() {
+        RecordType departmentType = createRecordType("Department", "deptNo", "deptName");
+        BMap<BString, Object> first = createDepartment(departmentType, "dept-1");
+        BMap<BString, Object> second = createDepartment(departmentType, "dept-2");
+        Object[] values = {first, second, null, createDepartment(departmentType, "dept-3")};
+        BArray departments = ValueCreator.createArrayValue(values,
+                TypeCreator.createArrayType(PredefinedTypes.TYPE_MAP));
+
+        BArray converted = Utils.convertToArray(ValueCreator.createTypedescValue(departmentType), departments);
+        Assert.assertNotSame(converted, departments);
+        Assert.assertSame(converted.getElementType(), departmentType);
+        Assert.assertEquals(converted.size(), 2);
+        Assert.assertSame(converted.get(0), first);
+        Assert.assertSame(converted.get(1), second);
+        // The elements are copied into a new array, which is not affected by writes to the caller's array
+        values[1] = null;
+        Assert.assertSame(converted.get(1), second);
+    }
+
+    private static BMap<BString, Object> createDepartment(RecordType departmentType, String deptNo) {
+        BMap<BString, Object> department = ValueCreator.createMapValue(departmentType);
+        department.put(fromString("deptNo"), fromString(deptNo));
+        department.put(fromString("deptName"), fromString("Department " + deptNo));
+        return department;
+    }
+
+    private static RecordType createRecordType(String name, String... fieldNames) {
+        Map<String, Field> fields = new HashMap<>();
+        for (String fieldName : fieldNames) {
+            fields.put(fieldName, TypeCreator.createField(PredefinedTypes.TYPE_STRING, fieldName,
+                    SymbolFlags.REQUIRED));
+        }
+        return TypeCreator.createRecordType(name, TEST_MODULE, 0, fields, null, true, 0);
+    }
+
+    private static BArray createKeyFields(String... keyFields) {
+        BString[] values = new BString[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            values[i] = fromString(keyFields[i]);
+        }
+        return ValueCreator.createArrayValue(values);
+    }
+}
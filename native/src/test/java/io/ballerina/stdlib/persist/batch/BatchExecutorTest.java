@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.batch;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Tests the planning and the execution of the chunks of batch writes.
+ */
+public class BatchExecutorTest {
+
+    @Test
+    public void testPlan() {
+        BatchPlanner planner = new BatchPlanner(4);
+        List<Integer> rows = IntStream.range(0, 10).boxed().toList();
+        Assert.assertEquals(planner.getChunkCount(rows.size()), 3);
+
+        List<Chunk<Integer>> chunks = new ArrayList<>();
+        planner.plan(rows).forEachRemaining(chunks::add);
+        Assert.assertEquals(chunks.size(), 3);
+        Assert.assertEquals(chunks.get(0).rows(), List.of(0, 1, 2, 3));
+        Assert.assertEquals(chunks.get(2).index(), 2);
+        Assert.assertEquals(chunks.get(2).offset(), 8);
+        Assert.assertEquals(chunks.get(2).rows(), List.of(8, 9));
+        Assert.assertFalse(planner.plan(List.of()).hasNext());
+        Assert.assertThrows(IllegalArgumentException.class, () -> new BatchPlanner(0));
+    }
+
+    @Test
+    public void testParallelExecution() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            List<Integer> rows = IntStream.range(0, 1000).boxed().toList();
+            BatchExecutor<Integer, List<Integer>> batchExecutor = new BatchExecutor<>(3, executor);
+            List<List<Integer>> results = batchExecutor.execute(new BatchPlanner(7).plan(rows), chunk -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return chunk.rows();
+            }, result -> false, chunk -> null);
+
+            // The results are in the order of the chunks, with at most three chunks in flight
+            List<Integer> keys = new ArrayList<>();
+            results.forEach(keys::addAll);
+            Assert.assertEquals(keys, rows);
+            Assert.assertTrue(maxInFlight.get() <= 3);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSkipAfterFailure() {
+        List<Integer> rows = IntStream.range(0, 10).boxed().toList();
+        BatchExecutor<Integer, String> batchExecutor = new BatchExecutor<>(1, null);
+        AtomicInteger submitted = new AtomicInteger();
+        Thread callingThread = Thread.currentThread();
+        List<String> results = batchExecutor.execute(new BatchPlanner(2).plan(rows), chunk -> {
+            // The chunks are written by the calling thread, which is the thread of the transaction if there is one
+            Assert.assertSame(Thread.currentThread(), callingThread);
+            submitted.incrementAndGet();
+            return chunk.index() == 1 ? "failed" : "inserted";
+        }, result -> result.equals("failed"), chunk -> "skipped");
+        Assert.assertEquals(results, List.of("inserted", "failed", "skipped", "skipped", "skipped"));
+        Assert.assertEquals(submitted.get(), 2);
+    }
+
+    @Test
+    public void testBoundedPlanning() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // The chunks are taken from the plan only as the chunks in flight complete
+            AtomicInteger planned = new AtomicInteger();
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger maxAhead = new AtomicInteger();
+            Iterator<Chunk<Integer>> plan = new BatchPlanner(1).plan(IntStream.range(0, 50).boxed().toList());
+            Iterator<Chunk<Integer>> countingPlan = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return plan.hasNext();
+                }
+
+                @Override
+                public Chunk<Integer> next() {
+                    maxAhead.accumulateAndGet(planned.incrementAndGet() - completed.get(), Math::max);
+                    return plan.next();
+                }
+            };
+            new BatchExecutor<Integer, Integer>(2, executor).execute(countingPlan, chunk -> {
+                completed.incrementAndGet();
+                return chunk.offset();
+            }, result -> false, Chunk::offset);
+            Assert.assertTrue(maxAhead.get() <= 2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.batch;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Tests the plans of the upserts of batch writes.
+ */
+public class UpsertPlanTest {
+
+    private static final List<String> FIELDS = List.of("id", "name", "stock", "updatedAt");
+
+    @Test
+    public void testCreate() {
+        UpsertPlan plan = UpsertPlan.create("Product", List.of("id"), FIELDS, List.of("stock", "updatedAt", "stock"));
+        Assert.assertEquals(plan.entity(), "Product");
+        Assert.assertEquals(plan.keyFields(), List.of("id"));
+        Assert.assertEquals(plan.insertFields(), FIELDS);
+        Assert.assertEquals(plan.updateFields(), List.of("stock", "updatedAt"));
+
+        UpsertPlan insertOnly = UpsertPlan.create("Product", List.of("id"), FIELDS, List.of());
+        Assert.assertTrue(insertOnly.updateFields().isEmpty());
+    }
+
+    @Test
+    public void testInvalidFields() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> UpsertPlan.create("Product", List.of("sku"), FIELDS, List.of("stock")));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> UpsertPlan.create("Product", List.of("id"), FIELDS, List.of("id")));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> UpsertPlan.create("Product", List.of("id"), FIELDS, List.of("price")));
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.CompositeKey;
+import io.ballerina.stdlib.persist.Utils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Tests the write-ahead log and the snapshots of the in-memory datastore.
+ */
+public class DurableInMemoryTableTest {
+
+    @Test
+    public void testRestoreFromLog() throws IOException {
+        Path directory = Files.createTempDirectory("persist-inmemory");
+        InMemoryTable table = createTable(directory);
+        BMap<BString, Object> first = createEmployee("emp-1", 10L);
+        CompositeKey firstKey = table.insert(first);
+        table.insert(createEmployee("emp-2", 20L));
+        CompositeKey thirdKey = table.insert(createEmployee("emp-3", 30L));
+        Assert.assertTrue(table.replace(firstKey, first, createEmployee("emp-1", 40L)));
+        table.delete(thirdKey);
+        table.close();
+        Assert.assertThrows(UncheckedIOException.class, () -> table.insert(createEmployee("emp-4", 10L)));
+
+        InMemoryTable restored = createTable(directory);
+        Assert.assertEquals(restored.size(), 2);
+        Assert.assertEquals(restored.getByKey(firstKey), createEmployee("emp-1", 40L));
+        Assert.assertNull(restored.getByKey(thirdKey));
+        Assert.assertEquals(getIds(restored.getOrderedIndex("deptNoIdx").scan(null, null, true, -1)),
+                List.of("emp-1", "emp-2"));
+        // The writes after a restart follow the restored writes
+        restored.insert(createEmployee("emp-3", 50L));
+        restored.close();
+        Assert.assertEquals(createTable(directory).size(), 3);
+    }
+
+    @Test
+    public void testRestoreFromSnapshotAndLogTail() throws IOException {
+        Path directory = Files.createTempDirectory("persist-inmemory");
+        InMemoryTable table = createTable(directory);
+        for (int i = 0; i < 100; i++) {
+            table.insert(createEmployee("emp-" + i, i));
+        }
+        table.checkpoint();
+        Assert.assertEquals(countSegments(directory), 1);
+        for (int i = 0; i < 50; i++) {
+            table.delete(table.getKeyExtractor().fromBalKey(fromString("emp-" + i)));
+        }
+        BMap<BString, Object> withNestedValues = createEmployee("emp-100", 100L);
+        BMap<BString, Object> address = ValueCreator.createMapValue();
+        address.put(fromString("city"), fromString("Colombo"));
+        withNestedValues.put(fromString("address"), address);
+        withNestedValues.put(fromString("skills"), ValueCreator.createArrayValue(new BString[]{fromString("java")}));
+        withNestedValues.put(fromString("salary"), ValueCreator.createDecimalValue(new BigDecimal("10.5")));
+        table.insert(withNestedValues);
+        table.close();
+
+        InMemoryTable restored = createTable(directory);
+        Assert.assertEquals(restored.size(), 51);
+        Assert.assertNull(restored.getByKey(table.getKeyExtractor().fromBalKey(fromString("emp-0"))));
+        BMap<BString, Object> restoredNested = restored.getByKey(
+                restored.getKeyExtractor().fromBalKey(fromString("emp-100")));
+        Assert.assertEquals(((BMap<?, ?>) restoredNested.get(fromString("address"))).get(fromString("city")),
+                fromString("Colombo"));
+        Assert.assertEquals(((BArray) restoredNested.get(fromString("skills"))).get(0), fromString("java"));
+        Assert.assertEquals(restoredNested.get(fromString("salary")), withNestedValues.get(fromString("salary")));
+        Assert.assertTrue(restoredNested.isFrozen());
+        restored.close();
+    }
+
+    @Test
+    public void testRestoredRecordsHaveEntityType() throws IOException {
+        Module module = new Module("ballerina", "persist", "1");
+        RecordType addressType = TypeCreator.createRecordType("Address", module, 0,
+                createFields(Map.of("city", PredefinedTypes.TYPE_STRING)), null, true, 0);
+        RecordType employeeType = TypeCreator.createRecordType("Employee", module, 0,
+                createFields(Map.of("id", PredefinedTypes.TYPE_STRING, "deptNo", PredefinedTypes.TYPE_INT,
+                        "name", PredefinedTypes.TYPE_STRING, "address", addressType)), null, true, 0);
+        Path directory = Files.createTempDirectory("persist-inmemory");
+        InMemoryTable table = createTable(directory, employeeType);
+        table.insert(createEmployeeWithAddress("emp-1"));
+        // The first record is restored from the snapshot, and the second one from the log
+        table.checkpoint();
+        table.insert(createEmployeeWithAddress("emp-2"));
+        table.close();
+
+        InMemoryTable restored = createTable(directory, employeeType);
+        for (String id : List.of("emp-1", "emp-2")) {
+            BMap<BString, Object> employee = restored.getByKey(restored.getKeyExtractor().fromBalKey(fromString(id)));
+            Assert.assertTrue(employee.isFrozen());
+            Assert.assertEquals(getRecordFields(employee.getType()), employeeType.getFields().keySet());
+            Assert.assertEquals(getRecordFields(((BMap<?, ?>) employee.get(fromString("address"))).getType()),
+                    addressType.getFields().keySet());
+        }
+        restored.close();
+    }
+
+    @Test
+    public void testIncompleteLogEntryIsIgnored() throws IOException {
+        Path directory = Files.createTempDirectory("persist-inmemory");
+        InMemoryTable table = createTable(directory);
+        table.insert(createEmployee("emp-1", 10L));
+        table.insert(createEmployee("emp-2", 20L));
+        table.close();
+        // An entry which is partially written when the process stops
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "wal-*.log")) {
+            for (Path segment : segments) {
+                Files.write(segment, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+            }
+        }
+        InMemoryTable restored = createTable(directory);
+        Assert.assertEquals(restored.size(), 2);
+        restored.insert(createEmployee("emp-3", 30L));
+        restored.close();
+        // The incomplete entry is cut off, hence the segment is not taken as a corrupted one once it is not the last
+        Assert.assertEquals(createTable(directory).size(), 3);
+    }
+
+    @Test
+    public void testCorruptedLogSegmentFailsRestore() throws IOException {
+        Path directory = Files.createTempDirectory("persist-inmemory");
+        InMemoryTable table = createTable(directory);
+        table.insert(createEmployee("emp-1", 10L));
+        table.insert(createEmployee("emp-2", 20L));
+        table.close();
+        InMemoryTable restarted = createTable(directory);
+        restarted.insert(createEmployee("emp-3", 30L));
+        restarted.close();
+        Assert.assertEquals(countSegments(directory), 2);
+        Path firstSegment;
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "wal-*1.log")) {
+            firstSegment = segments.iterator().next();
+        }
+        byte[] bytes = Files.readAllBytes(firstSegment);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(firstSegment, bytes);
+        Assert.assertThrows(IOException.class, () -> createTable(directory));
+    }
+
+    @Test
+    public void testGroupCommitOfConcurrentWrites() throws Exception {
+        Path directory = Files.createTempDirectory("persist-inmemory");
+        InMemoryTable table = createTable(directory);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread * 200;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        table.insert(createEmployee("emp-" + (offset + i), i));
+                    }
+                }));
+            }
+            // A snapshot written along with the writes
+            table.checkpoint();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        table.close();
+        Assert.assertEquals(createTable(directory).size(), 1600);
+    }
+
+    @Test
+    public void testMakeExistingTableDurable() throws IOException {
+        Path directory = Files.createTempDirectory("persist-inmemory");
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        table.insert(createEmployee("emp-1", 10L));
+        table.enableDurability(directory, Duration.ZERO);
+        table.insert(createEmployee("emp-2", 20L));
+        // Clearing a durable table is not logged, hence the records would come back on a restart
+        Assert.assertThrows(IllegalStateException.class, table::clear);
+        table.close();
+        Assert.assertEquals(createTable(directory).size(), 2);
+
+        InMemoryTable other = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        other.insert(createEmployee("emp-3", 30L));
+        Assert.assertThrows(IllegalStateException.class, () -> other.enableDurability(directory, Duration.ZERO));
+    }
+
+    private static InMemoryTable createTable(Path directory) throws IOException {
+        return createTable(directory, null);
+    }
+
+    private static InMemoryTable createTable(Path directory, Type entityType) throws IOException {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")),
+                Map.of("deptNoIdx", new String[]{"deptNo"}), StorageMode.HEAP);
+        table.enableDurability(directory, Duration.ZERO, entityType);
+        return table;
+    }
+
+    private static Map<String, Field> createFields(Map<String, Type> fieldTypes) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fieldTypes.forEach((name, type) -> fields.put(name, TypeCreator.createField(type, name,
+                SymbolFlags.PUBLIC | SymbolFlags.REQUIRED)));
+        return fields;
+    }
+
+    private static Object getRecordFields(Type type) {
+        Type impliedType = TypeUtils.getImpliedType(type);
+        Assert.assertTrue(impliedType instanceof RecordType);
+        return ((RecordType) impliedType).getFields().keySet();
+    }
+
+    private static BMap<BString, Object> createEmployeeWithAddress(String id) {
+        BMap<BString, Object> employee = createEmployee(id, 10L);
+        BMap<BString, Object> address = ValueCreator.createMapValue();
+        address.put(fromString("city"), fromString("Colombo"));
+        employee.put(fromString("address"), address);
+        return employee;
+    }
+
+    private static int countSegments(Path directory) throws IOException {
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "wal-*.log")) {
+            int count = 0;
+            for (Path ignored : segments) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static List<String> getIds(List<BMap<BString, Object>> employees) {
+        return employees.stream().map(employee -> employee.get(fromString("id")).toString()).toList();
+    }
+
+    private static BMap<BString, Object> createEmployee(String id, long deptNo) {
+        BMap<BString, Object> employee = ValueCreator.createMapValue();
+        employee.put(fromString("id"), fromString(id));
+        employee.put(fromString("deptNo"), deptNo);
+        employee.put(fromString("name"), fromString("Alice"));
+        return employee;
+    }
+
+    private static BArray createKeyFields(String... keyFields) {
+        BString[] values = new BString[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            values[i] = fromString(keyFields[i]);
+        }
+        return ValueCreator.createArrayValue(values);
+    }
+}
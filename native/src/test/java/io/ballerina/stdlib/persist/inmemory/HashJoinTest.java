@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.Utils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Tests the hash join of the relations in the in-memory datastore.
+ */
+public class HashJoinTest {
+
+    private static final BString EMPLOYEES = fromString("employees");
+    private static final BString DEPARTMENT = fromString("department");
+
+    @Test
+    public void testOneToManyJoin() {
+        List<BMap<BString, Object>> employees = new ArrayList<>();
+        employees.add(createEmployee("emp-1", "dept-1"));
+        employees.add(createEmployee("emp-2", "dept-2"));
+        employees.add(createEmployee("emp-3", "dept-1"));
+        employees.add(createEmployee("emp-4", null));
+        HashJoin join = HashJoin.build(employees, Utils.getKeyExtractor(createArray("departmentDeptNo")),
+                Utils.getKeyExtractor(createArray("deptNo")), new BString[]{fromString("id")});
+
+        BMap<BString, Object> first = join.join(createDepartment("dept-1"), EMPLOYEES, true);
+        BArray firstEmployees = (BArray) first.get(EMPLOYEES);
+        Assert.assertEquals(firstEmployees.size(), 2);
+        Assert.assertEquals(((BMap<?, ?>) firstEmployees.get(0)).get(fromString("id")), fromString("emp-1"));
+        Assert.assertEquals(((BMap<?, ?>) firstEmployees.get(1)).get(fromString("id")), fromString("emp-3"));
+        Assert.assertNull(((BMap<?, ?>) firstEmployees.get(0)).get(fromString("departmentDeptNo")));
+        Assert.assertEquals(first.get(fromString("deptName")), fromString("Department dept-1"));
+
+        BMap<BString, Object> third = join.join(createDepartment("dept-3"), EMPLOYEES, true);
+        Assert.assertEquals(((BArray) third.get(EMPLOYEES)).size(), 0);
+    }
+
+    @Test
+    public void testOneToOneJoin() {
+        List<BMap<BString, Object>> departments = new ArrayList<>();
+        departments.add(createDepartment("dept-1"));
+        departments.add(createDepartment("dept-2"));
+        HashJoin join = HashJoin.build(departments, Utils.getKeyExtractor(createArray("deptNo")),
+                Utils.getKeyExtractor(createArray("departmentDeptNo")), new BString[0]);
+
+        BMap<BString, Object> employee = createEmployee("emp-1", "dept-2");
+        BMap<BString, Object> joined = join.join(employee, DEPARTMENT, false);
+        Assert.assertSame(joined.get(DEPARTMENT), departments.get(1));
+        Assert.assertNull(employee.get(DEPARTMENT));
+        Assert.assertNull(join.join(createEmployee("emp-2", null), DEPARTMENT, false).get(DEPARTMENT));
+    }
+
+    private static BMap<BString, Object> createEmployee(String id, String deptNo) {
+        BMap<BString, Object> employee = ValueCreator.createMapValue();
+        employee.put(fromString("id"), fromString(id));
+        employee.put(fromString("departmentDeptNo"), deptNo == null ? null : fromString(deptNo));
+        return employee;
+    }
+
+    private static BMap<BString, Object> createDepartment(String deptNo) {
+        BMap<BString, Object> department = ValueCreator.createMapValue();
+        department.put(fromString("deptNo"), fromString(deptNo));
+        department.put(fromString("deptName"), fromString("Department " + deptNo));
+        return department;
+    }
+
+    private static BArray createArray(String... values) {
+        BString[] array = new BString[values.length];
+        for (int i = 0; i < values.length; i++) {
+            array[i] = fromString(values[i]);
+        }
+        return ValueCreator.createArrayValue(array);
+    }
+}
@@ -0,0 +1,552 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.inmemory;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.persist.CompositeKey;
+import io.ballerina.stdlib.persist.LimitedIterator;
+import io.ballerina.stdlib.persist.Utils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Tests the storage of the in-memory datastore.
+ */
+public class InMemoryTableTest {
+
+    @Test
+    public void testInsertGetAndDelete() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        BMap<BString, Object> employee = createEmployee("emp-1", 10L);
+
+        CompositeKey key = table.insert(employee);
+        Assert.assertNotNull(key);
+        Assert.assertEquals(key.toBalKey(), fromString("emp-1"));
+        Assert.assertNull(table.insert(createEmployee("emp-1", 11L)));
+        Assert.assertSame(table.getByKey(table.getKeyExtractor().fromBalKey(fromString("emp-1"))), employee);
+        Assert.assertEquals(table.size(), 1);
+
+        Assert.assertSame(table.delete(key), employee);
+        Assert.assertNull(table.getByKey(key));
+        Assert.assertEquals(table.size(), 0);
+    }
+
+    @Test
+    public void testInsertAll() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        table.insert(createEmployee("emp-3", 10L));
+
+        List<CompositeKey> keys = table.insertAll(List.of(createEmployee("emp-1", 10L), createEmployee("emp-2", 10L),
+                createEmployee("emp-3", 11L), createEmployee("emp-4", 10L)));
+        // The records are inserted up to the first record whose key exists
+        Assert.assertEquals(keys.size(), 2);
+        Assert.assertEquals(keys.get(1).toBalKey(), fromString("emp-2"));
+        Assert.assertEquals(table.size(), 3);
+        Assert.assertEquals(table.getByKey(keys.get(0)).get(fromString("id")), fromString("emp-1"));
+        Assert.assertFalse(table.containsKey(table.getKeyExtractor().fromBalKey(fromString("emp-4"))));
+    }
+
+    @Test
+    public void testCompositeKeyReplace() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id", "deptNo")));
+        BMap<BString, Object> employee = createEmployee("emp-1", 10L);
+        CompositeKey key = table.insert(employee);
+        Assert.assertNotNull(table.insert(createEmployee("emp-1", 11L)));
+
+        BMap<BString, Object> updated = createEmployee("emp-1", 10L);
+        updated.put(fromString("name"), fromString("Bob"));
+        Assert.assertTrue(table.replace(key, employee, updated));
+        Assert.assertFalse(table.replace(key, createEmployee("emp-1", 12L), employee));
+        Assert.assertSame(table.getByKey(key), updated);
+    }
+
+    @Test
+    public void testConcurrentInserts() throws Exception {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread * 1000;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        table.insert(createEmployee("emp-" + (offset + i), 10L));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(table.size(), 8000);
+        Assert.assertEquals(table.values().size(), 8000);
+    }
+
+    @Test
+    public void testOrderedIndexScan() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")),
+                Map.of("deptNoIdx", new String[]{"deptNo"}));
+        for (int i = 0; i < 100; i++) {
+            table.insert(createEmployee("emp-" + i, i % 10));
+        }
+        BMap<BString, Object> noDepartment = createEmployee("emp-100", 0L);
+        noDepartment.put(fromString("deptNo"), null);
+        table.insert(noDepartment);
+        OrderedIndex index = table.getOrderedIndex("deptNoIdx");
+        Assert.assertEquals(index.size(), 101);
+
+        // Records of the same indexed value are ordered by the key
+        List<BMap<BString, Object>> ascending = index.scan(null, null, false, 3);
+        Assert.assertEquals(getIds(ascending), List.of("emp-0", "emp-10", "emp-20"));
+        List<BMap<BString, Object>> descending = index.scan(null, null, true, 2);
+        Assert.assertEquals(getIds(descending), List.of("emp-99", "emp-9"));
+
+        List<BMap<BString, Object>> all = index.scan(null, null, false, -1);
+        Assert.assertEquals(all.size(), 101);
+        Assert.assertSame(all.get(100), noDepartment);
+        Assert.assertSame(index.scan(null, null, true, -1).get(100), noDepartment);
+
+        List<BMap<BString, Object>> range = index.scan(new Object[]{3L}, new Object[]{4L}, false, -1);
+        Assert.assertEquals(range.size(), 20);
+        Assert.assertEquals(range.get(0).get(fromString("deptNo")), 3L);
+        Assert.assertEquals(range.get(19).get(fromString("deptNo")), 4L);
+        Assert.assertTrue(index.scan(new Object[]{4L}, new Object[]{3L}, false, -1).isEmpty());
+        Assert.assertEquals(index.scan(new Object[]{8L}, null, true, -1).size(), 21);
+    }
+
+    @Test
+    public void testCompositeOrderedIndexScan() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")),
+                Map.of("deptNoNameIdx", new String[]{"deptNo", "name"}));
+        String[][] employees = {{"emp-1", "Alice"}, {"emp-2", null}, {"emp-3", "Bob"}, {"emp-4", "Alice"}};
+        for (int i = 0; i < employees.length; i++) {
+            BMap<BString, Object> employee = createEmployee(employees[i][0], i < 2 ? 10L : 20L);
+            employee.put(fromString("name"), employees[i][1] == null ? null : fromString(employees[i][1]));
+            table.insert(employee);
+        }
+        BMap<BString, Object> noDepartment = createEmployee("emp-5", 0L);
+        noDepartment.put(fromString("deptNo"), null);
+        table.insert(noDepartment);
+        OrderedIndex index = table.getOrderedIndex("deptNoNameIdx");
+
+        Assert.assertEquals(getIds(index.scan(null, null, false, -1)),
+                List.of("emp-1", "emp-2", "emp-4", "emp-3", "emp-5"));
+        // The `()` values of each field are placed last in the descending order as well
+        Assert.assertEquals(getIds(index.scan(null, null, true, -1)),
+                List.of("emp-3", "emp-4", "emp-1", "emp-2", "emp-5"));
+        Assert.assertEquals(getIds(index.scan(null, null, true, 3)), List.of("emp-3", "emp-4", "emp-1"));
+        Assert.assertEquals(getIds(index.scan(new Object[]{10L}, new Object[]{10L}, true, -1)),
+                List.of("emp-1", "emp-2"));
+    }
+
+    @Test
+    public void testUnorderedIndexValuesAreRejected() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")),
+                Map.of("deptNoIdx", new String[]{"deptNo"}));
+        BMap<BString, Object> employee = createEmployee("emp-1", 10L);
+        CompositeKey key = table.insert(employee);
+        BMap<BString, Object> unordered = createEmployee("emp-2", 20L);
+        unordered.put(fromString("deptNo"), new Object());
+        Assert.assertThrows(IllegalArgumentException.class, () -> table.insert(unordered));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> table.insertAll(List.of(createEmployee("emp-3", 30L), unordered)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> table.replace(key, employee, unordered));
+        Assert.assertEquals(table.size(), 1);
+        Assert.assertEquals(table.getOrderedIndex("deptNoIdx").size(), 1);
+        Assert.assertEquals(table.getByKey(key), employee);
+
+        // Values of different types of a union are ordered by their types
+        BMap<BString, Object> namedDepartment = createEmployee("emp-4", 0L);
+        namedDepartment.put(fromString("deptNo"), fromString("sales"));
+        table.insert(namedDepartment);
+        table.insert(createEmployee("emp-5", 5L));
+        Assert.assertEquals(getIds(table.getOrderedIndex("deptNoIdx").scan(null, null, false, -1)),
+                List.of("emp-5", "emp-1", "emp-4"));
+    }
+
+    @Test
+    public void testOrderedIndexUpdates() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")),
+                Map.of("deptNoIdx", new String[]{"deptNo"}));
+        BMap<BString, Object> employee = createEmployee("emp-1", 10L);
+        CompositeKey key = table.insert(employee);
+        table.insert(createEmployee("emp-2", 20L));
+        OrderedIndex index = table.getOrderedIndex("deptNoIdx");
+
+        BMap<BString, Object> updated = createEmployee("emp-1", 30L);
+        Assert.assertTrue(table.replace(key, employee, updated));
+        Assert.assertEquals(getIds(index.scan(null, null, false, -1)), List.of("emp-2", "emp-1"));
+
+        Assert.assertSame(table.delete(key), updated);
+        Assert.assertEquals(getIds(index.scan(null, null, false, -1)), List.of("emp-2"));
+        Assert.assertNull(table.insert(createEmployee("emp-2", 40L)));
+        Assert.assertEquals(index.size(), 1);
+    }
+
+    @Test
+    public void testSnapshotReads() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        BMap<BString, Object> first = createEmployee("emp-1", 10L);
+        BMap<BString, Object> second = createEmployee("emp-2", 10L);
+        CompositeKey firstKey = table.insert(first);
+        CompositeKey secondKey = table.insert(second);
+
+        try (TableSnapshot snapshot = table.openSnapshot()) {
+            Assert.assertEquals(table.getOpenSnapshotCount(), 1);
+            Assert.assertTrue(table.replace(firstKey, first, createEmployee("emp-1", 20L)));
+            Assert.assertSame(table.delete(secondKey), second);
+            table.insert(createEmployee("emp-3", 10L));
+
+            List<BMap<BString, Object>> values = new ArrayList<>();
+            snapshot.iterator().forEachRemaining(values::add);
+            Assert.assertEquals(getIds(values).stream().sorted().toList(), List.of("emp-1", "emp-2"));
+            Assert.assertTrue(values.contains(first));
+            Assert.assertEquals(getIds(new ArrayList<>(table.values())).stream().sorted().toList(),
+                    List.of("emp-1", "emp-3"));
+        }
+        Assert.assertEquals(table.getOpenSnapshotCount(), 0);
+        Assert.assertEquals(table.size(), 2);
+    }
+
+    @Test
+    public void testLimitedSnapshotReads() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        for (int i = 1; i <= 5; i++) {
+            table.insert(createEmployee("emp-" + i, 10L));
+        }
+
+        // The snapshot is released as soon as the last record within the limit is read
+        TableSnapshot snapshot = table.openSnapshot();
+        LimitedIterator<BMap<BString, Object>> limited = new LimitedIterator<>(snapshot.iterator(), 2, snapshot::close);
+        Assert.assertNotNull(limited.next());
+        Assert.assertEquals(table.getOpenSnapshotCount(), 1);
+        Assert.assertNotNull(limited.next());
+        Assert.assertEquals(table.getOpenSnapshotCount(), 0);
+        Assert.assertFalse(limited.hasNext());
+        limited.close();
+        Assert.assertEquals(table.getOpenSnapshotCount(), 0);
+
+        snapshot = table.openSnapshot();
+        limited = new LimitedIterator<>(snapshot.iterator(), 0, snapshot::close);
+        Assert.assertFalse(limited.hasNext());
+        Assert.assertEquals(table.getOpenSnapshotCount(), 0);
+
+        snapshot = table.openSnapshot();
+        limited = new LimitedIterator<>(snapshot.iterator(), -1, snapshot::close);
+        List<BMap<BString, Object>> values = new ArrayList<>();
+        limited.forEachRemaining(values::add);
+        Assert.assertEquals(values.size(), 5);
+        Assert.assertEquals(table.getOpenSnapshotCount(), 0);
+    }
+
+    @Test
+    public void testVersionReclamation() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        BMap<BString, Object> employee = createEmployee("emp-1", 0L);
+        CompositeKey key = table.insert(employee);
+        TableSnapshot snapshot = table.openSnapshot();
+        for (long i = 1; i <= 10; i++) {
+            BMap<BString, Object> updated = createEmployee("emp-1", i);
+            Assert.assertTrue(table.replace(key, employee, updated));
+            employee = updated;
+        }
+        // The version read by the open snapshot is retained
+        Assert.assertEquals(getChainLength(table), 2);
+        Assert.assertEquals(snapshot.iterator().next().get(fromString("deptNo")), 0L);
+        snapshot.close();
+
+        Assert.assertTrue(table.replace(key, employee, createEmployee("emp-1", 11L)));
+        Assert.assertEquals(getChainLength(table), 1);
+        table.delete(key);
+        Assert.assertTrue(table.getVersionChains().isEmpty());
+    }
+
+    @Test
+    public void testVersionsAreReclaimedOnceSnapshotsAreClosed() throws InterruptedException {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")), Map.of(),
+                StorageMode.OFF_HEAP);
+        List<BMap<BString, Object>> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            BMap<BString, Object> employee = createEmployee("emp-" + i, 0L);
+            table.insert(employee);
+            employees.add(employee);
+        }
+        long liveBytes = table.getLiveOffHeapBytes();
+        TableSnapshot snapshot = table.openSnapshot();
+        for (int i = 0; i < 100; i++) {
+            CompositeKey key = table.getKeyExtractor().fromRecord(employees.get(i));
+            if (i % 2 == 0) {
+                Assert.assertTrue(table.replace(key, employees.get(i), createEmployee("emp-" + i, 1L)));
+            } else {
+                table.delete(key);
+            }
+        }
+        Assert.assertEquals(getChainLength(table), 2);
+        Assert.assertEquals(table.getVersionChains().size(), 100);
+        snapshot.close();
+
+        // The versions held by the snapshot are reclaimed in the background without further writes to the keys
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((getChainLength(table) > 1 || table.getVersionChains().size() > 50) &&
+                System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(getChainLength(table), 1);
+        Assert.assertEquals(table.getVersionChains().size(), 50);
+        Assert.assertEquals(table.getLiveOffHeapBytes(), liveBytes / 2);
+    }
+
+    @Test
+    public void testSnapshotsAreOpenedWhileWriting() throws Exception {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        BMap<BString, Object> first = createEmployee("emp-1", 0L);
+        CompositeKey key = table.insert(first);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicBoolean stopped = new AtomicBoolean();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                BMap<BString, Object> employee = first;
+                for (long deptNo = 1; !stopped.get(); deptNo++) {
+                    BMap<BString, Object> updated = createEmployee("emp-1", deptNo);
+                    Assert.assertTrue(table.replace(key, employee, updated));
+                    employee = updated;
+                }
+            });
+            // Each snapshot reads a single version of the record however often it is written
+            for (int i = 0; i < 1000; i++) {
+                try (TableSnapshot snapshot = table.openSnapshot()) {
+                    Object deptNo = snapshot.iterator().next().get(fromString("deptNo"));
+                    Assert.assertEquals(snapshot.iterator().next().get(fromString("deptNo")), deptNo);
+                }
+            }
+            stopped.set(true);
+            writer.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSnapshotReadsWithConcurrentWrites() throws Exception {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")));
+        for (int i = 0; i < 1000; i++) {
+            table.insert(createEmployee("emp-" + i, 0L));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (long round = 1; round <= 20; round++) {
+                    for (int i = 0; i < 1000; i++) {
+                        CompositeKey key = table.getKeyExtractor().fromBalKey(fromString("emp-" + i));
+                        BMap<BString, Object> existing = table.getByKey(key);
+                        table.replace(key, existing, createEmployee("emp-" + i, round));
+                    }
+                }
+            });
+            Future<?> reader = executor.submit(() -> {
+                for (int round = 0; round < 50; round++) {
+                    Assert.assertEquals(table.values().size(), 1000);
+                }
+            });
+            writer.get();
+            reader.get();
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(table.getOpenSnapshotCount(), 0);
+    }
+
+    @Test
+    public void testOffHeapStorage() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")), Map.of(),
+                StorageMode.OFF_HEAP);
+        BMap<BString, Object> employee = createEmployee("emp-1", 10L);
+        employee.put(fromString("salary"), ValueCreator.createDecimalValue(new BigDecimal("1250.50")));
+        employee.put(fromString("rating"), 4.5);
+        employee.put(fromString("active"), true);
+        employee.put(fromString("manager"), null);
+        employee.put(fromString("city"), fromString("Sri Jayewardenepura Kōṭṭe"));
+        employee.freezeDirect();
+        CompositeKey key = table.insert(employee);
+
+        BMap<BString, Object> stored = table.getByKey(key);
+        Assert.assertNotSame(stored, employee);
+        Assert.assertEquals(stored, employee);
+        Assert.assertTrue(stored.isFrozen());
+        Assert.assertTrue(table.getOffHeapBytes() > 0);
+
+        BMap<BString, Object> projected = table.getByKey(key, new BString[]{fromString("city"), fromString("salary")});
+        Assert.assertEquals(projected.size(), 2);
+        Assert.assertEquals(projected.get(fromString("city")), employee.get(fromString("city")));
+        Assert.assertEquals(projected.get(fromString("salary")), employee.get(fromString("salary")));
+
+        BMap<BString, Object> updated = createEmployee("emp-1", 20L);
+        Assert.assertTrue(table.replace(key, stored, updated));
+        Assert.assertFalse(table.replace(key, stored, employee));
+        Assert.assertEquals(table.delete(key), updated);
+        Assert.assertNull(table.getByKey(key, new BString[]{fromString("id")}));
+    }
+
+    @Test
+    public void testOffHeapRowsAreReclaimed() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")),
+                Map.of("deptNoIdx", new String[]{"deptNo"}), StorageMode.OFF_HEAP);
+        List<BMap<BString, Object>> employees = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            BMap<BString, Object> employee = createEmployee("emp-" + i, i);
+            table.insert(employee);
+            employees.add(employee);
+        }
+        long liveBytes = table.getLiveOffHeapBytes();
+        // Rejected writes do not store rows
+        for (BMap<BString, Object> employee : employees) {
+            Assert.assertNull(table.insert(employee));
+            Assert.assertFalse(table.replace(table.getKeyExtractor().fromRecord(employee),
+                    createEmployee("emp-x", 0L), employee));
+        }
+        Assert.assertEquals(table.getLiveOffHeapBytes(), liveBytes);
+
+        // The keys which are no longer updated leave a few live rows in each slab
+        for (int round = 1; round <= 300; round++) {
+            for (int i = round; i < employees.size(); i++) {
+                BMap<BString, Object> employee = employees.get(i);
+                BMap<BString, Object> updated = createEmployee("emp-" + i, i + round);
+                Assert.assertTrue(table.replace(table.getKeyExtractor().fromRecord(employee), employee, updated));
+                employees.set(i, updated);
+            }
+            Assert.assertTrue(table.getOffHeapBytes() <= 3L * OffHeapRowStore.SLAB_SIZE,
+                    "the slabs hold " + table.getOffHeapBytes() + " bytes after " + round + " rounds");
+        }
+        Assert.assertEquals(table.getLiveOffHeapBytes(), liveBytes);
+        Assert.assertEquals(table.getByKey(table.getKeyExtractor().fromRecord(employees.get(10))), employees.get(10));
+        Assert.assertEquals(getIds(table.getOrderedIndex("deptNoIdx").scan(null, null, false, 2)),
+                List.of("emp-0", "emp-1"));
+        for (BMap<BString, Object> employee : employees) {
+            table.delete(table.getKeyExtractor().fromRecord(employee));
+        }
+        Assert.assertEquals(table.getLiveOffHeapBytes(), 0L);
+    }
+
+    @Test
+    public void testOffHeapIndexesAndSnapshots() {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")),
+                Map.of("deptNoIdx", new String[]{"deptNo"}), StorageMode.OFF_HEAP);
+        for (int i = 0; i < 100; i++) {
+            table.insert(createEmployee("emp-" + i, i % 10));
+        }
+        // Records with fields which cannot be encoded are stored on the heap
+        BMap<BString, Object> onHeap = createEmployee("emp-100", 5L);
+        onHeap.put(fromString("skills"), createKeyFields("java"));
+        table.insert(onHeap);
+
+        OrderedIndex index = table.getOrderedIndex("deptNoIdx");
+        List<BMap<BString, Object>> range = index.scan(new Object[]{5L}, new Object[]{5L}, false, -1);
+        Assert.assertEquals(getIds(range), List.of("emp-15", "emp-25", "emp-35", "emp-45", "emp-5", "emp-55",
+                "emp-65", "emp-75", "emp-85", "emp-95", "emp-100").stream().sorted().toList());
+        Assert.assertSame(range.get(0), onHeap);
+
+        try (TableSnapshot snapshot = table.openSnapshot()) {
+            CompositeKey key = table.getKeyExtractor().fromBalKey(fromString("emp-1"));
+            Assert.assertTrue(table.replace(key, table.getByKey(key), createEmployee("emp-1", 50L)));
+            List<BMap<BString, Object>> values = new ArrayList<>();
+            snapshot.iterator().forEachRemaining(values::add);
+            Assert.assertEquals(values.size(), 101);
+            Assert.assertTrue(values.contains(createEmployee("emp-1", 1L)));
+        }
+        Assert.assertEquals(getIds(index.scan(new Object[]{50L}, null, false, -1)), List.of("emp-1"));
+    }
+
+    @Test
+    public void testClearWithOpenSnapshot() throws InterruptedException {
+        InMemoryTable table = new InMemoryTable(Utils.getKeyExtractor(createKeyFields("id")),
+                Map.of("deptNoIdx", new String[]{"deptNo"}), StorageMode.OFF_HEAP);
+        for (int i = 0; i < 100; i++) {
+            table.insert(createEmployee("emp-" + i, i % 10));
+        }
+        TableSnapshot snapshot = table.openSnapshot();
+        table.clear();
+        Assert.assertEquals(table.size(), 0);
+        Assert.assertNull(table.getByKey(table.getKeyExtractor().fromBalKey(fromString("emp-1"))));
+        Assert.assertTrue(table.getOrderedIndex("deptNoIdx").scan(null, null, false, -1).isEmpty());
+
+        // The rows of the cleared records are kept for the open snapshot
+        table.insert(createEmployee("emp-100", 0L));
+        List<BMap<BString, Object>> values = new ArrayList<>();
+        snapshot.iterator().forEachRemaining(values::add);
+        Assert.assertEquals(values.size(), 100);
+        Assert.assertTrue(values.contains(createEmployee("emp-1", 1L)));
+        snapshot.close();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (table.getVersionChains().size() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(table.getVersionChains().size(), 1);
+        Assert.assertEquals(table.size(), 1);
+        Assert.assertEquals(getIds(new ArrayList<>(table.values())), List.of("emp-100"));
+    }
+
+    private static int getChainLength(InMemoryTable table) {
+        int maxLength = 0;
+        for (InMemoryTable.Version head : table.getVersionChains()) {
+            int length = 0;
+            for (InMemoryTable.Version version = head; version != null; version = version.previous) {
+                length++;
+            }
+            maxLength = Math.max(maxLength, length);
+        }
+        return maxLength;
+    }
+
+    private static List<String> getIds(List<BMap<BString, Object>> employees) {
+        return employees.stream().map(employee -> employee.get(fromString("id")).toString()).toList();
+    }
+
+    private static BMap<BString, Object> createEmployee(String id, long deptNo) {
+        BMap<BString, Object> employee = ValueCreator.createMapValue();
+        employee.put(fromString("id"), fromString(id));
+        employee.put(fromString("deptNo"), deptNo);
+        employee.put(fromString("name"), fromString("Alice"));
+        return employee;
+    }
+
+    private static BArray createKeyFields(String... keyFields) {
+        BString[] values = new BString[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            values[i] = fromString(keyFields[i]);
+        }
+        return ValueCreator.createArrayValue(values);
+    }
+}
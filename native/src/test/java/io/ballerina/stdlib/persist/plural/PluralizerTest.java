@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.plural;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the precompiled pluralizer against the rules applied one regex at a time.
+ */
+public class PluralizerTest {
+
+    @DataProvider(name = "words")
+    public Object[][] words() {
+        String[] corpus = {
+                "employee", "department", "workspace", "building", "order", "item", "user", "customer",
+                "person", "people", "child", "children", "man", "woman", "mouse", "louse", "ox", "axe",
+                "die", "foot", "goose", "tooth", "quiz", "thief", "passerby", "canvas", "echo", "volcano",
+                "hero", "potato", "tomato", "photo", "alias", "status", "bus", "gas", "atlas", "iris",
+                "analysis", "thesis", "crisis", "axis", "testis", "knife", "wife", "life", "leaf", "loaf",
+                "hoof", "roof", "chief", "city", "day", "key", "money", "journey", "category", "query",
+                "box", "church", "class", "dish", "buzz", "matrix", "index", "vertex", "appendix", "codex",
+                "datum", "criterion", "phenomenon", "bacterium", "curriculum", "medium", "alumnus", "cactus",
+                "fungus", "focus", "radius", "alga", "vertebra", "seraph", "cherub", "bureau", "plateau",
+                "emu", "menu", "chinese", "japanese", "deer", "reindeer", "fish", "blowfish", "measles",
+                "carnivorous", "smallpox", "sheep", "pokemon", "equipment", "information", "news", "series",
+                "software", "staff", "you", "thou", "i", "me", "he", "she", "them", "this", "that", "is",
+                "was", "has", "my", "its", "schema", "dogma", "genus", "viscus", "proof", "valve", "looey",
+                "groove", "pickaxe", "human", "yes", "eave", "carve", "tornado", "torpedo", "dingo",
+                "Employee", "MedicalNeed", "WorkspaceType", "Car", "Bus", "", "a", "ß", "café", "naïve",
+                "employees", "buildings", "sheeps", "agenda", "data", "criteria", "addendum", "ovum",
+                "millennium", "stratum", "locus", "uterus", "stimulus", "syllabus", "nucleus", "virus",
+                "mackerel", "orchestra", "apex", "titmouse", "lens", "bonus", "census", "campus", "canvas"
+        };
+        Object[][] words = new Object[corpus.length][];
+        for (int i = 0; i < corpus.length; i++) {
+            words[i] = new Object[]{corpus[i]};
+        }
+        return words;
+    }
+
+    @Test(dataProvider = "words")
+    public void testPluralizeMatchesRuleByRuleEvaluation(String word) {
+        String expected = pluralizeRuleByRule(word);
+        Assert.assertEquals(Pluralizer.pluralize(word), expected);
+        // the second call is served from the cache of words already seen
+        Assert.assertEquals(Pluralizer.pluralize(word), expected);
+    }
+
+    @Test
+    public void testPluralizeBeyondCacheCapacity() {
+        for (int i = 0; i < Pluralizer.MAX_CACHED_WORDS + 10; i++) {
+            String word = "entity" + i + "x";
+            Assert.assertEquals(Pluralizer.pluralize(word), pluralizeRuleByRule(word));
+        }
+    }
+
+    private static String pluralizeRuleByRule(String word) {
+        for (String rule : Rules.UNCOUNTABLE_RULES) {
+            if (Pattern.matches(rule, word)) {
+                return word;
+            }
+        }
+        for (String[] irregularRule : Rules.IRREGULAR_RULES) {
+            if (irregularRule[1].equals(word)) {
+                return word;
+            }
+            if (irregularRule[0].equals(word)) {
+                return irregularRule[1];
+            }
+        }
+        for (String[] pluralizationRule : Rules.PLURALIZATION_RULES) {
+            Matcher matcher = Pattern.compile(pluralizationRule[0]).matcher(word);
+            if (matcher.find()) {
+                return matcher.replaceFirst(pluralizationRule[1]);
+            }
+        }
+        return word;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.tracking;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests the tracking of the fields changed by the updates of the records.
+ */
+public class ChangeTrackerTest {
+
+    @Test
+    public void testChangedFields() {
+        Map<String, Object> baseline = new HashMap<>();
+        baseline.put("id", 1L);
+        baseline.put("name", "Alice");
+        baseline.put("score", 0.0);
+        baseline.put("manager", null);
+
+        Map<String, Object> update = new HashMap<>(baseline);
+        Assert.assertTrue(ChangeTracker.getChangedFields(baseline, update).isEmpty());
+
+        update.put("name", "Bob");
+        update.put("score", -0.0);
+        update.put("manager", 2L);
+        update.put("email", "bob@example.com");
+        Assert.assertEquals(ChangeTracker.getChangedFields(baseline, update).stream().sorted().toList(),
+                List.of("email", "manager", "name"));
+    }
+
+    @Test
+    public void testSnapshots() {
+        ChangeTracker<Long> tracker = new ChangeTracker<>(2);
+        tracker.track(1L, Map.of("status", "NEW", "count", 1L));
+        tracker.track(2L, Map.of("status", "NEW", "count", 1L));
+        tracker.advance(1L, Map.of("status", "ACTIVE"));
+        Assert.assertEquals(tracker.getSnapshot(1L), Map.of("status", "ACTIVE", "count", 1L));
+
+        // The least recently used record is dropped
+        tracker.track(3L, Map.of("status", "NEW", "count", 1L));
+        Assert.assertEquals(tracker.size(), 2);
+        Assert.assertNull(tracker.getSnapshot(2L));
+        tracker.advance(2L, Map.of("status", "ACTIVE"));
+        Assert.assertNull(tracker.getSnapshot(2L));
+
+        tracker.forget(1L);
+        Assert.assertNull(tracker.getSnapshot(1L));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new ChangeTracker<Long>(0));
+    }
+}
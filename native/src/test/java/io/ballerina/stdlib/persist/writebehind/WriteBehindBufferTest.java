@@ -0,0 +1,206 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.writebehind;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the coalescing and the flushes of the write-behind buffers.
+ */
+public class WriteBehindBufferTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Test
+    public void testCoalescedUpdates() {
+        List<Map<String, Object>> writes = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>(10, 10, 3, Duration.ZERO, (key, fields) -> {
+            writes.add(fields);
+            return null;
+        }, scheduler);
+        Assert.assertTrue(buffer.offer("1", Map.of("count", 1L)));
+        Assert.assertTrue(buffer.offer("1", Map.of("count", 2L, "status", "ACTIVE")));
+        Assert.assertTrue(buffer.offer("1", Map.of("count", 3L)));
+        Assert.assertEquals(buffer.get("1"), Map.of("count", 3L, "status", "ACTIVE"));
+        Assert.assertNull(buffer.get("2"));
+
+        Assert.assertNull(buffer.flush());
+        Assert.assertEquals(writes, List.of(Map.of("count", 3L, "status", "ACTIVE")));
+        Assert.assertNull(buffer.get("1"));
+
+        WriteBehindBuffer.Metrics metrics = buffer.getMetrics();
+        Assert.assertEquals(metrics.bufferedRecords(), 0);
+        Assert.assertEquals(metrics.bufferedUpdates(), 3L);
+        Assert.assertEquals(metrics.coalescedUpdates(), 2L);
+        Assert.assertEquals(metrics.flushes(), 1L);
+        Assert.assertEquals(metrics.writtenUpdates(), 1L);
+        Assert.assertTrue(metrics.maxWriteDelay() > 0);
+    }
+
+    @Test
+    public void testBoundedBuffer() {
+        WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>(2, 10, 3, Duration.ZERO, (key, fields) -> null,
+                scheduler);
+        Assert.assertTrue(buffer.offer("1", Map.of("count", 1L)));
+        Assert.assertTrue(buffer.offer("2", Map.of("count", 1L)));
+        Assert.assertFalse(buffer.offer("3", Map.of("count", 1L)));
+        // The records with buffered updates are updated while the buffer is full
+        Assert.assertTrue(buffer.offer("1", Map.of("count", 2L)));
+        Assert.assertNull(buffer.flush());
+        Assert.assertTrue(buffer.offer("3", Map.of("count", 1L)));
+    }
+
+    @Test
+    public void testVisibleWhileWritten() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>(10, 10, 3, Duration.ZERO, (key, fields) -> {
+            writing.countDown();
+            try {
+                written.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }, scheduler);
+        buffer.offer("1", Map.of("count", 1L, "status", "ACTIVE"));
+        CompletableFuture<Object> flush = CompletableFuture.supplyAsync(buffer::flush);
+        Assert.assertTrue(writing.await(10, TimeUnit.SECONDS));
+        buffer.offer("1", Map.of("count", 2L));
+        Assert.assertEquals(buffer.get("1"), Map.of("count", 2L, "status", "ACTIVE"));
+        written.countDown();
+        Assert.assertNull(flush.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(buffer.get("1"), Map.of("count", 2L));
+    }
+
+    @Test
+    public void testFailedWrites() {
+        List<Map<String, Object>> writes = new CopyOnWriteArrayList<>();
+        boolean[] failing = {true};
+        WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>(10, 10, 3, Duration.ZERO, (key, fields) -> {
+            if (failing[0]) {
+                return "unavailable";
+            }
+            writes.add(fields);
+            return null;
+        }, scheduler);
+        buffer.offer("1", Map.of("count", 1L, "status", "ACTIVE"));
+        Assert.assertEquals(buffer.flush(), "unavailable");
+        Assert.assertEquals(buffer.get("1"), Map.of("count", 1L, "status", "ACTIVE"));
+        Assert.assertEquals(buffer.getMetrics().bufferedRecords(), 1);
+        Assert.assertEquals(buffer.getMetrics().failedUpdates(), 1L);
+
+        failing[0] = false;
+        buffer.offer("1", Map.of("count", 2L));
+        Assert.assertNull(buffer.flush());
+        Assert.assertEquals(writes, List.of(Map.of("count", 2L, "status", "ACTIVE")));
+    }
+
+    @Test
+    public void testDroppedAfterMaxWriteAttempts() {
+        List<String> writes = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>(1, 10, 2, Duration.ZERO, (key, fields) -> {
+            if (key.equals("deleted")) {
+                return "not found";
+            }
+            writes.add(key);
+            return null;
+        }, scheduler);
+        Assert.assertTrue(buffer.offer("deleted", Map.of("count", 1L)));
+        Assert.assertFalse(buffer.offer("1", Map.of("count", 1L)));
+        Assert.assertEquals(buffer.flush(), "not found");
+        Assert.assertFalse(buffer.offer("1", Map.of("count", 1L)));
+
+        // The update which fails the maximum number of attempts is dropped, and the buffer accepts other records
+        Assert.assertEquals(buffer.flush(), "not found");
+        Assert.assertNull(buffer.get("deleted"));
+        Assert.assertTrue(buffer.offer("1", Map.of("count", 1L)));
+        Assert.assertNull(buffer.flush());
+        Assert.assertEquals(writes, List.of("1"));
+
+        WriteBehindBuffer.Metrics metrics = buffer.getMetrics();
+        Assert.assertEquals(metrics.bufferedRecords(), 0);
+        Assert.assertEquals(metrics.failedUpdates(), 2L);
+        Assert.assertEquals(metrics.droppedUpdates(), 1L);
+        Assert.assertEquals(metrics.writtenUpdates(), 1L);
+    }
+
+    @Test
+    public void testFlushBySize() throws Exception {
+        CountDownLatch written = new CountDownLatch(2);
+        WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>(10, 2, 3, Duration.ZERO, (key, fields) -> {
+            written.countDown();
+            return null;
+        }, scheduler);
+        buffer.offer("1", Map.of("count", 1L));
+        Assert.assertEquals(written.getCount(), 2L);
+        buffer.offer("2", Map.of("count", 1L));
+        Assert.assertTrue(written.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testErrorOfFlushInBackground() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        boolean[] failing = {true};
+        WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>(10, 1, 3, Duration.ZERO, (key, fields) -> {
+            if (failing[0]) {
+                failed.countDown();
+                return "unavailable";
+            }
+            return null;
+        }, scheduler);
+        buffer.offer("1", Map.of("count", 1L));
+        Assert.assertTrue(failed.await(10, TimeUnit.SECONDS));
+        // The scheduler runs its tasks one at a time, hence the flush in the background has ended with this task
+        scheduler.submit(() -> { }).get(10, TimeUnit.SECONDS);
+        // The error of the flush in the background is returned once, by the next flush
+        failing[0] = false;
+        Assert.assertEquals(buffer.flush(), "unavailable");
+        Assert.assertNull(buffer.get("1"));
+        Assert.assertNull(buffer.flush());
+    }
+
+    @Test
+    public void testPeriodicFlush() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        WriteBehindBuffer.Writer<String> writer = (key, fields) -> {
+            written.countDown();
+            return null;
+        };
+        WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>(10, 10, 3, Duration.ofMillis(10), writer, scheduler);
+        buffer.offer("1", Map.of("count", 1L));
+        Assert.assertTrue(written.await(10, TimeUnit.SECONDS));
+        Assert.assertNull(buffer.close());
+    }
+}